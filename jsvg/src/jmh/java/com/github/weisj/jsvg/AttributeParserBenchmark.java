@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.util.Collections;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.jsvg.attributes.AttributeParser;
+import com.github.weisj.jsvg.attributes.paint.DefaultPaintParser;
+import com.github.weisj.jsvg.parser.AttributeNode;
+import com.github.weisj.jsvg.parser.LoadHelper;
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.ParsedDocument;
+
+/**
+ * Measures the attribute value parsers in isolation. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+public class AttributeParserBenchmark {
+    private static final String[] TRANSFORMS = {
+        "translate(10,20)", "matrix(0.70710678 0.70710678 -0.70710678 0.70710678 12.5 -3)",
+        "translate(-5.5 3) rotate(45, 12, 12) scale(1.5)", "rotate(-90)", "skewX(12.5) scale(2,0.5)"
+    };
+    private static final String[] COLORS = {
+        "#fff", "#FF8000", "#12345678", "rgb(12, 34, 56)", "rgba(100%,50%,0%,0.25)", "cornflowerblue", "Red"
+    };
+    private static final String[] PAINTS = {"none", "currentColor", "#0a0b0c", "RGB(1 2 3)", "steelblue"};
+    private static final String[] FLOAT_LISTS = {
+        "0 0 100 100", "1.5,2.25,3.125,4.0625", "-0.5 .25 1e2 3E-1 12345.678"
+    };
+    private static final String[] LENGTH_LISTS = {"1px 2px 3px", "10%, 20%, 30.5%", "1em 2.5EM 0.75in 12pt"};
+    private static final String[] LENGTHS = {"12", "50%", "1.25em", "100PX", "3.5mm"};
+
+    private AttributeParser parser;
+    private AttributeNode node;
+
+    @Setup
+    public void setup() {
+        parser = new AttributeParser(new DefaultPaintParser());
+        LoaderContext loaderContext = LoaderContext.createDefault();
+        node = new AttributeNode("rect", Collections.emptyMap(), null,
+                new ParsedDocument(null, loaderContext), Collections.emptyList(),
+                new LoadHelper(parser, loaderContext));
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void parseTransform(@NotNull Blackhole blackhole) {
+        for (String value : TRANSFORMS) {
+            blackhole.consume(parser.parseTransform(value));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void parseColor(@NotNull Blackhole blackhole) {
+        for (String value : COLORS) {
+            blackhole.consume(parser.paintParser().parseColor(value, node));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void parsePaint(@NotNull Blackhole blackhole) {
+        for (String value : PAINTS) {
+            blackhole.consume(parser.parsePaint(value, node));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void parseFloatList(@NotNull Blackhole blackhole) {
+        for (String value : FLOAT_LISTS) {
+            blackhole.consume(parser.parseFloatList(value));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void parseLengthList(@NotNull Blackhole blackhole) {
+        for (String value : LENGTH_LISTS) {
+            blackhole.consume(parser.parseLengthList(value, null));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void parseLength(@NotNull Blackhole blackhole) {
+        for (String value : LENGTHS) {
+            blackhole.consume(parser.parseLength(value, null));
+        }
+    }
+}
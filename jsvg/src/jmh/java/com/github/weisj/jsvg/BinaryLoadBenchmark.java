@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.jsvg.parser.BinarySVGLoader;
+import com.github.weisj.jsvg.parser.BinarySVGWriter;
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+
+/**
+ * Compares loading documents from xml against loading them from the precompiled binary format.
+ * The corpus benchmarks use the svg files of the test resources. Their location can be changed with the
+ * {@code jsvg.benchmark.corpus} system property.
+ */
+@State(Scope.Benchmark)
+public class BinaryLoadBenchmark {
+
+    private static final String SVG_IMAGE = "benchmark_image.svg";
+    private static final String CORPUS_DIRECTORY = "src/test/resources/com/github/weisj/jsvg";
+
+    private byte[] xmlImage;
+    private byte[] binaryImage;
+    private List<byte[]> xmlCorpus;
+    private List<byte[]> binaryCorpus;
+
+    @Setup
+    public void setup() throws IOException, XMLStreamException {
+        try (InputStream inputStream =
+                Objects.requireNonNull(BinaryLoadBenchmark.class.getResourceAsStream(SVG_IMAGE))) {
+            xmlImage = readAll(inputStream);
+        }
+        binaryImage = toBinary(xmlImage);
+
+        Path corpusDirectory = Paths.get(System.getProperty("jsvg.benchmark.corpus", CORPUS_DIRECTORY));
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(corpusDirectory)) {
+            files = paths.filter(p -> p.toString().endsWith(".svg")).sorted().collect(Collectors.toList());
+        }
+        xmlCorpus = new ArrayList<>();
+        binaryCorpus = new ArrayList<>();
+        for (Path file : files) {
+            byte[] xml = Files.readAllBytes(file);
+            byte[] binary;
+            try {
+                binary = toBinary(xml);
+            } catch (IOException | XMLStreamException | RuntimeException e) {
+                // Documents which fail to parse aren't interesting for comparison.
+                continue;
+            }
+            xmlCorpus.add(xml);
+            binaryCorpus.add(binary);
+        }
+    }
+
+    private static byte @NotNull [] readAll(@NotNull InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte @NotNull [] toBinary(byte @NotNull [] xml) throws IOException, XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinarySVGWriter().write(new ByteArrayInputStream(xml), null, LoaderContext.createDefault(), out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void xmlLoading(@NotNull Blackhole blackhole) {
+        blackhole.consume(new SVGLoader().load(new ByteArrayInputStream(xmlImage), null,
+                LoaderContext.createDefault()));
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void binaryLoading(@NotNull Blackhole blackhole) {
+        blackhole.consume(new BinarySVGLoader().load(new ByteArrayInputStream(binaryImage), null,
+                LoaderContext.createDefault()));
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void xmlLoadingCorpus(@NotNull Blackhole blackhole) {
+        SVGLoader loader = new SVGLoader();
+        for (byte[] xml : xmlCorpus) {
+            blackhole.consume(loader.load(new ByteArrayInputStream(xml), null, LoaderContext.createDefault()));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void binaryLoadingCorpus(@NotNull Blackhole blackhole) {
+        BinarySVGLoader loader = new BinarySVGLoader();
+        for (byte[] binary : binaryCorpus) {
+            blackhole.consume(loader.load(new ByteArrayInputStream(binary), null, LoaderContext.createDefault()));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+
+/**
+ * Measures the throughput of {@link SVGLoader#loadAll} on the svg files of the test resources for different numbers
+ * of threads. The location of the files can be changed with the {@code jsvg.benchmark.corpus} system property.
+ */
+@State(Scope.Benchmark)
+public class ConcurrentLoadBenchmark {
+
+    private static final String CORPUS_DIRECTORY = "src/test/resources/com/github/weisj/jsvg";
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private List<URI> corpus;
+    private ExecutorService executor;
+    private SVGLoader loader;
+
+    @Setup
+    public void setup() throws IOException {
+        Path corpusDirectory = Paths.get(System.getProperty("jsvg.benchmark.corpus", CORPUS_DIRECTORY));
+        try (Stream<Path> paths = Files.walk(corpusDirectory)) {
+            corpus = paths.filter(p -> p.toString().endsWith(".svg"))
+                    .sorted()
+                    .map(Path::toUri)
+                    .collect(Collectors.toList());
+        }
+        executor = Executors.newFixedThreadPool(threads);
+        loader = new SVGLoader();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.Throughput)
+    public void loadCorpus(@NotNull Blackhole blackhole) {
+        Map<URI, CompletableFuture<SVGDocument>> documents =
+                loader.loadAll(corpus, executor, LoaderContext.createDefault(), 2 * threads);
+        for (CompletableFuture<SVGDocument> document : documents.values()) {
+            blackhole.consume(document.join());
+        }
+    }
+}
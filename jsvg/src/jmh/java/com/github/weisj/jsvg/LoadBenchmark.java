@@ -21,9 +21,12 @@
  */
 package com.github.weisj.jsvg;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Objects;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.jetbrains.annotations.NotNull;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -31,13 +34,21 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.infra.Blackhole;
 
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.NodeSupplier;
 import com.github.weisj.jsvg.parser.SVGLoader;
+import com.github.weisj.jsvg.parser.StaxSVGLoader;
 import com.kitfox.svg.SVGDiagram;
 import com.kitfox.svg.SVGUniverse;
 
 public final class LoadBenchmark {
 
     private static final String SVG_IMAGE = "benchmark_image.svg";
+    private static final NodeSupplier NODE_SUPPLIER = new NodeSupplier();
+    private static final String[] TAG_NAMES = {
+        "svg", "g", "path", "rect", "circle", "linearGradient", "stop", "defs", "use", "clipPath", "text", "tspan",
+        "feGaussianBlur", "title", "desc", "unknownElement"
+    };
 
     @Benchmark
     @Fork(value = 1)
@@ -48,6 +59,37 @@ public final class LoadBenchmark {
         blackhole.consume(document);
     }
 
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void jsvgLoadingEventReader(@NotNull Blackhole blackhole) throws XMLStreamException, IOException {
+        loadWithReaderMode(blackhole, StaxSVGLoader.ReaderMode.EVENT);
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void jsvgLoadingCursorReader(@NotNull Blackhole blackhole) throws XMLStreamException, IOException {
+        loadWithReaderMode(blackhole, StaxSVGLoader.ReaderMode.CURSOR);
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void jsvgTagDispatch(@NotNull Blackhole blackhole) {
+        for (String tagName : TAG_NAMES) {
+            blackhole.consume(NODE_SUPPLIER.create(tagName));
+        }
+    }
+
+    private static void loadWithReaderMode(@NotNull Blackhole blackhole, @NotNull StaxSVGLoader.ReaderMode mode)
+            throws XMLStreamException, IOException {
+        SVGDocument document = new StaxSVGLoader(NODE_SUPPLIER, mode).load(
+                Objects.requireNonNull(LoadBenchmark.class.getResourceAsStream(SVG_IMAGE)),
+                null, LoaderContext.createDefault());
+        blackhole.consume(document);
+    }
+
     @Benchmark
     @Fork(value = 1)
     @BenchmarkMode(Mode.AverageTime)
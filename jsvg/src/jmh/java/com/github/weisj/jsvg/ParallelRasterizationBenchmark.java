@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.geometry.size.FloatSize;
+import com.github.weisj.jsvg.parser.SVGLoader;
+import com.github.weisj.jsvg.renderer.awt.NullPlatformSupport;
+import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
+
+/**
+ * Measures {@link SVGDocument#renderParallel} for different numbers of threads. The document is rendered at a large
+ * scale, such that rasterization dominates. The scale can be changed with the {@code jsvg.benchmark.scale} system
+ * property.
+ */
+@State(Scope.Benchmark)
+public class ParallelRasterizationBenchmark {
+
+    private static final String SVG_IMAGE = "benchmark_image.svg";
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final PlatformSupport platformSupport = new NullPlatformSupport();
+    private SVGDocument document;
+    private ForkJoinPool pool;
+    private AffineTransform transform;
+    private int width;
+    private int height;
+
+    @Setup
+    public void setup() {
+        document = new SVGLoader().load(Objects.requireNonNull(
+                ParallelRasterizationBenchmark.class.getResourceAsStream(SVG_IMAGE)));
+        double scale = Double.parseDouble(System.getProperty("jsvg.benchmark.scale", "4"));
+        FloatSize size = document.size();
+        width = (int) Math.ceil(size.width * scale);
+        height = (int) Math.ceil(size.height * scale);
+        transform = AffineTransform.getScaleInstance(scale, scale);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void rasterize(@NotNull Blackhole blackhole) {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        document.renderParallel(platformSupport, img, new ViewBox(document.size()), transform, pool);
+        blackhole.consume(img);
+    }
+}
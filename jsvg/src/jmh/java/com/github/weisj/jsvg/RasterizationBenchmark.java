@@ -40,6 +40,9 @@ import org.openjdk.jmh.infra.Blackhole;
 import com.github.weisj.jsvg.attributes.ViewBox;
 import com.github.weisj.jsvg.geometry.size.FloatSize;
 import com.github.weisj.jsvg.parser.SVGLoader;
+import com.github.weisj.jsvg.renderer.DisplayList;
+import com.github.weisj.jsvg.renderer.awt.NullPlatformSupport;
+import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
 import com.kitfox.svg.app.beans.SVGIcon;
 
 public final class RasterizationBenchmark {
@@ -69,6 +72,40 @@ public final class RasterizationBenchmark {
         }
     }
 
+    @State(Scope.Benchmark)
+    public static final class JSVGCompiledRasterization {
+        private final PlatformSupport platformSupport = new NullPlatformSupport();
+        private SVGDocument document;
+        private DisplayList displayList;
+
+        @Setup
+        public void compileDocument() {
+            document = new SVGLoader()
+                    .load(Objects.requireNonNull(RasterizationBenchmark.class.getResourceAsStream(SVG_IMAGE)));
+            displayList = document.compile(platformSupport, new ViewBox(document.size()));
+        }
+
+        @Benchmark
+        @Fork(value = 1)
+        @BenchmarkMode(Mode.AverageTime)
+        public void rasterize(@NotNull Blackhole blackhole) {
+            FloatSize size = document.size();
+            BufferedImage img = new BufferedImage((int) size.width, (int) size.height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = (Graphics2D) img.getGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            displayList.render(g);
+            g.dispose();
+            blackhole.consume(img);
+        }
+
+        @Benchmark
+        @Fork(value = 1)
+        @BenchmarkMode(Mode.AverageTime)
+        public void compile(@NotNull Blackhole blackhole) {
+            blackhole.consume(document.compile(platformSupport, new ViewBox(document.size())));
+        }
+    }
+
     @State(Scope.Benchmark)
     public static final class SVGSalamanderRasterization {
         private SVGIcon icon;
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+
+/**
+ * Renders a grid of small icons made of simple shapes, where the rendering overhead per element dominates over
+ * rasterization. Run with {@code -prof gc} to see the allocation rate of the render path.
+ */
+@State(Scope.Thread)
+public class RenderAllocationBenchmark {
+
+    private static final int ICON_SIZE = 16;
+
+    @Param({"10", "20", "40"})
+    public int columns;
+
+    private SVGDocument document;
+    private BufferedImage image;
+    private ViewBox viewBox;
+
+    @Setup
+    public void setup() {
+        int size = columns * ICON_SIZE;
+        StringBuilder svg = new StringBuilder()
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size)
+                .append("\" height=\"").append(size).append("\">");
+        for (int y = 0; y < columns; y++) {
+            for (int x = 0; x < columns; x++) {
+                svg.append("<g transform=\"translate(").append(x * ICON_SIZE).append(' ').append(y * ICON_SIZE)
+                        .append(")\">")
+                        .append("<rect x=\"2\" y=\"2\" width=\"12\" height=\"12\" rx=\"2\" fill=\"#4a90d9\"/>")
+                        .append("<circle cx=\"8\" cy=\"8\" r=\"3\" fill=\"white\" stroke=\"#222\"/>")
+                        .append("<path d=\"M4 12 L8 4 L12 12 Z\" fill=\"none\" stroke=\"#d94a4a\"/>")
+                        .append("</g>");
+            }
+        }
+        svg.append("</svg>");
+        document = Objects.requireNonNull(new SVGLoader().load(
+                new ByteArrayInputStream(svg.toString().getBytes(StandardCharsets.UTF_8)), null,
+                LoaderContext.createDefault()));
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        viewBox = new ViewBox(size, size);
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    public void render(@NotNull Blackhole blackhole) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        document.render(null, g, viewBox);
+        g.dispose();
+        blackhole.consume(image);
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A thread safe cache of rasterized {@link SVGDocument}s e.g. for icons, which are painted many times at the same
+ * size.
+ * <p>
+ * Images are keyed by the identity of the document, the logical size, the device scale and the rendering hints.
+ * The most recently used images are held strongly as long as their combined size in bytes doesn't exceed the
+ * configured maximum weight. Images evicted from there are optionally kept softly reachable until the garbage
+ * collector needs the memory. Concurrent requests for the same image are deduplicated, such that it is only rendered
+ * once.
+ * <p>
+ * Note that the returned images are shared between all callers and hence must not be modified. Changes to a document
+ * after it has been rendered aren't detected, use {@link #invalidate(SVGDocument)} in this case.
+ */
+@ApiStatus.Experimental
+public final class RasterCache {
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final long maximumWeight;
+    private final boolean softReferences;
+
+    private final Object lock = new Object();
+    private final @NotNull Map<Key, CachedImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final @NotNull Map<Key, SoftEntry> softEntries = new HashMap<>();
+    private final @NotNull ReferenceQueue<CachedImage> collectedEntries = new ReferenceQueue<>();
+    private final @NotNull Map<Key, CompletableFuture<BufferedImage>> inFlight = new ConcurrentHashMap<>();
+    private long weight;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder softHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder renderCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private RasterCache(@NotNull Builder builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.softReferences = builder.softReferences;
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the image of the document rendered at the given size. If it isn't cached it is rendered using
+     * {@link SVGDocument#renderToImage(int, int, double, RenderingHints)}.
+     *
+     * @param document the document.
+     * @param width the logical width.
+     * @param height the logical height.
+     * @param scale the device scale e.g. 2 for HiDPI screens.
+     * @param hints additional rendering hints applied before rendering or null.
+     * @return the image of size {@code ceil(width * scale) x ceil(height * scale)}. It must not be modified.
+     */
+    public @NotNull BufferedImage renderToImage(@NotNull SVGDocument document, int width, int height, double scale,
+            @Nullable RenderingHints hints) {
+        Key key = new Key(document, width, height, scale,
+                hints != null ? new HashMap<>(hints) : Collections.emptyMap());
+        BufferedImage image = lookup(key);
+        if (image != null) {
+            hitCount.increment();
+            return image;
+        }
+        missCount.increment();
+
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) return existing.join();
+        try {
+            // The image may have been stored while we were checking for in-flight renders.
+            image = lookup(key);
+            if (image == null) image = render(key, hints);
+            future.complete(image);
+            return image;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private @NotNull BufferedImage render(@NotNull Key key, @Nullable RenderingHints hints) {
+        BufferedImage image = key.document.renderToImage(key.width, key.height, key.scale, hints);
+        renderCount.increment();
+        synchronized (lock) {
+            softEntries.remove(key);
+            store(key, new CachedImage(image));
+        }
+        return image;
+    }
+
+    private @Nullable BufferedImage lookup(@NotNull Key key) {
+        synchronized (lock) {
+            expungeCollectedEntries();
+            CachedImage entry = entries.get(key);
+            if (entry != null) return entry.image;
+            SoftEntry softEntry = softEntries.remove(key);
+            entry = softEntry != null ? softEntry.get() : null;
+            if (entry == null) return null;
+            store(key, entry);
+            softHitCount.increment();
+            return entry.image;
+        }
+    }
+
+    private void store(@NotNull Key key, @NotNull CachedImage entry) {
+        if (entry.weight > maximumWeight) {
+            // Caching the image would evict everything else.
+            evict(key, entry);
+            return;
+        }
+        entries.put(key, entry);
+        weight += entry.weight;
+        Iterator<Map.Entry<Key, CachedImage>> it = entries.entrySet().iterator();
+        while (weight > maximumWeight && it.hasNext()) {
+            Map.Entry<Key, CachedImage> eldest = it.next();
+            it.remove();
+            weight -= eldest.getValue().weight;
+            evict(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void evict(@NotNull Key key, @NotNull CachedImage entry) {
+        evictionCount.increment();
+        if (softReferences) softEntries.put(key, new SoftEntry(key, entry, collectedEntries));
+    }
+
+    private void expungeCollectedEntries() {
+        SoftEntry collected;
+        while ((collected = (SoftEntry) collectedEntries.poll()) != null) {
+            softEntries.remove(collected.key, collected);
+        }
+    }
+
+    /**
+     * Removes all images of the given document.
+     *
+     * @param document the document.
+     */
+    public void invalidate(@NotNull SVGDocument document) {
+        synchronized (lock) {
+            Iterator<Map.Entry<Key, CachedImage>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, CachedImage> entry = it.next();
+                if (entry.getKey().document != document) continue;
+                it.remove();
+                weight -= entry.getValue().weight;
+            }
+            softEntries.keySet().removeIf(key -> key.document == document);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            entries.clear();
+            softEntries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * @return the number of images which are held strongly.
+     */
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the combined size in bytes of the images which are held strongly.
+     */
+    public long weight() {
+        synchronized (lock) {
+            return weight;
+        }
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public @NotNull Statistics statistics() {
+        int size;
+        long currentWeight;
+        synchronized (lock) {
+            size = entries.size();
+            currentWeight = weight;
+        }
+        return new Statistics(hitCount.sum(), softHitCount.sum(), missCount.sum(), renderCount.sum(),
+                evictionCount.sum(), size, currentWeight);
+    }
+
+    private static final class CachedImage {
+        private final @NotNull BufferedImage image;
+        private final long weight;
+
+        private CachedImage(@NotNull BufferedImage image) {
+            this.image = image;
+            this.weight = (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<CachedImage> {
+        private final @NotNull Key key;
+
+        private SoftEntry(@NotNull Key key, @NotNull CachedImage entry, @NotNull ReferenceQueue<CachedImage> queue) {
+            super(entry, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        private final @NotNull SVGDocument document;
+        private final int width;
+        private final int height;
+        private final double scale;
+        private final @NotNull Map<Object, Object> hints;
+
+        private Key(@NotNull SVGDocument document, int width, int height, double scale,
+                @NotNull Map<Object, Object> hints) {
+            this.document = document;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            this.hints = hints;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return document == key.document && width == key.width && height == key.height
+                    && Double.compare(scale, key.scale) == 0 && hints.equals(key.hints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(document), width, height, scale, hints);
+        }
+    }
+
+    public static final class Statistics {
+        private final long hitCount;
+        private final long softHitCount;
+        private final long missCount;
+        private final long renderCount;
+        private final long evictionCount;
+        private final int size;
+        private final long weight;
+
+        private Statistics(long hitCount, long softHitCount, long missCount, long renderCount, long evictionCount,
+                int size, long weight) {
+            this.hitCount = hitCount;
+            this.softHitCount = softHitCount;
+            this.missCount = missCount;
+            this.renderCount = renderCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /**
+         * @return the number of requests served from the cache, including {@link #softHitCount()}.
+         */
+        public long hitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of requests served by images which had already been evicted but were still softly
+         *         reachable.
+         */
+        public long softHitCount() {
+            return softHitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of images actually rendered. Concurrent misses for the same image only count once.
+         */
+        public long renderCount() {
+            return renderCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the number of images held strongly at the time the statistics were taken.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the combined size in bytes of the images held strongly at the time the statistics were taken.
+         */
+        public long weight() {
+            return weight;
+        }
+
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "hitCount=" + hitCount +
+                    ", softHitCount=" + softHitCount +
+                    ", missCount=" + missCount +
+                    ", renderCount=" + renderCount +
+                    ", evictionCount=" + evictionCount +
+                    ", size=" + size +
+                    ", weight=" + weight +
+                    '}';
+        }
+    }
+
+    public static final class Builder {
+        private long maximumWeight = 32L * 1024 * 1024;
+        private boolean softReferences = true;
+
+        private Builder() {}
+
+        /**
+         * @param maximumWeight the maximum combined size in bytes of the images held strongly.
+         * @return this builder.
+         */
+        public @NotNull Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) throw new IllegalArgumentException("Negative maximum weight " + maximumWeight);
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * @param softReferences whether evicted images should be kept softly reachable.
+         * @return this builder.
+         */
+        public @NotNull Builder softReferences(boolean softReferences) {
+            this.softReferences = softReferences;
+            return this;
+        }
+
+        public @NotNull RasterCache build() {
+            return new RasterCache(this);
+        }
+    }
+}
@@ -22,11 +22,15 @@
 package com.github.weisj.jsvg;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.*;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,6 +43,7 @@ import com.github.weisj.jsvg.renderer.*;
 import com.github.weisj.jsvg.renderer.awt.AwtComponentPlatformSupport;
 import com.github.weisj.jsvg.renderer.awt.NullPlatformSupport;
 import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
+import com.github.weisj.jsvg.util.ImageUtil;
 
 public final class SVGDocument {
     private static final boolean DEBUG = false;
@@ -92,7 +97,7 @@ public final class SVGDocument {
     public void renderWithPlatform(@NotNull PlatformSupport platformSupport, @NotNull Graphics2D graphics2D,
             @Nullable ViewBox bounds) {
         Graphics2D g = (Graphics2D) graphics2D.create();
-        setupSVGRenderingHints(g);
+        GraphicsUtil.setupSVGRenderingHints(g);
         Output output = new Graphics2DOutput(g);
         renderWithPlatform(platformSupport, output, bounds);
         output.dispose();
@@ -119,6 +124,111 @@ public final class SVGDocument {
         NodeRenderer.renderWithSize(root, bounds.size(), context, output, null);
     }
 
+    /**
+     * Renders the document into a new image. The document is scaled to fit the logical size {@code width x height},
+     * which is rendered at {@code scale} device pixels per logical pixel.
+     *
+     * @param width the logical width.
+     * @param height the logical height.
+     * @param scale the device scale e.g. 2 for HiDPI screens.
+     * @param hints additional rendering hints applied before rendering or null.
+     * @return the image of size {@code ceil(width * scale) x ceil(height * scale)}.
+     * @see RasterCache
+     */
+    @ApiStatus.Experimental
+    public @NotNull BufferedImage renderToImage(int width, int height, double scale, @Nullable RenderingHints hints) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+        }
+        if (!(scale > 0) || Double.isInfinite(scale)) throw new IllegalArgumentException("Invalid scale " + scale);
+        BufferedImage image = ImageUtil.createCompatibleTransparentImage(
+                (int) Math.ceil(width * scale), (int) Math.ceil(height * scale), ImageUtil.Premultiplied.Yes);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            if (hints != null) g.addRenderingHints(hints);
+            g.scale(scale, scale);
+            renderWithPlatform(new NullPlatformSupport(), g, new ViewBox(width, height));
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Renders the document into the given image using the common {@link ForkJoinPool}.
+     *
+     * @param platformSupport the platform to render on. It needs to be thread safe.
+     * @param image the image to render into.
+     * @param bounds the viewport to render.
+     * @see #renderParallel(PlatformSupport, BufferedImage, ViewBox, AffineTransform, ForkJoinPool)
+     */
+    @ApiStatus.Experimental
+    public void renderParallel(@NotNull PlatformSupport platformSupport, @NotNull BufferedImage image,
+            @Nullable ViewBox bounds) {
+        renderParallel(platformSupport, image, bounds, new AffineTransform(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Renders the document into the given image by splitting it into tiles, which are rendered in parallel. This is
+     * worthwhile for large images, where rasterization dominates the time spent traversing the document, which is
+     * done once for every tile. Offscreen content like masks and filters is computed for the whole viewport by every
+     * tile, hence documents dominated by such effects benefit less.
+     * <p>
+     * The result is the same as rendering on a graphics of the image with antialiasing enabled, up to rounding
+     * differences of the Java2D rasterizer at the tile borders.
+     *
+     * @param platformSupport the platform to render on. It needs to be thread safe.
+     * @param image the image to render into.
+     * @param bounds the viewport to render.
+     * @param transform the transform from the coordinate space of the document to the one of the image.
+     * @param pool the pool to render the tiles on.
+     */
+    @ApiStatus.Experimental
+    public void renderParallel(@NotNull PlatformSupport platformSupport, @NotNull BufferedImage image,
+            @Nullable ViewBox bounds, @NotNull AffineTransform transform, @NotNull ForkJoinPool pool) {
+        AffineTransform at = new AffineTransform(transform);
+        TileRenderer.render(pool, image, g -> {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.transform(at);
+            renderWithPlatform(platformSupport, g, bounds);
+        });
+    }
+
+    /**
+     * Compiles the document into a {@link DisplayList}, which can be rendered repeatedly without traversing the
+     * document again. The list stays valid as long as the viewport and the font size of the platform don't change,
+     * see {@link DisplayList#isValidFor(PlatformSupport, ViewBox)}.
+     * <p>
+     * Note: Resources which haven't finished loading yet, e.g. images loaded asynchronously, are recorded as missing.
+     *
+     * @param platformSupport the platform to render on.
+     * @param bounds the viewport to render.
+     * @return the display list.
+     */
+    @ApiStatus.Experimental
+    public @NotNull DisplayList compile(@NotNull PlatformSupport platformSupport, @Nullable ViewBox bounds) {
+        return compile(platformSupport, bounds, new AffineTransform());
+    }
+
+    /**
+     * Compiles the document into a {@link DisplayList} for the given device transform. Offscreen content like masks
+     * and filters is rendered at the resolution of the device transform, which should match the scale of the
+     * transform of the graphics the list will be rendered on.
+     *
+     * @param platformSupport the platform to render on.
+     * @param bounds the viewport to render.
+     * @param deviceTransform the transform from user space to device space e.g. for HiDPI screens.
+     * @return the display list.
+     * @see #compile(PlatformSupport, ViewBox)
+     */
+    @ApiStatus.Experimental
+    public @NotNull DisplayList compile(@NotNull PlatformSupport platformSupport, @Nullable ViewBox bounds,
+            @NotNull AffineTransform deviceTransform) {
+        return DisplayList.record(platformSupport, bounds, deviceTransform,
+                output -> renderWithPlatform(platformSupport, output, bounds));
+    }
+
     private @NotNull RenderContext prepareRenderContext(
             @NotNull PlatformSupport platformSupport,
             @NotNull Output output,
@@ -133,29 +243,4 @@ public final class SVGDocument {
         root.applyTransform(output, context);
         return context;
     }
-
-    private void setupSVGRenderingHints(@NotNull Graphics2D g) {
-        Object aaHint = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
-        if (aaHint != RenderingHints.VALUE_ANTIALIAS_DEFAULT) {
-            setSVGRenderingHint(g,
-                    SVGRenderingHints.KEY_IMAGE_ANTIALIASING,
-                    aaHint == RenderingHints.VALUE_ANTIALIAS_ON
-                            ? SVGRenderingHints.VALUE_IMAGE_ANTIALIASING_ON
-                            : SVGRenderingHints.VALUE_IMAGE_ANTIALIASING_OFF);
-        } else {
-            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        }
-        if (g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL) == RenderingHints.VALUE_STROKE_DEFAULT) {
-            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-        }
-        setSVGRenderingHint(g,
-                SVGRenderingHints.KEY_MASK_CLIP_RENDERING,
-                SVGRenderingHints.VALUE_MASK_CLIP_RENDERING_DEFAULT);
-    }
-
-    private void setSVGRenderingHint(@NotNull Graphics2D g, @NotNull RenderingHints.Key key, @NotNull Object o) {
-        if (g.getRenderingHint(key) == null) {
-            g.setRenderingHint(key, o);
-        }
-    }
 }
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * Renders an image by splitting it into tiles, which are painted in parallel. Every tile paints the whole content
+ * into a sub image sharing the pixel data of the target image, hence no stitching is necessary.
+ * The graphics of a tile deliberately isn't clipped to the tile. Painting is confined to the tile by the bounds of the
+ * sub image, but offscreen buffers for masks, filters and isolated groups are laid out for the whole viewport, just
+ * like they are when rendering without tiles. Otherwise e.g. blurs or displacement maps would miss content from
+ * neighbouring tiles.
+ */
+final class TileRenderer extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    // Every tile has to traverse the whole document. Too many tiles hence only add overhead.
+    private static final int TILES_PER_THREAD = 2;
+    private static final int MIN_TILE_SIZE = 64;
+
+    private final @NotNull BufferedImage image;
+    private final @NotNull Consumer<@NotNull Graphics2D> painter;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final int remainingSplits;
+
+    private TileRenderer(@NotNull BufferedImage image, @NotNull Consumer<@NotNull Graphics2D> painter,
+            int x, int y, int width, int height, int remainingSplits) {
+        this.image = image;
+        this.painter = painter;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.remainingSplits = remainingSplits;
+    }
+
+    static void render(@NotNull ForkJoinPool pool, @NotNull BufferedImage image,
+            @NotNull Consumer<@NotNull Graphics2D> painter) {
+        int tileCount = pool.getParallelism() * TILES_PER_THREAD;
+        int splits = 32 - Integer.numberOfLeadingZeros(tileCount - 1);
+        pool.invoke(new TileRenderer(image, painter, 0, 0, image.getWidth(), image.getHeight(), splits));
+    }
+
+    @Override
+    protected void compute() {
+        if (remainingSplits == 0 || Math.max(width, height) < 2 * MIN_TILE_SIZE) {
+            renderTile();
+        } else if (width >= height) {
+            int half = width / 2;
+            invokeAll(new TileRenderer(image, painter, x, y, half, height, remainingSplits - 1),
+                    new TileRenderer(image, painter, x + half, y, width - half, height, remainingSplits - 1));
+        } else {
+            int half = height / 2;
+            invokeAll(new TileRenderer(image, painter, x, y, width, half, remainingSplits - 1),
+                    new TileRenderer(image, painter, x, y + half, width, height - half, remainingSplits - 1));
+        }
+    }
+
+    private void renderTile() {
+        Graphics2D g = image.getSubimage(x, y, width, height).createGraphics();
+        try {
+            g.translate(-x, -y);
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+    }
+}
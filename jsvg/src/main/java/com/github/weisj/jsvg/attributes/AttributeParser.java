@@ -22,10 +22,8 @@
 package com.github.weisj.jsvg.attributes;
 
 import java.awt.geom.AffineTransform;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Locale;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.jetbrains.annotations.Contract;
@@ -44,28 +42,79 @@ import com.github.weisj.jsvg.util.ParserBase;
 public final class AttributeParser {
 
     private final @NotNull PaintParser paintParser;
+    private final @Nullable ValueInterner valueInterner;
 
     public AttributeParser(@NotNull PaintParser paintParser) {
+        this(paintParser, null);
+    }
+
+    public AttributeParser(@NotNull PaintParser paintParser, @Nullable ValueInterner valueInterner) {
         this.paintParser = paintParser;
+        this.valueInterner = valueInterner;
+    }
+
+    /**
+     * Returns the canonical instance of the parsed value if interning is enabled.
+     *
+     * @param value the parsed value.
+     * @param <T> the type of the value.
+     * @return the canonical instance or value itself.
+     * @see ValueInterner
+     */
+    @Contract("null -> null; !null -> !null")
+    public <T> @Nullable T intern(@Nullable T value) {
+        if (valueInterner == null) return value;
+        return valueInterner.intern(value);
     }
 
     @Contract("_,!null -> !null")
     public @Nullable Length parseLength(@Nullable String value, @Nullable Length fallback) {
         if (value == null) return fallback;
+        Length length = parseLength(value, 0, value.length());
+        return length != null ? length : fallback;
+    }
+
+    private @Nullable Length parseLength(@NotNull String value, int start, int end) {
         Unit unit = Unit.Raw;
-        String lower = value.toLowerCase(Locale.ENGLISH);
         for (Unit u : Unit.units()) {
-            if (lower.endsWith(u.suffix())) {
+            if (endsWithIgnoreCase(value, start, end, u.suffix())) {
                 unit = u;
                 break;
             }
         }
-        String str = lower.substring(0, lower.length() - unit.suffix().length());
         try {
-            return unit.valueOf(Float.parseFloat(str));
+            return intern(unit.valueOf(parseCaseInsensitiveFloat(value, start, end - unit.suffix().length())));
         } catch (NumberFormatException e) {
-            return fallback;
+            return null;
+        }
+    }
+
+    /*
+     * Equivalent to value.substring(start, end).toLowerCase(Locale.ENGLISH).endsWith(suffix) for the lower case
+     * ascii suffixes of units.
+     */
+    private static boolean endsWithIgnoreCase(@NotNull String value, int start, int end, @NotNull String suffix) {
+        int suffixLength = suffix.length();
+        if (end - start < suffixLength) return false;
+        int offset = end - suffixLength;
+        for (int i = 0; i < suffixLength; i++) {
+            char c = value.charAt(offset + i);
+            if (c >= 'A' && c <= 'Z') c = (char) (c + ('a' - 'A'));
+            if (c != suffix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Equivalent to Float.parseFloat(value.substring(start, end).toLowerCase(Locale.ENGLISH)). In particular the
+     * special values "Infinity" and "NaN" aren't accepted, as they don't survive the conversion to lower case.
+     */
+    private static float parseCaseInsensitiveFloat(@NotNull String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == 'I' || c == 'N') throw new NumberFormatException("Not a number: " + value.substring(start, end));
         }
+        return ParserBase.parseFloat(value, start, end);
     }
 
     public @Percentage float parsePercentage(@Nullable String value, float fallback) {
@@ -116,17 +165,16 @@ public final class AttributeParser {
 
     public @Radian float parseAngle(@Nullable String value, float fallback) {
         if (value == null) return fallback;
+        int end = value.length();
         AngleUnit unit = AngleUnit.Raw;
-        String lower = value.toLowerCase(Locale.ENGLISH);
         for (AngleUnit u : AngleUnit.units()) {
-            if (lower.endsWith(u.suffix())) {
+            if (endsWithIgnoreCase(value, 0, end, u.suffix())) {
                 unit = u;
                 break;
             }
         }
-        String str = lower.substring(0, lower.length() - unit.suffix().length());
         try {
-            return unit.toRadians(Float.parseFloat(str), AngleUnit.Deg);
+            return unit.toRadians(parseCaseInsensitiveFloat(value, 0, end - unit.suffix().length()), AngleUnit.Deg);
         } catch (NumberFormatException e) {
             return fallback;
         }
@@ -134,12 +182,13 @@ public final class AttributeParser {
 
     @Contract("_,!null -> !null")
     public Length @Nullable [] parseLengthList(@Nullable String value, Length @Nullable [] fallback) {
-        if (value != null && value.equalsIgnoreCase("none")) return new Length[0];
-        String[] values = parseStringList(value, SeparatorMode.COMMA_AND_WHITESPACE, null);
-        if (values == null) return fallback;
-        Length[] ret = new Length[values.length];
-        for (int i = 0; i < ret.length; i++) {
-            Length length = parseLength(values[i], null);
+        if (value == null || value.isEmpty()) return fallback;
+        if (value.equalsIgnoreCase("none")) return new Length[0];
+        ListTokenizer tokenizer = new ListTokenizer(value, 0, value.length(), SeparatorMode.COMMA_AND_WHITESPACE);
+        Length[] ret = new Length[tokenizer.count()];
+        tokenizer.reset();
+        for (int i = 0; i < ret.length && tokenizer.next(); i++) {
+            Length length = parseLength(value, tokenizer.tokenStart(), tokenizer.tokenEnd());
             if (length == null) return fallback;
             ret[i] = length;
         }
@@ -147,23 +196,45 @@ public final class AttributeParser {
     }
 
     public float[] parseFloatList(@Nullable String value) {
-        String[] values = parseStringList(value, SeparatorMode.COMMA_AND_WHITESPACE);
-        float[] ret = new float[values.length];
-        for (int i = 0; i < ret.length; i++) {
-            ret[i] = parseFloat(values[i], 0);
+        if (value == null || value.isEmpty()) return intern(new float[0]);
+        ListTokenizer tokenizer = new ListTokenizer(value, 0, value.length(), SeparatorMode.COMMA_AND_WHITESPACE);
+        float[] ret = new float[tokenizer.count()];
+        tokenizer.reset();
+        for (int i = 0; i < ret.length && tokenizer.next(); i++) {
+            ret[i] = parseFloat(value, tokenizer.tokenStart(), tokenizer.tokenEnd(), 0);
+        }
+        return intern(ret);
+    }
+
+    /**
+     * Parses the range {@code [start, end)} of the given string as float.
+     *
+     * @param value the string.
+     * @param start the start index (inclusive).
+     * @param end the end index (exclusive).
+     * @param fallback the value returned if the range isn't a valid number.
+     * @return the parsed value or fallback.
+     * @see #parseFloat(String, float)
+     */
+    public float parseFloat(@NotNull String value, int start, int end, float fallback) {
+        try {
+            return ParserBase.parseFloat(value, start, end);
+        } catch (NumberFormatException e) {
+            return fallback;
         }
-        return ret;
     }
 
     public double[] parseDoubleList(@Nullable String value) {
         if (value == null || value.isEmpty()) return new double[0];
-        List<Double> list = new ArrayList<>();
+        double[] values = new double[8];
+        int count = 0;
         ParserBase base = new ParserBase(value, 0);
         while (base.hasNext()) {
-            list.add(base.nextDouble());
+            if (count == values.length) values = Arrays.copyOf(values, 2 * count);
+            values[count++] = base.nextDouble();
             base.consumeWhiteSpaceOrSeparator();
         }
-        return list.stream().mapToDouble(Double::doubleValue).toArray();
+        return intern(Arrays.copyOf(values, count));
     }
 
     public @NotNull String[] parseStringList(@Nullable String value, SeparatorMode separatorMode) {
@@ -174,33 +245,17 @@ public final class AttributeParser {
     public String @Nullable [] parseStringList(@Nullable String value, SeparatorMode separatorMode,
             String @Nullable [] fallback) {
         if (value == null || value.isEmpty()) return fallback;
-        List<String> list = new ArrayList<>();
-        int max = value.length();
-        int start = 0;
-        int i = 0;
-        boolean inWhiteSpace = false;
-        for (; i < max; i++) {
-            char c = value.charAt(i);
-            if (Character.isWhitespace(c)) {
-                if (!inWhiteSpace && separatorMode != SeparatorMode.COMMA_ONLY && i - start > 0) {
-                    list.add(value.substring(start, i));
-                    start = i + 1;
-                }
-                inWhiteSpace = true;
-                continue;
-            }
-            inWhiteSpace = false;
-            if (c == ',' && separatorMode != SeparatorMode.WHITESPACE_ONLY) {
-                list.add(value.substring(start, i));
-                start = i + 1;
-            }
+        ListTokenizer tokenizer = new ListTokenizer(value, 0, value.length(), separatorMode);
+        String[] ret = new String[tokenizer.count()];
+        tokenizer.reset();
+        for (int i = 0; i < ret.length && tokenizer.next(); i++) {
+            ret[i] = value.substring(tokenizer.tokenStart(), tokenizer.tokenEnd());
         }
-        if (i - start > 0) list.add(value.substring(start, i));
-        return list.toArray(new String[0]);
+        return ret;
     }
 
     public @Nullable SVGPaint parsePaint(@Nullable String value, @NotNull AttributeNode attributeNode) {
-        return paintParser.parsePaint(value, attributeNode);
+        return intern(paintParser.parsePaint(value, attributeNode));
     }
 
     public <E extends Enum<E>> @NotNull E parseEnum(@Nullable String value, @NotNull E fallback) {
@@ -232,75 +287,101 @@ public final class AttributeParser {
         return removeWhiteSpace(value.substring(4, value.length() - 1));
     }
 
-    private static final Pattern TRANSFORM_PATTERN = Pattern.compile("\\w+\\([^)]*\\)");
-
     public @Nullable AffineTransform parseTransform(@Nullable String value) {
         if (value == null) return null;
-        final Matcher transformMatcher = TRANSFORM_PATTERN.matcher(value);
         AffineTransform transform = new AffineTransform();
-        while (transformMatcher.find()) {
-            String group = transformMatcher.group();
+        double[] args = new double[6];
+        int searchStart = 0;
+        // Finds all occurrences of <command>(<arguments>) where command is a non-empty sequence of word characters.
+        for (int open = value.indexOf('(', searchStart); open >= 0; open = value.indexOf('(', searchStart)) {
+            int commandStart = open;
+            while (commandStart > searchStart && isWordChar(value.charAt(commandStart - 1))) {
+                commandStart--;
+            }
+            if (commandStart == open) {
+                searchStart = open + 1;
+                continue;
+            }
+            int close = value.indexOf(')', open + 1);
+            if (close < 0) break;
             try {
-                parseSingleTransform(group, transform);
+                parseSingleTransform(value, commandStart, open, close, args, transform);
             } catch (Exception e) {
                 throw new IllegalArgumentException(
-                        "Illegal transform definition '" + value + "' encountered error while parsing '" + group + "'",
+                        "Illegal transform definition '" + value + "' encountered error while parsing '"
+                                + value.substring(commandStart, close + 1) + "'",
                         e);
             }
+            searchStart = close + 1;
         }
-        return transform;
+        return intern(transform);
     }
 
-    private void parseSingleTransform(@NotNull String value, @NotNull AffineTransform tx) {
-        int first = value.indexOf('(');
-        int last = value.lastIndexOf(')');
-        String command = value.substring(0, value.indexOf('(')).toLowerCase(Locale.ENGLISH);
-        double[] values = parseDoubleList(value.substring(first + 1, last));
-        switch (command) {
-            case "matrix":
-                tx.concatenate(new AffineTransform(values));
-                break;
-            case "translate":
-                if (values.length == 1) {
-                    tx.translate(values[0], 0);
-                } else {
-                    tx.translate(values[0], values[1]);
-                }
-                break;
-            case "translatex":
-                tx.translate(values[0], 0);
-                break;
-            case "translatey":
-                tx.translate(0, values[0]);
-                break;
-            case "scale":
-                if (values.length == 1) {
-                    tx.scale(values[0], values[0]);
-                } else {
-                    tx.scale(values[0], values[1]);
-                }
-                break;
-            case "scalex":
-                tx.scale(values[0], 1);
-                break;
-            case "scaley":
-                tx.scale(1, values[0]);
-                break;
-            case "rotate":
-                if (values.length > 2) {
-                    tx.rotate(Math.toRadians(values[0]), values[1], values[2]);
-                } else {
-                    tx.rotate(Math.toRadians(values[0]));
-                }
-                break;
-            case "skewx":
-                tx.shear(Math.tan(Math.toRadians(values[0])), 0);
-                break;
-            case "skewy":
-                tx.shear(0, Math.tan(Math.toRadians(values[0])));
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown transform type: " + command);
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private void parseSingleTransform(@NotNull String value, int commandStart, int open, int close,
+            double @NotNull [] args, @NotNull AffineTransform tx) {
+        ParserBase parser = new ParserBase(value, open + 1, close);
+        parser.consumeWhiteSpaceOrSeparator();
+        int count = 0;
+        while (parser.hasNext()) {
+            double arg = parser.nextDouble();
+            if (count < args.length) args[count] = arg;
+            count++;
+            parser.consumeWhiteSpaceOrSeparator();
+        }
+        int commandLength = open - commandStart;
+        if (isCommand(value, commandStart, commandLength, "matrix")) {
+            requireArguments(count, 4);
+            boolean hasTranslation = count >= 6;
+            tx.concatenate(new AffineTransform(args[0], args[1], args[2], args[3],
+                    hasTranslation ? args[4] : 0, hasTranslation ? args[5] : 0));
+        } else if (isCommand(value, commandStart, commandLength, "translate")) {
+            requireArguments(count, 1);
+            tx.translate(args[0], count == 1 ? 0 : args[1]);
+        } else if (isCommand(value, commandStart, commandLength, "translatex")) {
+            requireArguments(count, 1);
+            tx.translate(args[0], 0);
+        } else if (isCommand(value, commandStart, commandLength, "translatey")) {
+            requireArguments(count, 1);
+            tx.translate(0, args[0]);
+        } else if (isCommand(value, commandStart, commandLength, "scale")) {
+            requireArguments(count, 1);
+            tx.scale(args[0], count == 1 ? args[0] : args[1]);
+        } else if (isCommand(value, commandStart, commandLength, "scalex")) {
+            requireArguments(count, 1);
+            tx.scale(args[0], 1);
+        } else if (isCommand(value, commandStart, commandLength, "scaley")) {
+            requireArguments(count, 1);
+            tx.scale(1, args[0]);
+        } else if (isCommand(value, commandStart, commandLength, "rotate")) {
+            requireArguments(count, 1);
+            if (count > 2) {
+                tx.rotate(Math.toRadians(args[0]), args[1], args[2]);
+            } else {
+                tx.rotate(Math.toRadians(args[0]));
+            }
+        } else if (isCommand(value, commandStart, commandLength, "skewx")) {
+            requireArguments(count, 1);
+            tx.shear(Math.tan(Math.toRadians(args[0])), 0);
+        } else if (isCommand(value, commandStart, commandLength, "skewy")) {
+            requireArguments(count, 1);
+            tx.shear(0, Math.tan(Math.toRadians(args[0])));
+        } else {
+            throw new IllegalArgumentException("Unknown transform type: "
+                    + value.substring(commandStart, open).toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    private static boolean isCommand(@NotNull String value, int start, int length, @NotNull String command) {
+        return length == command.length() && value.regionMatches(true, start, command, 0, length);
+    }
+
+    private static void requireArguments(int count, int expected) {
+        if (count < expected) {
+            throw new IllegalArgumentException("Expected at least " + expected + " arguments but got " + count);
         }
     }
 
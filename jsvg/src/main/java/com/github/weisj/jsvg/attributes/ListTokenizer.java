@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.attributes;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg.parser.SeparatorMode;
+
+/**
+ * Splits a range of a string into list items without creating intermediate substrings. The items are exactly the
+ * ones {@link AttributeParser#parseStringList(String, SeparatorMode)} would produce for the range:
+ * <pre>{@code
+ * ListTokenizer tokenizer = new ListTokenizer(value, 0, value.length(), SeparatorMode.COMMA_AND_WHITESPACE);
+ * while (tokenizer.next()) {
+ *     parse(value, tokenizer.tokenStart(), tokenizer.tokenEnd());
+ * }
+ * }</pre>
+ */
+@ApiStatus.Internal
+public final class ListTokenizer {
+    private final @NotNull String value;
+    private final @NotNull SeparatorMode separatorMode;
+    private final int startIndex;
+    private final int endIndex;
+
+    private int index;
+    private int start;
+    private boolean inWhiteSpace;
+    private boolean finished;
+
+    private int tokenStart;
+    private int tokenEnd;
+
+    public ListTokenizer(@NotNull String value, int startIndex, int endIndex, @NotNull SeparatorMode separatorMode) {
+        this.value = value;
+        this.separatorMode = separatorMode;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        reset();
+    }
+
+    /**
+     * Restarts the tokenization at the beginning of the range.
+     */
+    public void reset() {
+        index = startIndex;
+        start = startIndex;
+        inWhiteSpace = false;
+        finished = false;
+    }
+
+    /**
+     * Advances to the next item.
+     *
+     * @return true if there is another item. Its range is given by {@link #tokenStart()} and {@link #tokenEnd()}.
+     */
+    public boolean next() {
+        while (index < endIndex) {
+            int i = index++;
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                boolean split = !inWhiteSpace && separatorMode != SeparatorMode.COMMA_ONLY && i - start > 0;
+                inWhiteSpace = true;
+                if (split) return emit(i, i + 1);
+                continue;
+            }
+            inWhiteSpace = false;
+            if (c == ',' && separatorMode != SeparatorMode.WHITESPACE_ONLY) return emit(i, i + 1);
+        }
+        if (finished) return false;
+        finished = true;
+        return endIndex - start > 0 && emit(endIndex, endIndex);
+    }
+
+    private boolean emit(int end, int nextStart) {
+        tokenStart = start;
+        tokenEnd = end;
+        start = nextStart;
+        return true;
+    }
+
+    /**
+     * Counts the remaining items. Afterward the tokenizer is exhausted.
+     *
+     * @return the number of remaining items.
+     */
+    public int count() {
+        int count = 0;
+        while (next()) count++;
+        return count;
+    }
+
+    public int tokenStart() {
+        return tokenStart;
+    }
+
+    public int tokenEnd() {
+        return tokenEnd;
+    }
+}
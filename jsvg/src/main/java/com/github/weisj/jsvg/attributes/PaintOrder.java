@@ -70,7 +70,7 @@ public final class PaintOrder {
             phases[i] = findNextInNormalOrder(phases, i);
             i++;
         }
-        return new PaintOrder(phases);
+        return parser.intern(new PaintOrder(phases));
     }
 
     private static @NotNull Phase findNextInNormalOrder(@NotNull Phase[] phases, int maxIndex) {
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.attributes;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Canonicalizes parsed attribute values, such that equal values parsed for different elements or documents share
+ * a single instance. This includes e.g. lengths, colors, paints, transforms and number lists.
+ * <p>
+ * Entries are only weakly referenced and hence don't keep otherwise unused values alive. The table is bounded in
+ * size. Once it is full, values are no longer interned until entries have been reclaimed.
+ * <p>
+ * Note: Some of the interned values such as {@link java.awt.geom.AffineTransform} or arrays are mutable. Values
+ * returned by the parser have to be treated as read-only if interning is enabled.
+ */
+@ApiStatus.Experimental
+public final class ValueInterner {
+    private static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+
+    private final @NotNull Map<WeakValue, WeakValue> table = new ConcurrentHashMap<>();
+    private final @NotNull ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private final int maximumSize;
+
+    public ValueInterner() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ValueInterner(int maximumSize) {
+        if (maximumSize < 0) throw new IllegalArgumentException("Maximum size must be non-negative: " + maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the canonical instance of the given value. Supported values are all immutable types with value
+     * based {@link Object#equals(Object)} and primitive {@code float} or {@code double} arrays.
+     *
+     * @param value the value to intern.
+     * @param <T> the type of the value.
+     * @return an instance equal to value.
+     */
+    @Contract("null -> null; !null -> !null")
+    public <T> @Nullable T intern(@Nullable T value) {
+        if (value == null) return null;
+        expungeStaleEntries();
+        WeakValue key = new WeakValue(value, null);
+        WeakValue existing = table.get(key);
+        if (existing != null) {
+            Object canonical = existing.get();
+            // The lookup succeeding implies canonical is equal to value and hence of the same type.
+            @SuppressWarnings("unchecked")
+            T result = (T) canonical;
+            if (result != null) return result;
+        }
+        if (table.size() >= maximumSize) return value;
+        WeakValue entry = new WeakValue(value, queue);
+        while (true) {
+            existing = table.putIfAbsent(entry, entry);
+            if (existing == null) return value;
+            @SuppressWarnings("unchecked")
+            T result = (T) existing.get();
+            if (result != null) return result;
+            // The existing entry has been cleared in between. Replace it.
+            table.remove(existing);
+        }
+    }
+
+    /**
+     * The number of interned values. This may include values which are no longer reachable but haven't been
+     * removed yet.
+     *
+     * @return the number of entries in the table.
+     */
+    public int size() {
+        expungeStaleEntries();
+        return table.size();
+    }
+
+    public void clear() {
+        table.clear();
+    }
+
+    private void expungeStaleEntries() {
+        Object ref;
+        while ((ref = queue.poll()) != null) {
+            table.remove(ref);
+        }
+    }
+
+    private static int valueHash(@NotNull Object value) {
+        if (value instanceof float[]) return Arrays.hashCode((float[]) value);
+        if (value instanceof double[]) return Arrays.hashCode((double[]) value);
+        return value.hashCode();
+    }
+
+    private static boolean valueEquals(@NotNull Object a, @NotNull Object b) {
+        if (a.getClass() != b.getClass()) return false;
+        if (a instanceof float[]) return Arrays.equals((float[]) a, (float[]) b);
+        if (a instanceof double[]) return Arrays.equals((double[]) a, (double[]) b);
+        return a.equals(b);
+    }
+
+    private static final class WeakValue extends WeakReference<Object> {
+        private final int hash;
+
+        private WeakValue(@NotNull Object value, @Nullable ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.hash = valueHash(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WeakValue)) return false;
+            WeakValue other = (WeakValue) o;
+            if (hash != other.hash) return false;
+            Object value = get();
+            Object otherValue = other.get();
+            // Cleared references are only equal to themselves.
+            return value != null && otherValue != null && valueEquals(value, otherValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -82,7 +82,7 @@ public enum VectorEffect implements HasMatchName {
         int flags = flags(effects);
         if (flags == 0) return;
 
-        AffineTransform shapeTransform = new AffineTransform(context.userSpaceTransform());
+        AffineTransform shapeTransform = new AffineTransform(context.readOnlyUserSpaceTransform());
 
         double x0 = elementTransform != null ? elementTransform.getTranslateX() : 0;
         double y0 = elementTransform != null ? elementTransform.getTranslateY() : 0;
@@ -98,7 +98,7 @@ public enum VectorEffect implements HasMatchName {
         // For the stroke not to be scaled we have to pre-multiply the shape by the transform and then paint
         // in the non-transformed coordinate system.
         output.setTransform(context.rootTransform());
-        return context.userSpaceTransform().createTransformedShape(shape);
+        return context.readOnlyUserSpaceTransform().createTransformedShape(shape);
     }
 
     private static void updateTransformForFlags(int flags, @NotNull AffineTransform transform, double x0, double y0) {
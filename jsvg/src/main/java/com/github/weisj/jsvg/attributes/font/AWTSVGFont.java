@@ -26,7 +26,8 @@ import java.awt.font.FontRenderContext;
 import java.awt.font.GlyphMetrics;
 import java.awt.font.GlyphVector;
 import java.awt.font.LineMetrics;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -37,16 +38,18 @@ import com.github.weisj.jsvg.nodes.text.Glyph;
 public final class AWTSVGFont implements SVGFont {
     private final @NotNull Font font;
     private final FontRenderContext frc = new FontRenderContext(null, true, true);
-    private final HashMap<Character, Glyph> glyphCache;
+    // Fonts are shared between documents through the FontResolver cache and may be used by multiple
+    // threads at once e.g. when rendering tiles in parallel.
+    private final Map<Character, Glyph> glyphCache;
 
-    private @Nullable LineMetrics lineMetrics;
-    private float[] baselineOffsets;
-    private float exHeight = Length.UNSPECIFIED_RAW;
-    private float mathBaseline = Length.UNSPECIFIED_RAW;
+    private volatile @Nullable LineMetrics lineMetrics;
+    private volatile float[] baselineOffsets;
+    private volatile float exHeight = Length.UNSPECIFIED_RAW;
+    private volatile float mathBaseline = Length.UNSPECIFIED_RAW;
 
     public AWTSVGFont(@NotNull Font font) {
         this.font = font;
-        this.glyphCache = new HashMap<>();
+        this.glyphCache = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -54,8 +57,8 @@ public final class AWTSVGFont implements SVGFont {
         Glyph glyph = glyphCache.get(codepoint);
         if (glyph != null) return glyph;
         glyph = createGlyph(codepoint);
-        glyphCache.put(codepoint, glyph);
-        return glyph;
+        Glyph existing = glyphCache.putIfAbsent(codepoint, glyph);
+        return existing != null ? existing : glyph;
     }
 
     @Override
@@ -68,19 +71,27 @@ public final class AWTSVGFont implements SVGFont {
         return font.getSize();
     }
 
+    /*
+     * Note: The lazily computed values only depend on the font. Threads racing to compute them produce the same
+     * result, hence computing them more than once is harmless. The fields are volatile to safely publish them.
+     */
     private @NotNull LineMetrics lineMetrics() {
-        if (lineMetrics == null) {
-            lineMetrics = font.getLineMetrics("Ax-", 0, 1, frc);
+        LineMetrics metrics = lineMetrics;
+        if (metrics == null) {
+            metrics = font.getLineMetrics("Ax-", 0, 1, frc);
+            lineMetrics = metrics;
         }
-        return lineMetrics;
+        return metrics;
     }
 
     @Override
     public float effectiveExHeight() {
-        if (Length.isUnspecified(exHeight)) {
-            exHeight = (float) codepointGlyph('x').glyphOutline().getBounds2D().getHeight();
+        float height = exHeight;
+        if (Length.isUnspecified(height)) {
+            height = (float) codepointGlyph('x').glyphOutline().getBounds2D().getHeight();
+            exHeight = height;
         }
-        return exHeight;
+        return height;
     }
 
     @Override
@@ -90,15 +101,21 @@ public final class AWTSVGFont implements SVGFont {
 
     @Override
     public float mathematicalBaseline() {
-        if (Length.isUnspecified(mathBaseline)) {
-            mathBaseline = -effectiveExHeight() / 2;
+        float baseline = mathBaseline;
+        if (Length.isUnspecified(baseline)) {
+            baseline = -effectiveExHeight() / 2;
+            mathBaseline = baseline;
         }
-        return mathBaseline;
+        return baseline;
     }
 
     private float[] baselineOffsets() {
-        if (baselineOffsets == null) baselineOffsets = lineMetrics().getBaselineOffsets();
-        return baselineOffsets;
+        float[] offsets = baselineOffsets;
+        if (offsets == null) {
+            offsets = lineMetrics().getBaselineOffsets();
+            baselineOffsets = offsets;
+        }
+        return offsets;
     }
 
     @Override
@@ -50,6 +50,15 @@ public final class AttributeFontSpec extends FontSpec implements Mutator<Measura
         return size;
     }
 
+    boolean isTrivial() {
+        return families.length == 0
+                && style == null
+                && sizeAdjust == null
+                && Length.isUnspecified(stretch)
+                && size == null
+                && weight == null;
+    }
+
     @Override
     public @NotNull MeasurableFontSpec mutate(@NotNull MeasurableFontSpec element) {
         return element.derive(this);
@@ -27,6 +27,7 @@ import java.awt.geom.AffineTransform;
 import java.text.AttributedCharacterIterator;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -46,8 +47,8 @@ public final class FontResolver {
         SVGFont cachedFont = FontCache.INSTANCE.cache.get(key);
         if (cachedFont != null) return cachedFont;
         SVGFont resolvedFont = resolveWithoutCache(fontSpec, measureContext);
-        FontCache.INSTANCE.cache.put(key, resolvedFont);
-        return resolvedFont;
+        SVGFont existingFont = FontCache.INSTANCE.cache.putIfAbsent(key, resolvedFont);
+        return existingFont != null ? existingFont : resolvedFont;
     }
 
     public static @NotNull SVGFont resolveWithoutCache(@NotNull MeasurableFontSpec fontSpec,
@@ -128,7 +129,8 @@ public final class FontResolver {
     private enum FontCache {
         INSTANCE;
 
-        private final HashMap<CacheKey, SVGFont> cache = new HashMap<>();
+        // Fonts are resolved concurrently when documents are loaded or rendered on multiple threads.
+        private final ConcurrentHashMap<CacheKey, SVGFont> cache = new ConcurrentHashMap<>();
 
         @Immutable
         private static final class CacheKey {
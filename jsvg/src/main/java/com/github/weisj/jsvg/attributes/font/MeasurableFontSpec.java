@@ -92,7 +92,7 @@ public final class MeasurableFontSpec extends FontSpec {
     }
 
     public @NotNull MeasurableFontSpec derive(@Nullable AttributeFontSpec other) {
-        if (other == null) return this;
+        if (other == null || other.isTrivial()) return this;
         String[] newFamilies = other.families != null && other.families.length > 0
                 ? other.families
                 : this.families;
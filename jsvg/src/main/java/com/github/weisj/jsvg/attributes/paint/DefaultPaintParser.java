@@ -33,6 +33,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg.attributes.AttributeParser;
+import com.github.weisj.jsvg.attributes.ListTokenizer;
 import com.github.weisj.jsvg.parser.AttributeNode;
 import com.github.weisj.jsvg.parser.SeparatorMode;
 
@@ -44,55 +45,62 @@ public final class DefaultPaintParser implements PaintParser {
     public @Nullable Color parseColor(@NotNull String value, @NotNull AttributeNode node) {
         if (value.isEmpty()) return null;
         try {
+            int length = value.length();
             if (value.charAt(0) == '#') {
                 int rgba = 0xff000000;
-                switch (value.length()) {
+                switch (length) {
                     case 4:
                         // Short rgb
-                        rgba = parseHex(new char[] {
-                                value.charAt(1), value.charAt(1),
-                                value.charAt(2), value.charAt(2),
-                                value.charAt(3), value.charAt(3),
-                                'F', 'F'});
+                        rgba = rgba(shortHexByte(value, 1), shortHexByte(value, 2), shortHexByte(value, 3), 0xFF);
                         break;
                     case 5:
                         // Short rgba
-                        rgba = parseHex(new char[] {
-                                value.charAt(1), value.charAt(1),
-                                value.charAt(2), value.charAt(2),
-                                value.charAt(3), value.charAt(3),
-                                value.charAt(4), value.charAt(4)});
+                        rgba = rgba(shortHexByte(value, 1), shortHexByte(value, 2), shortHexByte(value, 3),
+                                shortHexByte(value, 4));
                         break;
                     case 7:
                         // Long rgb
-                        rgba = parseHex(new char[] {
-                                value.charAt(1), value.charAt(2),
-                                value.charAt(3), value.charAt(4),
-                                value.charAt(5), value.charAt(6),
-                                'F', 'F'});
+                        rgba = rgba(hexByte(value, 1), hexByte(value, 3), hexByte(value, 5), 0xFF);
                         break;
                     case 9:
                         // Long rgba
-                        rgba = parseHex(value.substring(1).toCharArray());
+                        rgba = rgba(hexByte(value, 1), hexByte(value, 3), hexByte(value, 5), hexByte(value, 7));
                         break;
                     default:
                         break;
                 }
                 return new Color(rgba, true);
-            } else if (value.length() > 3 && value.substring(0, 3).equalsIgnoreCase("rgb")) {
-                boolean isRgba = value.length() > 4 && (value.charAt(3) == 'a' || value.charAt(3) == 'A');
+            } else if (length > 3 && value.regionMatches(true, 0, "rgb", 0, 3)) {
+                boolean isRgba = length > 4 && (value.charAt(3) == 'a' || value.charAt(3) == 'A');
                 int startIndex = isRgba ? 5 : 4;
-                String[] values = node.parser().parseStringList(
-                        value.substring(startIndex, value.length() - 1), SeparatorMode.COMMA_AND_WHITESPACE);
-                isRgba = isRgba && values.length >= 4;
+                int endIndex = length - 1;
+                if (startIndex > endIndex) {
+                    LOGGER.info(() -> "Malformed color definition " + value);
+                    return null;
+                }
+                ListTokenizer tokenizer =
+                        new ListTokenizer(value, startIndex, endIndex, SeparatorMode.COMMA_AND_WHITESPACE);
+                // Only the first four components are used.
+                int[] bounds = new int[8];
+                int count = 0;
+                while (count < 4 && tokenizer.next()) {
+                    bounds[2 * count] = tokenizer.tokenStart();
+                    bounds[2 * count + 1] = tokenizer.tokenEnd();
+                    count++;
+                }
+                if (count < 3) {
+                    LOGGER.info(() -> "Expected at least 3 color components in " + value);
+                    return null;
+                }
+                isRgba = isRgba && count >= 4;
                 AttributeParser parser = node.parser();
                 return new Color(
-                        parseColorComponent(values[0], false, parser),
-                        parseColorComponent(values[1], false, parser),
-                        parseColorComponent(values[2], false, parser),
-                        isRgba ? parseColorComponent(values[3], true, parser) : 255);
+                        parseColorComponent(value, bounds[0], bounds[1], false, parser),
+                        parseColorComponent(value, bounds[2], bounds[3], false, parser),
+                        parseColorComponent(value, bounds[4], bounds[5], false, parser),
+                        isRgba ? parseColorComponent(value, bounds[6], bounds[7], true, parser) : 255);
             }
-            return ColorLookup.colorMap().get(value.toLowerCase(Locale.ENGLISH));
+            return ColorLookup.colorMap().get(toLowerCase(value));
         } catch (Exception e) {
             LOGGER.log(Level.INFO, e.getMessage(), e);
             return null;
@@ -102,41 +110,59 @@ public final class DefaultPaintParser implements PaintParser {
     @Override
     public @Nullable SVGPaint parsePaint(@Nullable String value, @NotNull AttributeNode node) {
         if (value == null) return null;
-        String lower = value.toLowerCase(Locale.ENGLISH);
-        if ("none".equals(lower) || "transparent".equals(lower)) return SVGPaint.NONE;
-        if ("currentcolor".equals(lower)) return SVGPaint.CURRENT_COLOR;
-        if ("context-fill".equals(lower)) return SVGPaint.CONTEXT_FILL;
-        if ("context-stroke".equals(lower)) return SVGPaint.CONTEXT_STROKE;
-        Color color = parseColor(lower, node);
+        if ("none".equalsIgnoreCase(value) || "transparent".equalsIgnoreCase(value)) return SVGPaint.NONE;
+        if ("currentcolor".equalsIgnoreCase(value)) return SVGPaint.CURRENT_COLOR;
+        if ("context-fill".equalsIgnoreCase(value)) return SVGPaint.CONTEXT_FILL;
+        if ("context-stroke".equalsIgnoreCase(value)) return SVGPaint.CONTEXT_STROKE;
+        // Hex colors are case-insensitive, hence converting them to lower case can be skipped.
+        Color color = parseColor(!value.isEmpty() && value.charAt(0) == '#' ? value : toLowerCase(value), node);
         if (color == null) return null;
         return new AwtSVGPaint(color);
     }
 
-    private int parseColorComponent(String value, boolean percentage, @NotNull AttributeParser parser) {
+    /*
+     * Only converts the value if it actually contains upper case (or non-ascii) characters.
+     */
+    private static @NotNull String toLowerCase(@NotNull String value) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || c >= 0x80) return value.toLowerCase(Locale.ENGLISH);
+        }
+        return value;
+    }
+
+    private int parseColorComponent(@NotNull String value, int start, int end, boolean percentage,
+            @NotNull AttributeParser parser) {
         float parsed;
-        if (value.endsWith("%")) {
-            parsed = parser.parseFloat(value.substring(0, value.length() - 1), 0);
+        if (end > start && value.charAt(end - 1) == '%') {
+            parsed = parser.parseFloat(value, start, end - 1, 0);
             parsed /= 100;
             parsed *= 255;
         } else {
-            parsed = parser.parseFloat(value, 0);
+            parsed = parser.parseFloat(value, start, end, 0);
             if (percentage) parsed *= 255;
         }
         return Math.min(255, Math.max(0, (int) parsed));
     }
 
-    private int parseHex(char[] chars) {
-        int r = charToColorInt(chars[0]) << 4 | charToColorInt(chars[1]);
-        int g = charToColorInt(chars[2]) << 4 | charToColorInt(chars[3]);
-        int b = charToColorInt(chars[4]) << 4 | charToColorInt(chars[5]);
-        int a = charToColorInt(chars[6]) << 4 | charToColorInt(chars[7]);
+    private static int rgba(int r, int g, int b, int a) {
         return ((a & 0xFF) << 24) |
                 ((r & 0xFF) << 16) |
                 ((g & 0xFF) << 8) |
                 (b & 0xFF);
     }
 
-    private int charToColorInt(char c) {
+    private static int hexByte(@NotNull String value, int index) {
+        return hexDigit(value, index) << 4 | hexDigit(value, index + 1);
+    }
+
+    private static int shortHexByte(@NotNull String value, int index) {
+        int digit = hexDigit(value, index);
+        return digit << 4 | digit;
+    }
+
+    private static int hexDigit(@NotNull String value, int index) {
+        char c = value.charAt(index);
         if (c >= '0' && c <= '9') {
             return c - '0';
         } else if (c >= 'a' && c <= 'z') {
@@ -149,11 +175,15 @@ public final class DefaultPaintParser implements PaintParser {
     }
 
     private static final class ColorLookup {
-        private static Map<String, Color> colorMap;
+        // Initialized with the class, which makes the lookup safe to use from multiple threads.
+        private static final Map<String, Color> COLOR_MAP = createColorMap();
 
         private static Map<String, Color> colorMap() {
-            if (colorMap != null) return colorMap;
-            colorMap = new HashMap<>(143);
+            return COLOR_MAP;
+        }
+
+        private static Map<String, Color> createColorMap() {
+            Map<String, Color> colorMap = new HashMap<>(143);
 
             colorMap.put("aliceblue", new Color(0xf0f8ff));
             colorMap.put("antiquewhite", new Color(0xfaebd7));
@@ -304,8 +334,7 @@ public final class DefaultPaintParser implements PaintParser {
             colorMap.put("whitesmoke", new Color(0xf5f5f5));
             colorMap.put("yellow", new Color(0xffff00));
             colorMap.put("yellowgreen", new Color(0x9acd32));
-            colorMap = Collections.unmodifiableMap(colorMap);
-            return colorMap;
+            return Collections.unmodifiableMap(colorMap);
         }
     }
 }
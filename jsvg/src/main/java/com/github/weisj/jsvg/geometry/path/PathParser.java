@@ -21,6 +21,9 @@
  */
 package com.github.weisj.jsvg.geometry.path;
 
+import java.awt.geom.IllegalPathStateException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -101,6 +104,167 @@ public final class PathParser extends ParserBase {
         return commands.toArray(new PathCommand[0]);
     }
 
+    /**
+     * Parses the path data and appends the segments directly to the given path without materializing
+     * {@link PathCommand}s. The resulting path is the same as appending the result of {@link #parsePathCommand()}.
+     *
+     * @param path the path to append to.
+     */
+    public void parsePathInto(@NotNull Path2D path) {
+        if ("none".equals(input)) return;
+        try {
+            appendPathSegments(path);
+        } catch (IllegalPathStateException e) {
+            // Not a parsing error. Propagate it as PathCommand#appendPath would have done.
+            throw e;
+        } catch (Exception e) {
+            LOGGER.info("Error parsing path command: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    private void appendPathSegments(@NotNull Path2D path) {
+        // Mirrors the state kept in BuildHistory.
+        float startX = 0;
+        float startY = 0;
+        float lastX = 0;
+        float lastY = 0;
+        float knotX = 0;
+        float knotY = 0;
+
+        currentCommand = 'Z';
+        while (hasNext()) {
+            char peekChar = peek();
+            if (isCommandChar(peekChar)) {
+                consume();
+                currentCommand = peekChar;
+            }
+            consumeWhiteSpaceOrSeparator();
+
+            boolean relative = Character.isLowerCase(currentCommand);
+            float offsetX = relative ? lastX : 0;
+            float offsetY = relative ? lastY : 0;
+            switch (currentCommand) {
+                case 'M':
+                case 'm': {
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    path.moveTo(x, y);
+                    startX = lastX = knotX = x;
+                    startY = lastY = knotY = y;
+                    currentCommand = relative ? 'l' : 'L';
+                    break;
+                }
+                case 'L':
+                case 'l': {
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    path.lineTo(x, y);
+                    lastX = knotX = x;
+                    lastY = knotY = y;
+                    break;
+                }
+                case 'H':
+                case 'h': {
+                    float x = nextFloat() + offsetX;
+                    path.lineTo(x, lastY);
+                    lastX = knotX = x;
+                    knotY = lastY;
+                    break;
+                }
+                case 'V':
+                case 'v': {
+                    float y = nextFloat() + offsetY;
+                    path.lineTo(lastX, y);
+                    lastY = knotY = y;
+                    knotX = lastX;
+                    break;
+                }
+                case 'A':
+                case 'a': {
+                    float rx = nextFloat();
+                    float ry = nextFloat();
+                    float xAxisRot = nextFloat();
+                    boolean largeArc = nextFlag();
+                    boolean sweep = nextFlag();
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    Arc.arcTo(path, rx, ry, xAxisRot, largeArc, sweep, x, y, lastX, lastY);
+                    Point2D current = path.getCurrentPoint();
+                    if (current != null) {
+                        lastX = knotX = (float) current.getX();
+                        lastY = knotY = (float) current.getY();
+                    }
+                    break;
+                }
+                case 'Q':
+                case 'q': {
+                    float kx = nextFloat() + offsetX;
+                    float ky = nextFloat() + offsetY;
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    path.quadTo(kx, ky, x, y);
+                    lastX = x;
+                    lastY = y;
+                    knotX = kx;
+                    knotY = ky;
+                    break;
+                }
+                case 'T':
+                case 't': {
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    float kx = lastX * 2f - knotX;
+                    float ky = lastY * 2f - knotY;
+                    path.quadTo(kx, ky, x, y);
+                    lastX = x;
+                    lastY = y;
+                    knotX = kx;
+                    knotY = ky;
+                    break;
+                }
+                case 'C':
+                case 'c': {
+                    float k1x = nextFloat() + offsetX;
+                    float k1y = nextFloat() + offsetY;
+                    float k2x = nextFloat() + offsetX;
+                    float k2y = nextFloat() + offsetY;
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    path.curveTo(k1x, k1y, k2x, k2y, x, y);
+                    lastX = x;
+                    lastY = y;
+                    knotX = k2x;
+                    knotY = k2y;
+                    break;
+                }
+                case 'S':
+                case 's': {
+                    float k2x = nextFloat() + offsetX;
+                    float k2y = nextFloat() + offsetY;
+                    float x = nextFloat() + offsetX;
+                    float y = nextFloat() + offsetY;
+                    float k1x = lastX * 2f - knotX;
+                    float k1y = lastY * 2f - knotY;
+                    path.curveTo(k1x, k1y, k2x, k2y, x, y);
+                    lastX = x;
+                    lastY = y;
+                    knotX = k2x;
+                    knotY = k2y;
+                    break;
+                }
+                case 'Z':
+                case 'z':
+                    path.closePath();
+                    lastX = knotX = startX;
+                    lastY = knotY = startY;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid path element " + currentCommand + currentLocation());
+            }
+        }
+    }
+
     private void parsePathCommandInto(List<PathCommand> commands) {
         currentCommand = 'Z';
         while (hasNext()) {
@@ -63,6 +63,10 @@ public final class MeasureContext {
         }
         float effectiveEm = Length.isUnspecified(em) ? this.em : em;
         float effectiveEx = Length.isUnspecified(ex) ? this.ex : ex;
+        if (Float.compare(newVw, vw) == 0 && Float.compare(newVh, vh) == 0
+                && Float.compare(effectiveEm, this.em) == 0 && Float.compare(effectiveEx, this.ex) == 0) {
+            return this;
+        }
         return new MeasureContext(newVw, newVh, effectiveEm, effectiveEx);
     }
 
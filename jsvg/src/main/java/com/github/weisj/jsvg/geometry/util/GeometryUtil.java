@@ -216,9 +216,9 @@ public final class GeometryUtil {
         Rectangle2D out = r;
         if (from == Space.User) {
             if (to == Space.Root) {
-                out = containingBoundsAfterTransform(context.userSpaceTransform(), r);
+                out = containingBoundsAfterTransform(context.readOnlyUserSpaceTransform(), r);
             } else if (to == Space.Device) {
-                out = containingBoundsAfterTransform(context.userSpaceTransform(), r);
+                out = containingBoundsAfterTransform(context.readOnlyUserSpaceTransform(), r);
                 out = containingBoundsAfterTransform(context.rootTransform(), out);
             }
         }
@@ -232,7 +232,7 @@ public final class GeometryUtil {
         if (from == Space.Device) {
             if (to == Space.User) {
                 out = containingBoundsAfterTransform(createInverse(context.rootTransform()), r);
-                out = containingBoundsAfterTransform(createInverse(context.userSpaceTransform()), out);
+                out = containingBoundsAfterTransform(createInverse(context.readOnlyUserSpaceTransform()), out);
             } else if (to == Space.Root) {
                 out = containingBoundsAfterTransform(createInverse(context.rootTransform()), r);
             }
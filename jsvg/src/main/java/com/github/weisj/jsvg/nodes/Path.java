@@ -22,11 +22,13 @@
 package com.github.weisj.jsvg.nodes;
 
 import java.awt.*;
+import java.awt.geom.Path2D;
 
 import org.jetbrains.annotations.NotNull;
 
 import com.github.weisj.jsvg.attributes.FillRule;
 import com.github.weisj.jsvg.geometry.AWTSVGShape;
+import com.github.weisj.jsvg.geometry.FillRuleAwareAWTSVGShape;
 import com.github.weisj.jsvg.geometry.MeasurableShape;
 import com.github.weisj.jsvg.nodes.prototype.HasFillRule;
 import com.github.weisj.jsvg.nodes.prototype.spec.Category;
@@ -55,6 +57,11 @@ public final class Path extends ShapeNode implements HasFillRule {
     @Override
     protected @NotNull MeasurableShape buildShape(@NotNull AttributeNode attributeNode) {
         fillRule = FillRule.parse(attributeNode);
+        Path2D precompiledPath = attributeNode.precompiledPathData();
+        if (precompiledPath != null) {
+            precompiledPath.setWindingRule(fillRule.awtWindingRule);
+            return new FillRuleAwareAWTSVGShape(precompiledPath);
+        }
         String pathValue = attributeNode.getValue("d");
         if (pathValue == null) return new AWTSVGShape<>(new Rectangle());
         return PathUtil.parseFromPathData(pathValue, fillRule);
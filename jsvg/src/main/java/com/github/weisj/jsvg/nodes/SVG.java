@@ -61,7 +61,9 @@ public final class SVG extends CommonInnerViewContainer {
     private static final float FALLBACK_HEIGHT = 150;
 
     private boolean isTopLevel;
-    private boolean inNonRootMode;
+    // Set while the element is rendered as a child node to apply its effects. This happens during rendering, which
+    // may be done on multiple threads, hence it is tracked per thread.
+    private final ThreadLocal<Boolean> inNonRootMode = new ThreadLocal<>();
 
     @Override
     public @NotNull String tagName() {
@@ -69,7 +71,11 @@ public final class SVG extends CommonInnerViewContainer {
     }
 
     public boolean isTopLevel() {
-        return isTopLevel && !inNonRootMode;
+        return isTopLevel && !inNonRootMode();
+    }
+
+    private boolean inNonRootMode() {
+        return inNonRootMode.get() == Boolean.TRUE;
     }
 
 
@@ -131,7 +137,7 @@ public final class SVG extends CommonInnerViewContainer {
     @Override
     public boolean shouldEstablishChildContext() {
         // If we redispatch we can skip creating a new child context. All values have already been resolved.
-        return !isTopLevel || !inNonRootMode;
+        return !isTopLevel || !inNonRootMode();
     }
 
     @Override
@@ -141,9 +147,12 @@ public final class SVG extends CommonInnerViewContainer {
                 || super.clipPath() != null;
         if (needsHandlingAsChildNode) {
             // TODO: Handle this more elegantly
-            inNonRootMode = true;
-            NodeRenderer.renderNode(this, context, output);
-            inNonRootMode = false;
+            inNonRootMode.set(Boolean.TRUE);
+            try {
+                NodeRenderer.renderNode(this, context, output);
+            } finally {
+                inNonRootMode.remove();
+            }
         } else {
             super.renderWithCurrentViewBox(context, output);
         }
@@ -151,7 +160,7 @@ public final class SVG extends CommonInnerViewContainer {
 
     @Override
     public void render(@NotNull RenderContext context, @NotNull Output output) {
-        if (inNonRootMode) {
+        if (inNonRootMode()) {
             super.renderWithCurrentViewBox(context, output);
         } else {
             renderWithSize(size(context), viewBox(context), null, context, output);
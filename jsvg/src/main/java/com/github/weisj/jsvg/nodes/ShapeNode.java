@@ -32,6 +32,7 @@ import com.github.weisj.jsvg.attributes.VectorEffect;
 import com.github.weisj.jsvg.attributes.font.FontParser;
 import com.github.weisj.jsvg.attributes.font.FontSize;
 import com.github.weisj.jsvg.attributes.font.MeasurableFontSpec;
+import com.github.weisj.jsvg.attributes.stroke.LineJoin;
 import com.github.weisj.jsvg.geometry.MeasurableShape;
 import com.github.weisj.jsvg.geometry.size.Length;
 import com.github.weisj.jsvg.geometry.size.MeasureContext;
@@ -42,13 +43,14 @@ import com.github.weisj.jsvg.renderer.Output;
 import com.github.weisj.jsvg.renderer.PaintContext;
 import com.github.weisj.jsvg.renderer.RenderContext;
 import com.github.weisj.jsvg.renderer.ShapeRenderer;
+import com.github.weisj.jsvg.renderer.StrokeContext;
 
 public abstract class ShapeNode extends RenderableSVGNode
-        implements HasShape, HasPaintContext, HasFontContext, HasVectorEffects, Instantiator {
+        implements HasShape, HasPaintContext, HasFontContext, HasVectorEffects, HasCullingBounds, Instantiator {
+    private static final double SQRT_2 = Math.sqrt(2);
 
     private PaintContext paintContext;
-    private FontSize fontSize;
-    private Length fontSizeAdjust;
+    private Mutator<MeasurableFontSpec> fontSpec;
 
     private Length pathLength;
     private MeasurableShape shape;
@@ -59,6 +61,8 @@ public abstract class ShapeNode extends RenderableSVGNode
 
     private Set<VectorEffect> vectorEffects;
 
+    private @Nullable CachedStroke cachedStroke;
+
     @Override
     public @NotNull PaintContext paintContext() {
         return paintContext;
@@ -66,7 +70,7 @@ public abstract class ShapeNode extends RenderableSVGNode
 
     @Override
     public @NotNull Mutator<MeasurableFontSpec> fontSpec() {
-        return s -> s.withFontSize(fontSize, fontSizeAdjust);
+        return fontSpec;
     }
 
     public @NotNull MeasurableShape shape() {
@@ -83,8 +87,9 @@ public abstract class ShapeNode extends RenderableSVGNode
         super.build(attributeNode);
         paintContext = PaintContext.parse(attributeNode);
 
-        fontSize = FontParser.parseFontSize(attributeNode);
-        fontSizeAdjust = FontParser.parseSizeAdjust(attributeNode);
+        FontSize fontSize = FontParser.parseFontSize(attributeNode);
+        Length fontSizeAdjust = FontParser.parseSizeAdjust(attributeNode);
+        fontSpec = s -> s.withFontSize(fontSize, fontSizeAdjust);
 
         shape = buildShape(attributeNode);
         pathLength = attributeNode.getLength("pathLength", Length.UNSPECIFIED);
@@ -125,6 +130,29 @@ public abstract class ShapeNode extends RenderableSVGNode
         return bounds;
     }
 
+    @Override
+    public @Nullable Rectangle2D cullingBounds(@NotNull RenderContext context) {
+        // Markers, filters and vector effects may paint outside the stroke of the shape.
+        if (markerStart != null || markerMid != null || markerEnd != null) return null;
+        if (filter() != null) return null;
+        for (VectorEffect effect : vectorEffects) {
+            if (effect != VectorEffect.None) return null;
+        }
+        MeasureContext measureContext = context.measureContext();
+        StrokeContext strokeContext = context.strokeContext();
+        Rectangle2D bounds = shape.bounds(context, true);
+        assert strokeContext.strokeWidth != null;
+        float strokeWidth = strokeContext.strokeWidth.resolveLength(measureContext);
+        if (strokeWidth > 0) {
+            // Miter joins extend up to the miter limit times half the stroke width, square caps up to the diagonal.
+            double extent = strokeContext.lineJoin == LineJoin.Miter
+                    ? Math.max(strokeContext.miterLimit, SQRT_2)
+                    : SQRT_2;
+            bounds = GeometryUtil.grow(bounds, extent * strokeWidth / 2);
+        }
+        return transformShape(bounds, measureContext).getBounds2D();
+    }
+
     @Override
     public boolean isVisible(@NotNull RenderContext context) {
         return super.isVisible(context);
@@ -143,7 +171,16 @@ public abstract class ShapeNode extends RenderableSVGNode
             double actualLength = shape.pathLength(measureContext);
             pathLengthFactor = (float) (actualLength / effectiveLength);
         }
-        return context.stroke(pathLengthFactor);
+        // Reuse the stroke of the last render if nothing it depends on has changed. The holder is replaced as a
+        // whole, so concurrent renders never observe a stroke paired with the wrong parameters.
+        StrokeContext strokeContext = context.strokeContext();
+        CachedStroke cached = cachedStroke;
+        if (cached != null && cached.isValidFor(strokeContext, measureContext, pathLengthFactor)) {
+            return cached.stroke;
+        }
+        Stroke stroke = context.stroke(pathLengthFactor);
+        cachedStroke = new CachedStroke(strokeContext, measureContext, pathLengthFactor, stroke);
+        return stroke;
     }
 
     @Override
@@ -154,14 +191,38 @@ public abstract class ShapeNode extends RenderableSVGNode
                 : null;
 
         Stroke effectiveStroke = computeEffectiveStroke(context);
+        ShapeRenderer.ShapeMarkerInfo markerInfo = markerStart != null || markerMid != null || markerEnd != null
+                ? new ShapeRenderer.ShapeMarkerInfo(this, markerStart, markerMid, markerEnd,
+                        shouldPaintStartEndMarkersInMiddle())
+                : null;
         ShapeRenderer.renderWithPaintOrder(output, shape.canBeFilled(), context.paintOrder(),
                 new ShapeRenderer.ShapePaintContext(context, vectorEffects(), effectiveStroke, transform()),
-                new ShapeRenderer.PaintShape(paintShape, bounds),
-                new ShapeRenderer.ShapeMarkerInfo(this, markerStart, markerMid, markerEnd,
-                        shouldPaintStartEndMarkersInMiddle()));
+                new ShapeRenderer.PaintShape(paintShape, bounds), markerInfo);
     }
 
     protected boolean shouldPaintStartEndMarkersInMiddle() {
         return true;
     }
+
+    private static final class CachedStroke {
+        private final @NotNull StrokeContext strokeContext;
+        private final @NotNull MeasureContext measureContext;
+        private final float pathLengthFactor;
+        private final @NotNull Stroke stroke;
+
+        private CachedStroke(@NotNull StrokeContext strokeContext, @NotNull MeasureContext measureContext,
+                float pathLengthFactor, @NotNull Stroke stroke) {
+            this.strokeContext = strokeContext;
+            this.measureContext = measureContext;
+            this.pathLengthFactor = pathLengthFactor;
+            this.stroke = stroke;
+        }
+
+        private boolean isValidFor(@NotNull StrokeContext strokeContext, @NotNull MeasureContext measureContext,
+                float pathLengthFactor) {
+            return Float.compare(this.pathLengthFactor, pathLengthFactor) == 0
+                    && this.measureContext.equals(measureContext)
+                    && this.strokeContext.equals(strokeContext);
+        }
+    }
 }
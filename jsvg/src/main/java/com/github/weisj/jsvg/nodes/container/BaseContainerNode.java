@@ -29,9 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import com.github.weisj.jsvg.nodes.AbstractSVGNode;
 import com.github.weisj.jsvg.nodes.SVGNode;
 import com.github.weisj.jsvg.nodes.prototype.Container;
-import com.github.weisj.jsvg.nodes.prototype.spec.Category;
-import com.github.weisj.jsvg.nodes.prototype.spec.ElementCategories;
-import com.github.weisj.jsvg.nodes.prototype.spec.PermittedContent;
+import com.github.weisj.jsvg.nodes.prototype.spec.ElementSchema;
 
 public abstract class BaseContainerNode<E> extends AbstractSVGNode implements Container<E> {
     private static final boolean EXHAUSTIVE_CHECK = true;
@@ -60,61 +58,25 @@ public abstract class BaseContainerNode<E> extends AbstractSVGNode implements Co
     }
 
     protected boolean isAcceptableType(@NotNull SVGNode node) {
-        PermittedContent allowedNodes = getClass().getAnnotation(PermittedContent.class);
-        if (allowedNodes == null) {
+        ElementSchema schema = ElementSchema.of(getClass());
+        if (!schema.hasPermittedContent()) {
             throw new IllegalStateException(
                     String.format("Element <%s> doesn't specify permitted content information", tagName()));
         }
-        if (allowedNodes.any()) return true;
+        if (schema.permitsAnyContent()) return true;
 
         Class<? extends SVGNode> nodeType = node.getClass();
-        ElementCategories categories = nodeType.getAnnotation(ElementCategories.class);
-        if (categories == null) {
+        ElementSchema nodeSchema = ElementSchema.of(nodeType);
+        if (!nodeSchema.hasCategories()) {
             throw new IllegalStateException(
                     "Element <" + node.tagName() + "> doesn't specify element category information");
         }
-        CategoryCheckResult result = doIntersect(allowedNodes.categories(), categories.value());
-        if (result == CategoryCheckResult.Allowed) return true;
-        for (Class<? extends SVGNode> type : allowedNodes.anyOf()) {
-            if (type.isAssignableFrom(nodeType)) return true;
-        }
-        if (EXHAUSTIVE_CHECK && result != CategoryCheckResult.Excluded) {
+        if (schema.permitsCategoriesOf(nodeSchema)) return true;
+        if (schema.permitsType(nodeType)) return true;
+        if (EXHAUSTIVE_CHECK && !schema.excludesCategoriesOf(nodeSchema)) {
             LOGGER.warning(() -> String.format("Element <%s> not allowed in <%s> (or not implemented)",
                     node.tagName(), tagName()));
         }
         return false;
     }
-
-    private CategoryCheckResult doIntersect(Category[] requested, Category[] provided) {
-        // Expected sizes for these arrays is pretty small hence we don't need to
-        // be smart about the intersection check.
-        CategoryCheckResult result = CategoryCheckResult.Denied;
-        for (Category request : requested) {
-            boolean effectivelyAllowed = request.isEffectivelyAllowed();
-            if (!effectivelyAllowed && !EXHAUSTIVE_CHECK) continue;
-            for (Category category : provided) {
-                if (request == category) {
-                    if (effectivelyAllowed) return CategoryCheckResult.Allowed;
-                    // Keep searching. Element may be allowed by another category.
-                    result = CategoryCheckResult.Excluded;
-                }
-            }
-        }
-        return result;
-    }
-
-    private enum CategoryCheckResult {
-        /**
-         * The element is allowed as a child node.
-         */
-        Allowed,
-        /**
-         * The element isn't allowed as a child node.
-         */
-        Denied,
-        /**
-         * The element is allowed but excluded due to some other reason.
-         */
-        Excluded
-    }
 }
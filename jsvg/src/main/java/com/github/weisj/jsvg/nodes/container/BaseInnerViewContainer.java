@@ -23,6 +23,7 @@ package com.github.weisj.jsvg.nodes.container;
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.NotNull;
@@ -72,6 +73,12 @@ public abstract class BaseInnerViewContainer extends CommonRenderableContainerNo
         overflow = attributeNode.getEnum("overflow", defaultOverflow());
     }
 
+    @Override
+    public @Nullable Rectangle2D cullingBounds(@NotNull RenderContext context) {
+        // Inner views establish their own viewport, whose placement depends on the use site.
+        return null;
+    }
+
     protected void renderWithCurrentViewBox(@NotNull RenderContext context, @NotNull Output output) {
         super.render(context, output);
     }
@@ -21,26 +21,32 @@
  */
 package com.github.weisj.jsvg.nodes.container;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg.nodes.SVGNode;
 import com.github.weisj.jsvg.nodes.prototype.HasContext;
+import com.github.weisj.jsvg.nodes.prototype.HasCullingBounds;
 import com.github.weisj.jsvg.nodes.prototype.HasGeometryContext;
 import com.github.weisj.jsvg.nodes.prototype.Renderable;
 import com.github.weisj.jsvg.nodes.prototype.impl.HasContextImpl;
 import com.github.weisj.jsvg.nodes.prototype.impl.HasGeometryContextImpl;
 import com.github.weisj.jsvg.parser.AttributeNode;
+import com.github.weisj.jsvg.renderer.CullingIndex;
 import com.github.weisj.jsvg.renderer.NodeRenderer;
 import com.github.weisj.jsvg.renderer.Output;
 import com.github.weisj.jsvg.renderer.RenderContext;
 
 public abstract class CommonRenderableContainerNode extends BaseContainerNode<SVGNode>
-        implements Renderable, HasGeometryContext.ByDelegate, HasContext.ByDelegate {
+        implements Renderable, HasGeometryContext.ByDelegate, HasContext.ByDelegate, HasCullingBounds {
     private final List<@NotNull SVGNode> children = new ArrayList<>();
+    // Documents may be rendered on multiple threads. If they race building the index either one is kept.
+    private volatile @Nullable CullingIndex cullingIndex;
 
     private boolean isVisible;
     private HasGeometryContext geometryContext;
@@ -77,11 +83,36 @@ public abstract class CommonRenderableContainerNode extends BaseContainerNode<SV
 
     @Override
     public void render(@NotNull RenderContext context, @NotNull Output output) {
-        for (SVGNode child : children()) {
+        List<? extends @NotNull SVGNode> children = children();
+        if (children.size() >= CullingIndex.MIN_CHILD_COUNT) {
+            Rectangle2D area = CullingIndex.cullingArea(output);
+            if (area != null) {
+                cullingIndex(context).render(context, output, area);
+                return;
+            }
+        }
+        for (SVGNode child : children) {
             NodeRenderer.renderNode(child, context, output);
         }
     }
 
+    @Override
+    public @Nullable Rectangle2D cullingBounds(@NotNull RenderContext context) {
+        if (filter() != null) return null;
+        Rectangle2D bounds = cullingIndex(context).bounds();
+        if (bounds == null) return null;
+        return transformShape(bounds, context.measureContext()).getBounds2D();
+    }
+
+    private @NotNull CullingIndex cullingIndex(@NotNull RenderContext context) {
+        CullingIndex index = cullingIndex;
+        if (index == null || !index.isValidFor(context)) {
+            index = CullingIndex.create(children(), context);
+            cullingIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public boolean isVisible(@NotNull RenderContext context) {
         return isVisible;
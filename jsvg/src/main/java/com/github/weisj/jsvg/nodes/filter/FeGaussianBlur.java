@@ -57,10 +57,8 @@ public final class FeGaussianBlur extends AbstractFilterPrimitive {
     private float[] stdDeviation;
     private EdgeMode edgeMode;
 
-    private double xCurrent;
-    private double yCurrent;
-    private Kernel xBlur;
-    private Kernel yBlur;
+    private CachedKernel xBlur;
+    private CachedKernel yBlur;
     private boolean onlyAlpha;
 
     @Override
@@ -141,24 +139,21 @@ public final class FeGaussianBlur extends AbstractFilterPrimitive {
 
 
     private @NotNull Kernel createConvolveKernel(int diameter, double sigma, boolean horizontal) {
-        if (horizontal && xBlur != null && xCurrent == sigma) return xBlur;
-        if (!horizontal && yBlur != null && yCurrent == sigma) return yBlur;
-
-        if (horizontal) {
-            xCurrent = sigma;
-        } else {
-            yCurrent = sigma;
-        }
+        // The filter may be applied on multiple threads. Hence, the kernel is cached together with its sigma.
+        CachedKernel cached = horizontal ? xBlur : yBlur;
+        if (cached != null && cached.sigma == sigma) return cached.kernel;
 
         float[] data = computeGaussianKernelData(diameter, sigma);
+        Kernel kernel = horizontal
+                ? new Kernel(diameter, 1, data)
+                : new Kernel(1, diameter, data);
 
         if (horizontal) {
-            xBlur = new Kernel(diameter, 1, data);
+            xBlur = new CachedKernel(sigma, kernel);
         } else {
-            yBlur = new Kernel(1, diameter, data);
+            yBlur = new CachedKernel(sigma, kernel);
         }
-
-        return horizontal ? xBlur : yBlur;
+        return kernel;
     }
 
     private static float normalConvolve(float x, double standardDeviation) {
@@ -277,4 +272,14 @@ public final class FeGaussianBlur extends AbstractFilterPrimitive {
             }
         }
     }
+
+    private static final class CachedKernel {
+        private final double sigma;
+        private final @NotNull Kernel kernel;
+
+        private CachedKernel(double sigma, @NotNull Kernel kernel) {
+            this.sigma = sigma;
+            this.kernel = kernel;
+        }
+    }
 }
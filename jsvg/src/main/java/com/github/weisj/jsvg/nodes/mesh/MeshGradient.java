@@ -94,22 +94,23 @@ public final class MeshGradient extends ContainerNode implements SVGPaint {
     @Override
     public void fillShape(@NotNull Output output, @NotNull RenderContext context, @NotNull Shape shape,
             @Nullable Rectangle2D bounds) {
-        Output.SafeState safeState = output.safeState();
+        // Shapes may render directly into the output of their parent, which must not be clipped.
+        Output clippedOutput = output.createChild();
         Rectangle2D b = bounds != null ? bounds : shape.getBounds2D();
-        output.setClip(shape);
-        output.translate(b.getX(), b.getY());
-        renderMesh(context.measureContext(), output);
-        safeState.restore();
+        clippedOutput.setClip(shape);
+        clippedOutput.translate(b.getX(), b.getY());
+        renderMesh(context.measureContext(), clippedOutput);
+        clippedOutput.dispose();
     }
 
     @Override
     public void drawShape(@NotNull Output output, @NotNull RenderContext context, @NotNull Shape shape,
             @Nullable Rectangle2D bounds) {
-        Output.SafeState safeState = output.safeState();
+        Output clippedOutput = output.createChild();
         Rectangle2D b = bounds != null ? bounds : shape.getBounds2D();
-        output.setClip(output.stroke().createStrokedShape(shape));
-        output.translate(b.getX(), b.getY());
-        renderMesh(context.measureContext(), output);
-        safeState.restore();
+        clippedOutput.setClip(output.stroke().createStrokedShape(shape));
+        clippedOutput.translate(b.getX(), b.getY());
+        renderMesh(context.measureContext(), clippedOutput);
+        clippedOutput.dispose();
     }
 }
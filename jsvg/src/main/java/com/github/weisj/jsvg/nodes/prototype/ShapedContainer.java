@@ -25,6 +25,7 @@ import java.awt.*;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import com.github.weisj.jsvg.renderer.NodeRenderer;
@@ -36,7 +37,7 @@ public interface ShapedContainer<E> extends Container<E>, HasShape {
     default @NotNull Shape untransformedElementShape(@NotNull RenderContext context) {
         Path2D shape = new Path2D.Float();
         for (E child : children()) {
-            if (!(child instanceof HasShape)) continue;
+            if (!(child instanceof HasShape) || !isPaintedDirectly(child)) continue;
             RenderContext childContext = NodeRenderer.setupRenderContext(child, context);
             Shape childShape = ((HasShape) child).elementShape(childContext);
             shape.append(childShape, false);
@@ -48,7 +49,7 @@ public interface ShapedContainer<E> extends Container<E>, HasShape {
     default @NotNull Rectangle2D untransformedElementBounds(@NotNull RenderContext context, Box box) {
         Rectangle2D bounds = null;
         for (E child : children()) {
-            if (!(child instanceof HasShape)) continue;
+            if (!(child instanceof HasShape) || !isPaintedDirectly(child)) continue;
             RenderContext childContext = NodeRenderer.setupRenderContext(child, context);
             Rectangle2D childBounds = ((HasShape) child).elementBounds(childContext, box);
             if (childBounds.isEmpty()) continue;
@@ -61,4 +62,11 @@ public interface ShapedContainer<E> extends Container<E>, HasShape {
         if (bounds == null) return new Rectangle2D.Float(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, 0, 0);
         return bounds;
     }
+
+    @ApiStatus.Internal
+    default boolean isPaintedDirectly(@NotNull E child) {
+        // Definitions like symbols only contribute to the shape where they are instantiated.
+        // Note: With LoaderContext#lazyNodeBuilding they might not have been built at all.
+        return child instanceof Renderable && !((Renderable) child).requiresInstantiation();
+    }
 }
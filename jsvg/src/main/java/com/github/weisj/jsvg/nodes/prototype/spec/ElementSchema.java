@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.nodes.prototype.spec;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Precomputed view of the {@link PermittedContent} and {@link ElementCategories} annotations of a node class.
+ * <p>
+ * Reading annotations reflectively is comparatively expensive and happens for every parsed element. The schema
+ * is computed once per class and categories are stored as bitsets, which turns the content checks into a couple
+ * of mask operations.
+ */
+@ApiStatus.Internal
+public final class ElementSchema {
+    private static final ClassValue<ElementSchema> SCHEMAS = new ClassValue<ElementSchema>() {
+        @Override
+        protected ElementSchema computeValue(@NotNull Class<?> type) {
+            return new ElementSchema(type);
+        }
+    };
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+
+    private final boolean hasPermittedContent;
+    private final boolean permitsAnyContent;
+    private final boolean permitsCharData;
+    private final int permittedCategories;
+    private final int excludedCategories;
+    private final Class<?>[] permittedTypes;
+
+    private final boolean hasCategories;
+    private final int categories;
+
+    private ElementSchema(@NotNull Class<?> type) {
+        PermittedContent permittedContent = type.getAnnotation(PermittedContent.class);
+        hasPermittedContent = permittedContent != null;
+        if (permittedContent != null) {
+            permitsAnyContent = permittedContent.any();
+            permitsCharData = permittedContent.charData();
+            int permitted = 0;
+            int excluded = 0;
+            for (Category category : permittedContent.categories()) {
+                if (category.isEffectivelyAllowed()) {
+                    permitted |= mask(category);
+                } else {
+                    excluded |= mask(category);
+                }
+            }
+            permittedCategories = permitted;
+            excludedCategories = excluded;
+            permittedTypes = permittedContent.anyOf();
+        } else {
+            permitsAnyContent = false;
+            permitsCharData = false;
+            permittedCategories = 0;
+            excludedCategories = 0;
+            permittedTypes = NO_TYPES;
+        }
+
+        ElementCategories elementCategories = type.getAnnotation(ElementCategories.class);
+        hasCategories = elementCategories != null;
+        int mask = 0;
+        if (elementCategories != null) {
+            for (Category category : elementCategories.value()) {
+                mask |= mask(category);
+            }
+        }
+        categories = mask;
+    }
+
+    private static int mask(@NotNull Category category) {
+        return 1 << category.ordinal();
+    }
+
+    public static @NotNull ElementSchema of(@NotNull Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    public boolean hasPermittedContent() {
+        return hasPermittedContent;
+    }
+
+    public boolean permitsAnyContent() {
+        return permitsAnyContent;
+    }
+
+    public boolean permitsCharData() {
+        return permitsCharData;
+    }
+
+    public boolean hasCategories() {
+        return hasCategories;
+    }
+
+    public boolean isInCategory(@NotNull Category category) {
+        return (categories & mask(category)) != 0;
+    }
+
+    /**
+     * Whether an element with the given schema belongs to one of the effectively allowed permitted categories.
+     *
+     * @param child the schema of the child element.
+     * @return true if the child is permitted by category.
+     */
+    public boolean permitsCategoriesOf(@NotNull ElementSchema child) {
+        return (permittedCategories & child.categories) != 0;
+    }
+
+    /**
+     * Whether an element with the given schema belongs to a permitted category, which isn't effectively allowed
+     * e.g. because it doesn't carry any meaning in a static context.
+     *
+     * @param child the schema of the child element.
+     * @return true if the child is excluded by category.
+     */
+    public boolean excludesCategoriesOf(@NotNull ElementSchema child) {
+        return (excludedCategories & child.categories) != 0;
+    }
+
+    public boolean permitsType(@NotNull Class<?> type) {
+        for (Class<?> permittedType : permittedTypes) {
+            if (permittedType.isAssignableFrom(type)) return true;
+        }
+        return false;
+    }
+}
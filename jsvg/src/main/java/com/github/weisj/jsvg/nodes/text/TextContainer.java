@@ -115,7 +115,9 @@ abstract class TextContainer extends BaseContainerNode<TextSegment>
     // position.
     protected abstract void cleanUpLocalCursor(@NotNull GlyphCursor current, @NotNull GlyphCursor local);
 
-    protected final void renderSegment(@NotNull GlyphCursor cursor, @NotNull RenderContext context,
+    // The glyph runs of the segments are stored in between preparation and rendering. Synchronize such that
+    // the same text can be rendered from multiple threads.
+    protected final synchronized void renderSegment(@NotNull GlyphCursor cursor, @NotNull RenderContext context,
             @NotNull Output output) {
         prepareSegmentForRendering(cursor, context);
 
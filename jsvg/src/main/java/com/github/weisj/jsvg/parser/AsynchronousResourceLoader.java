@@ -39,7 +39,7 @@ public final class AsynchronousResourceLoader implements ResourceLoader {
     public @NotNull UIFuture<RenderableResource> loadImage(@NotNull URI uri) {
         return new SwingUIFuture<>(() -> {
             try {
-                return ResourceUtil.loadImage(uri);
+                return ResourceUtil.loadImage(uri, true);
             } catch (IOException e) {
                 LOGGER.log(Level.SEVERE, e.getMessage(), e);
                 return null;
@@ -23,11 +23,13 @@ package com.github.weisj.jsvg.parser;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.util.HashMap;
+import java.awt.geom.Path2D;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -42,7 +44,8 @@ import com.github.weisj.jsvg.nodes.ClipPath;
 import com.github.weisj.jsvg.nodes.Mask;
 import com.github.weisj.jsvg.nodes.filter.Filter;
 import com.github.weisj.jsvg.nodes.prototype.spec.Category;
-import com.github.weisj.jsvg.nodes.prototype.spec.ElementCategories;
+import com.github.weisj.jsvg.nodes.prototype.spec.ElementSchema;
+import com.github.weisj.jsvg.parser.css.StyleProperty;
 import com.github.weisj.jsvg.parser.css.StyleSheet;
 
 public final class AttributeNode {
@@ -51,13 +54,18 @@ public final class AttributeNode {
     private static final Length BottomOrRight = new Length(Unit.PERCENTAGE, 100f);
 
     private final @NotNull String tagName;
-    private final @NotNull Map<String, String> attributes;
+    private @NotNull Map<String, String> attributes;
     private final @Nullable AttributeNode parent;
     private final @NotNull ParsedDocument document;
     private final @NotNull List<@NotNull StyleSheet> styleSheets;
 
     private final @NotNull LoadHelper loadHelper;
 
+    // Path data of the "d" attribute, which has already been parsed ahead of time.
+    private @Nullable Path2D precompiledPathData;
+    // Style sheet rules with combinators matching this element. See StyleResolver.
+    private @Nullable List<StyleResolver.@NotNull MatchedRule> matchedCombinatorRules;
+
     public AttributeNode(@NotNull String tagName, @NotNull Map<String, String> attributes,
             @Nullable AttributeNode parent,
             @NotNull ParsedDocument document,
@@ -72,42 +80,98 @@ public final class AttributeNode {
     }
 
     public @NotNull AttributeNode copy() {
-        return new AttributeNode(tagName, new HashMap<>(attributes), parent, document, styleSheets, loadHelper);
+        AttributeNode copy = new AttributeNode(tagName, new CompactAttributeMap(attributes), parent, document,
+                styleSheets, loadHelper);
+        copy.precompiledPathData = precompiledPathData;
+        copy.matchedCombinatorRules = matchedCombinatorRules;
+        return copy;
     }
 
     void prepareForNodeBuilding(@NotNull ParsedElement parsedElement) {
-        Map<String, String> styleSheetAttributes = new HashMap<>();
+        // Note: Doesn't allocate any storage unless there actually are style attributes.
+        Map<String, String> styleSheetAttributes = new CompactAttributeMap(0);
 
         // First process the inline styles. They have the highest priority.
         preprocessAttributes(attributes, styleSheetAttributes);
 
-        List<StyleSheet> sheets = styleSheets();
-        // Traverse the style sheets in backwards order to only use the newest definition.
-        // FIXME: Only use the newest *valid* definition of a property value.
-        for (int i = sheets.size() - 1; i >= 0; i--) {
-            StyleSheet sheet = sheets.get(i);
-            sheet.forEachMatchingRule(parsedElement, p -> {
-                if (!styleSheetAttributes.containsKey(p.name())) {
-                    styleSheetAttributes.put(p.name(), p.value());
-                }
-            });
+        StyleResolver styleResolver = document.styleResolver();
+        if (styleResolver != null) {
+            styleResolver.resolveDeclarations(parsedElement, styleSheetAttributes);
+        } else {
+            List<StyleSheet> sheets = styleSheets();
+            // Traverse the style sheets in backwards order to only use the newest definition.
+            // FIXME: Only use the newest *valid* definition of a property value.
+            for (int i = sheets.size() - 1; i >= 0; i--) {
+                StyleSheet sheet = sheets.get(i);
+                sheet.forEachMatchingRule(parsedElement, p -> {
+                    if (!styleSheetAttributes.containsKey(p.name())) {
+                        styleSheetAttributes.put(p.name(), p.value());
+                    }
+                });
+            }
+        }
+        if (!styleSheetAttributes.isEmpty()) attributes.putAll(styleSheetAttributes);
+    }
+
+    /*
+     * Whether building the node may resolve other elements through the ElementLoader.
+     * This is intentionally conservative and mirrors what DefaultElementLoader accepts as a reference.
+     */
+    boolean mayReferenceOtherElements() {
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
+            String key = entry.getKey();
+            if ("href".equals(key) || "xlink:href".equals(key)) return true;
+            if (isPotentialReference(entry.getValue())) return true;
         }
-        attributes.putAll(styleSheetAttributes);
+        return false;
+    }
+
+    private boolean isPotentialReference(@NotNull String value) {
+        if (value.contains("url(")) return true;
+        int hashIndex = value.indexOf('#');
+        // Reference into an external document.
+        if (hashIndex > 0) return true;
+        // Paints etc. also accept plain ids e.g. fill="#id" or fill="id".
+        String id = hashIndex == 0 ? value.substring(1) : value;
+        return document.hasElementWithId(id.trim());
+    }
+
+    void releaseAttributes() {
+        attributes = Collections.emptyMap();
+        precompiledPathData = null;
+        matchedCombinatorRules = null;
+    }
+
+    void setMatchedCombinatorRules(@Nullable List<StyleResolver.@NotNull MatchedRule> matchedCombinatorRules) {
+        this.matchedCombinatorRules = matchedCombinatorRules;
+    }
+
+    @Nullable
+    List<StyleResolver.@NotNull MatchedRule> matchedCombinatorRules() {
+        return matchedCombinatorRules;
+    }
+
+    void setPrecompiledPathData(@Nullable Path2D pathData) {
+        this.precompiledPathData = pathData;
     }
 
-    private static boolean isBlank(@NotNull String s) {
-        return s.trim().isEmpty();
+    /**
+     * The already parsed value of the "d" attribute if the document has been loaded by {@link BinarySVGLoader}.
+     * Note: Nodes are the only owner of the returned path and hence may modify it.
+     *
+     * @return the path data or null if the "d" attribute has to be parsed.
+     */
+    @ApiStatus.Internal
+    public @Nullable Path2D precompiledPathData() {
+        return precompiledPathData;
     }
 
-    private static void preprocessAttributes(@NotNull Map<String, String> attributes,
+    private void preprocessAttributes(@NotNull Map<String, String> attributes,
             @NotNull Map<String, String> styleAttributes) {
         String styleStr = attributes.get("style");
-        if (styleStr != null && !isBlank(styleStr)) {
-            String[] styles = styleStr.split(";");
-            for (String style : styles) {
-                if (isBlank(style)) continue;
-                String[] styleDef = style.split(":", 2);
-                styleAttributes.put(styleDef[0].trim().toLowerCase(Locale.ENGLISH), styleDef[1].trim());
+        if (styleStr != null && !styleStr.isEmpty()) {
+            for (StyleProperty declaration : document.inlineStyleCache().declarations(styleStr)) {
+                styleAttributes.put(declaration.name(), declaration.value());
             }
         }
     }
@@ -135,10 +199,7 @@ public final class AttributeNode {
             @Nullable String value) {
         T element = getElementByHref(type, value);
         if (element == null) return null;
-        for (Category cat : element.getClass().getAnnotation(ElementCategories.class).value()) {
-            if (cat == category) return element;
-        }
-        return null;
+        return ElementSchema.of(element.getClass()).isInCategory(category) ? element : null;
     }
 
     public @NotNull Map<String, String> attributes() {
@@ -172,7 +233,8 @@ public final class AttributeNode {
     public @Nullable Color getColor(@NotNull String key, @Nullable Color fallback) {
         String value = getValue(key);
         if (value == null) return fallback;
-        Color c = loadHelper.attributeParser().paintParser().parseColor(value.toLowerCase(Locale.ENGLISH), this);
+        AttributeParser parser = loadHelper.attributeParser();
+        Color c = parser.intern(parser.paintParser().parseColor(value.toLowerCase(Locale.ENGLISH), this));
         return c != null ? c : fallback;
     }
 
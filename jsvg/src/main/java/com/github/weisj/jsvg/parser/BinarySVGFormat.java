@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.awt.geom.PathIterator;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Layout of the binary document format written by {@link BinarySVGWriter} and read by {@link BinarySVGLoader}.
+ * <pre>
+ * document := MAGIC:int VERSION:byte strings TOKEN_ELEMENT element
+ * strings  := count:varint (length:varint utf8-bytes)*
+ * element  := tag:string attributeCount:varint (name:string value:string)* pathData content* TOKEN_END
+ * pathData := 0 | 1 segmentCount:varint segmentType:byte* coordinateCount:varint float*
+ * content  := TOKEN_ELEMENT element | TOKEN_TEXT text:string
+ * </pre>
+ * Strings are referenced by their index into the string table.
+ */
+final class BinarySVGFormat {
+    static final int MAGIC = 0x4A535642; // "JSVB"
+    static final int VERSION = 1;
+
+    static final byte TOKEN_END = 0;
+    static final byte TOKEN_ELEMENT = 1;
+    static final byte TOKEN_TEXT = 2;
+
+    private BinarySVGFormat() {}
+
+    static int coordinateCount(int segmentType) {
+        switch (segmentType) {
+            case PathIterator.SEG_MOVETO:
+            case PathIterator.SEG_LINETO:
+                return 2;
+            case PathIterator.SEG_QUADTO:
+                return 4;
+            case PathIterator.SEG_CUBICTO:
+                return 6;
+            case PathIterator.SEG_CLOSE:
+                return 0;
+            default:
+                throw new IllegalArgumentException("Unknown segment type " + segmentType);
+        }
+    }
+
+    static void writeVarInt(@NotNull DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(@NotNull DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
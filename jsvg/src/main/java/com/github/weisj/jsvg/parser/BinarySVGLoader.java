@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.util.PathUtil;
+
+/**
+ * Loads documents written by {@link BinarySVGWriter}.
+ * Note that this class isn't guaranteed to be thread safe and hence shouldn't be used across multiple threads.
+ */
+@ApiStatus.Experimental
+public final class BinarySVGLoader {
+    private static final Logger LOGGER = Logger.getLogger(BinarySVGLoader.class.getName());
+    private final @NotNull NodeSupplier nodeSupplier;
+
+    public BinarySVGLoader() {
+        this(new NodeSupplier());
+    }
+
+    public BinarySVGLoader(@NotNull NodeSupplier nodeSupplier) {
+        this.nodeSupplier = nodeSupplier;
+    }
+
+    /**
+     * Load a binary SVG document from the given input stream.
+     *
+     * @param inputStream the input stream to read the binary document from
+     * @param xmlBase The uri of the original document. This is used to resolve external documents (if enabled).
+     * @param loaderContext The loader context to use for loading the document.
+     * @return The loaded SVG document or null if an error occurred.
+     */
+    public @Nullable SVGDocument load(@NotNull InputStream inputStream, @Nullable URI xmlBase,
+            @NotNull LoaderContext loaderContext) {
+        try (DataInputStream in = new DataInputStream(inMemoryStream(inputStream))) {
+            return read(in, xmlBase, loaderContext);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not load binary SVG ", e);
+        }
+        return null;
+    }
+
+    /*
+     * Counts read from the stream are validated against the number of remaining bytes before anything is allocated
+     * for them. This requires an accurate value for InputStream#available, hence the document is read into memory
+     * unless it already resides there.
+     */
+    private static @NotNull InputStream inMemoryStream(@NotNull InputStream inputStream) throws IOException {
+        if (inputStream instanceof ByteArrayInputStream || inputStream instanceof ByteBufferInputStream) {
+            return inputStream;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = inputStream) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static int readCount(@NotNull DataInputStream in, int minBytesPerEntry) throws IOException {
+        int count = BinarySVGFormat.readVarInt(in);
+        if (count < 0 || count > in.available() / minBytesPerEntry) {
+            throw new IOException("Count " + count + " exceeds the remaining document size");
+        }
+        return count;
+    }
+
+    private @NotNull SVGDocument read(@NotNull DataInputStream in, @Nullable URI xmlBase,
+            @NotNull LoaderContext loaderContext) throws IOException {
+        if (in.readInt() != BinarySVGFormat.MAGIC) throw new IOException("Not a binary svg document");
+        int version = in.readUnsignedByte();
+        if (version != BinarySVGFormat.VERSION) throw new IOException("Unsupported format version " + version);
+
+        // Every string is prefixed by its length, hence takes up at least one byte.
+        String[] strings = new String[readCount(in, 1)];
+        byte[] buffer = new byte[64];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readCount(in, 1);
+            if (length > buffer.length) buffer = new byte[Math.max(length, 2 * buffer.length)];
+            in.readFully(buffer, 0, length);
+            strings[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+
+        SVGDocumentBuilder builder = new SVGDocumentBuilder(xmlBase, loaderContext, nodeSupplier);
+        builder.startDocument();
+        if (in.readByte() != BinarySVGFormat.TOKEN_ELEMENT) throw new IOException("Missing root element");
+        readElement(in, strings, builder, false);
+        builder.endDocument();
+        return builder.build();
+    }
+
+    private static void readElement(@NotNull DataInputStream in, @NotNull String @NotNull [] strings,
+            @NotNull SVGDocumentBuilder builder, boolean skip) throws IOException {
+        String tagName = strings[BinarySVGFormat.readVarInt(in)];
+        // An attribute consists of two string indices.
+        int attributeCount = readCount(in, 2);
+        CompactAttributeMap attributes = new CompactAttributeMap(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            String name = strings[BinarySVGFormat.readVarInt(in)];
+            String value = strings[BinarySVGFormat.readVarInt(in)];
+            attributes.put(name, value);
+        }
+        Path2D pathData = in.readByte() != 0 ? readPathData(in) : null;
+
+        // Elements unknown to the node supplier are skipped together with their content.
+        boolean started = !skip && builder.startElement(tagName, attributes);
+        if (started && pathData != null) {
+            ParsedElement element = builder.currentElement();
+            if (element != null) element.attributeNode().setPrecompiledPathData(pathData);
+        }
+
+        while (true) {
+            byte token = in.readByte();
+            switch (token) {
+                case BinarySVGFormat.TOKEN_END:
+                    if (started) builder.endElement(tagName);
+                    return;
+                case BinarySVGFormat.TOKEN_ELEMENT:
+                    readElement(in, strings, builder, !started);
+                    break;
+                case BinarySVGFormat.TOKEN_TEXT:
+                    String text = strings[BinarySVGFormat.readVarInt(in)];
+                    if (started) builder.addTextContent(text.toCharArray(), 0, text.length());
+                    break;
+                default:
+                    throw new IOException("Unexpected token " + token);
+            }
+        }
+    }
+
+    private static @NotNull Path2D readPathData(@NotNull DataInputStream in) throws IOException {
+        int segmentCount = readCount(in, 1);
+        byte[] segmentTypes = new byte[segmentCount];
+        in.readFully(segmentTypes);
+        int coordinateCount = BinarySVGFormat.readVarInt(in);
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, segmentCount);
+        int readCoordinates = 0;
+        for (byte type : segmentTypes) {
+            readCoordinates += BinarySVGFormat.coordinateCount(type);
+            if (readCoordinates > coordinateCount) throw new IOException("Malformed path data");
+            switch (type) {
+                case PathIterator.SEG_MOVETO:
+                    path.moveTo(in.readFloat(), in.readFloat());
+                    break;
+                case PathIterator.SEG_LINETO:
+                    path.lineTo(in.readFloat(), in.readFloat());
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    path.quadTo(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    path.curveTo(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(),
+                            in.readFloat(), in.readFloat());
+                    break;
+                default:
+                    path.closePath();
+                    break;
+            }
+        }
+        if (readCoordinates != coordinateCount) throw new IOException("Malformed path data");
+        PathUtil.trimPathToSize(path);
+        return path;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.awt.geom.IllegalPathStateException;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.geometry.path.PathParser;
+import com.github.weisj.jsvg.nodes.Path;
+import com.github.weisj.jsvg.nodes.Style;
+
+/**
+ * Writes svg documents in a binary format, which can be loaded by {@link BinarySVGLoader} without any XML or CSS
+ * parsing. Style sheets and inline styles are applied ahead of time and path data is stored pre-parsed.
+ * <p>
+ * Note that the {@link DomProcessor}s of the {@link ParserProvider} aren't run when writing the document. They are
+ * run when the document is loaded.
+ */
+@ApiStatus.Experimental
+public final class BinarySVGWriter {
+    private final @NotNull StaxSVGLoader loader;
+    private final @NotNull NodeSupplier nodeSupplier;
+
+    public BinarySVGWriter() {
+        this(new NodeSupplier());
+    }
+
+    public BinarySVGWriter(@NotNull NodeSupplier nodeSupplier) {
+        this.nodeSupplier = nodeSupplier;
+        this.loader = new StaxSVGLoader(nodeSupplier);
+    }
+
+    /**
+     * Parse the svg document from the given input stream and write it in the binary format.
+     *
+     * @param inputStream the input stream to read the SVG document from.
+     * @param xmlBase The uri of the document. This is used to resolve external style sheets.
+     * @param loaderContext The loader context to use for parsing the document.
+     * @param outputStream the output stream to write the binary document to.
+     * @throws IOException if reading or writing fails.
+     * @throws XMLStreamException if the document isn't well-formed.
+     */
+    public void write(@NotNull InputStream inputStream, @Nullable URI xmlBase, @NotNull LoaderContext loaderContext,
+            @NotNull OutputStream outputStream) throws IOException, XMLStreamException {
+        InputStream documentStream = SVGLoader.createDocumentInputStream(inputStream);
+        if (documentStream == null) throw new IOException("Could not read document");
+
+        SVGDocumentBuilder builder = new SVGDocumentBuilder(xmlBase, loaderContext, nodeSupplier);
+        builder.recordContent();
+        if (loader.parse(documentStream, builder) == null) throw new IOException("Could not parse document");
+        builder.applyStyleSheets();
+        ParsedElement root = builder.rootElement();
+        if (root == null) throw new IOException("Document is empty");
+
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        writeElement(bodyOut, root, strings);
+        bodyOut.flush();
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(BinarySVGFormat.MAGIC);
+        out.writeByte(BinarySVGFormat.VERSION);
+        strings.write(out);
+        body.writeTo(out);
+        out.flush();
+    }
+
+    private static void writeElement(@NotNull DataOutputStream out, @NotNull ParsedElement element,
+            @NotNull StringTable strings) throws IOException {
+        AttributeNode attributeNode = element.attributeNode();
+        Map<String, String> attributes = attributeNode.attributes();
+
+        Path2D pathData = null;
+        if (element.node() instanceof Path) {
+            String d = attributes.get("d");
+            if (d != null) pathData = parsePathData(d);
+        }
+
+        out.writeByte(BinarySVGFormat.TOKEN_ELEMENT);
+        BinarySVGFormat.writeVarInt(out, strings.indexOf(attributeNode.tagName()));
+        int attributeCount = 0;
+        for (String name : attributes.keySet()) {
+            if (isWrittenAttribute(name, pathData)) attributeCount++;
+        }
+        BinarySVGFormat.writeVarInt(out, attributeCount);
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
+            if (!isWrittenAttribute(entry.getKey(), pathData)) continue;
+            BinarySVGFormat.writeVarInt(out, strings.indexOf(entry.getKey()));
+            BinarySVGFormat.writeVarInt(out, strings.indexOf(entry.getValue()));
+        }
+        writePathData(out, pathData);
+
+        for (Object content : element.recordedContent()) {
+            if (content instanceof ParsedElement) {
+                ParsedElement child = (ParsedElement) content;
+                // Style sheets have already been applied to all elements.
+                if (child.node() instanceof Style) continue;
+                writeElement(out, child, strings);
+            } else {
+                out.writeByte(BinarySVGFormat.TOKEN_TEXT);
+                BinarySVGFormat.writeVarInt(out, strings.indexOf((String) content));
+            }
+        }
+        out.writeByte(BinarySVGFormat.TOKEN_END);
+    }
+
+    private static boolean isWrittenAttribute(@NotNull String name, @Nullable Path2D pathData) {
+        // Inline styles have already been merged into the attributes.
+        if ("style".equals(name)) return false;
+        return pathData == null || !"d".equals(name);
+    }
+
+    private static @Nullable Path2D parsePathData(@NotNull String data) {
+        Path2D path = new Path2D.Float();
+        try {
+            new PathParser(data).parsePathInto(path);
+        } catch (IllegalPathStateException e) {
+            // Keep the raw value. The error is reported once the document is loaded.
+            return null;
+        }
+        return path;
+    }
+
+    private static void writePathData(@NotNull DataOutputStream out, @Nullable Path2D pathData) throws IOException {
+        if (pathData == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        ByteArrayOutputStream segmentTypes = new ByteArrayOutputStream();
+        ByteArrayOutputStream coordinates = new ByteArrayOutputStream();
+        DataOutputStream coordinatesOut = new DataOutputStream(coordinates);
+        int coordinateCount = 0;
+        float[] segment = new float[6];
+        for (PathIterator it = pathData.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(segment);
+            segmentTypes.write(type);
+            int n = BinarySVGFormat.coordinateCount(type);
+            for (int i = 0; i < n; i++) {
+                coordinatesOut.writeFloat(segment[i]);
+            }
+            coordinateCount += n;
+        }
+        BinarySVGFormat.writeVarInt(out, segmentTypes.size());
+        segmentTypes.writeTo(out);
+        BinarySVGFormat.writeVarInt(out, coordinateCount);
+        coordinates.writeTo(out);
+    }
+
+    private static final class StringTable {
+        private final @NotNull Map<String, Integer> indices = new HashMap<>();
+        private final @NotNull List<String> strings = new ArrayList<>();
+
+        int indexOf(@NotNull String s) {
+            Integer index = indices.get(s);
+            if (index != null) return index;
+            int newIndex = strings.size();
+            strings.add(s);
+            indices.put(s, newIndex);
+            return newIndex;
+        }
+
+        void write(@NotNull DataOutputStream out) throws IOException {
+            BinarySVGFormat.writeVarInt(out, strings.size());
+            for (String s : strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                BinarySVGFormat.writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.util.*;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A compact map for element attributes. Keys and values are stored in parallel arrays and looked up linearly, which
+ * for the handful of attributes an element usually has is both smaller and faster than a {@link HashMap}.
+ * <p>
+ * Attribute names are deduplicated through a small fixed size cache, so elements mostly share the same name instances
+ * and lookups with previously seen keys succeed on the identity check.
+ */
+final class CompactAttributeMap extends AbstractMap<String, String> {
+    private static final int DEFAULT_CAPACITY = 4;
+    // Must be a power of two.
+    private static final int NAME_CACHE_SIZE = 1024;
+    // Direct mapped: a name evicts whichever name previously occupied its slot. This bounds the memory retained
+    // from documents and keeps frequent names cached. Races only lose a cache entry, as strings are immutable.
+    private static final @Nullable String[] NAME_CACHE = new String[NAME_CACHE_SIZE];
+    private static final String[] EMPTY = new String[0];
+
+    private @NotNull String[] keys;
+    private @NotNull String[] values;
+    private int size;
+
+    CompactAttributeMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    CompactAttributeMap(int initialCapacity) {
+        if (initialCapacity == 0) {
+            keys = EMPTY;
+            values = EMPTY;
+        } else {
+            keys = new String[initialCapacity];
+            values = new String[initialCapacity];
+        }
+    }
+
+    CompactAttributeMap(@NotNull Map<String, String> attributes) {
+        this(attributes.size());
+        if (attributes instanceof CompactAttributeMap) {
+            CompactAttributeMap other = (CompactAttributeMap) attributes;
+            System.arraycopy(other.keys, 0, keys, 0, other.size);
+            System.arraycopy(other.values, 0, values, 0, other.size);
+            size = other.size;
+        } else {
+            putAll(attributes);
+        }
+    }
+
+    static @NotNull String internName(@NotNull String name) {
+        int hash = name.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+        String cached = NAME_CACHE[slot];
+        if (cached != null && cached.equals(name)) return cached;
+        NAME_CACHE[slot] = name;
+        return name;
+    }
+
+    private int indexOf(@Nullable Object key) {
+        if (!(key instanceof String)) return -1;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) return i;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public @Nullable String get(@Nullable Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public @Nullable String put(@NotNull String key, @NotNull String value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            String old = values[index];
+            values[index] = value;
+            return old;
+        }
+        if (size == keys.length) {
+            int newCapacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1) + 1);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        keys[size] = internName(key);
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends String, ? extends String> m) {
+        if (m instanceof CompactAttributeMap) {
+            CompactAttributeMap other = (CompactAttributeMap) m;
+            for (int i = 0; i < other.size; i++) {
+                put(other.keys[i], other.values[i]);
+            }
+        } else {
+            super.putAll(m);
+        }
+    }
+
+    @Override
+    public @Nullable String remove(@Nullable Object key) {
+        int index = indexOf(key);
+        if (index < 0) return null;
+        String old = values[index];
+        removeAt(index);
+        return old;
+    }
+
+    private void removeAt(int index) {
+        int tail = size - index - 1;
+        if (tail > 0) {
+            System.arraycopy(keys, index + 1, keys, index, tail);
+            System.arraycopy(values, index + 1, values, index, tail);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    @Override
+    public void clear() {
+        keys = EMPTY;
+        values = EMPTY;
+        size = 0;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, String>> entrySet() {
+        return new EntrySet();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public @NotNull Iterator<Entry<String, String>> iterator() {
+            return new Iterator<Entry<String, String>>() {
+                private int index = 0;
+                private int lastIndex = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    if (index >= size) throw new NoSuchElementException();
+                    lastIndex = index++;
+                    return new AttributeEntry(lastIndex);
+                }
+
+                @Override
+                public void remove() {
+                    if (lastIndex < 0) throw new IllegalStateException();
+                    removeAt(lastIndex);
+                    index = lastIndex;
+                    lastIndex = -1;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class AttributeEntry extends SimpleEntry<String, String> {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        private AttributeEntry(int index) {
+            super(keys[index], values[index]);
+            this.index = index;
+        }
+
+        @Override
+        public String setValue(String value) {
+            values[index] = value;
+            return super.setValue(value);
+        }
+    }
+}
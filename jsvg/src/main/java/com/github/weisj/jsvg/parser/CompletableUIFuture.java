@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
+
+/**
+ * A {@link UIFuture} backed by a {@link CompletableFuture}. If the value is requested before the future has
+ * completed the target surface of the platform is repainted once it is available.
+ * <p>
+ * If the future completes exceptionally the value is {@code null}.
+ *
+ * @param <T> the type of the value.
+ */
+public final class CompletableUIFuture<T> implements UIFuture<T> {
+
+    private final @NotNull CompletableFuture<T> future;
+    private final @NotNull Set<PlatformSupport.TargetSurface> surfacesToRepaint = ConcurrentHashMap.newKeySet();
+
+    public CompletableUIFuture(@NotNull CompletableFuture<T> future) {
+        this.future = future;
+    }
+
+    @Override
+    public boolean checkIfReady(@NotNull PlatformSupport platformSupport) {
+        if (future.isDone()) return true;
+        PlatformSupport.TargetSurface targetSurface = platformSupport.targetSurface();
+        // Only register a single repaint callback per surface, as this method is called for every paint.
+        if (targetSurface != null && surfacesToRepaint.add(targetSurface)) {
+            future.whenComplete((value, error) -> targetSurface.repaint());
+        }
+        return false;
+    }
+
+    @Override
+    public @Nullable T get() {
+        if (!future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.join();
+    }
+
+    public @NotNull CompletableFuture<T> future() {
+        return future;
+    }
+}
@@ -33,13 +33,19 @@ class DefaultElementLoader implements ElementLoader {
     private final DocumentLoader documentLoader;
 
     DefaultElementLoader(ExternalDocumentPolicy policy) {
-        documentLoader = createDocumentLoader(policy);
+        this(policy, null);
     }
 
-    private static @NotNull DocumentLoader createDocumentLoader(@Nullable ExternalDocumentPolicy policy) {
+    DefaultElementLoader(ExternalDocumentPolicy policy, @Nullable ExternalDocumentCache cache) {
+        documentLoader = createDocumentLoader(policy, cache);
+    }
+
+    private static @NotNull DocumentLoader createDocumentLoader(@Nullable ExternalDocumentPolicy policy,
+            @Nullable ExternalDocumentCache cache) {
         if (policy == null) return DEFAULT_DOCUMENT_LOADER;
         if (policy == ExternalDocumentPolicy.DENY) return DEFAULT_DOCUMENT_LOADER;
-        return new ExternalDocumentLoader(policy);
+        return new ExternalDocumentLoader(policy,
+                cache != null ? cache : new ExternalDocumentCache(Integer.MAX_VALUE));
     }
 
     @Override
@@ -51,7 +57,8 @@ class DefaultElementLoader implements ElementLoader {
             String[] parts = url.split("#", 2);
             ParsedDocument parsedDocument = documentLoader.resolveDocument(document, parts[0]);
             if (parsedDocument == null) return null;
-            return parsedDocument.getElementById(type, parts[1]);
+            if (parsedDocument == document) return document.getElementById(type, parts[1]);
+            return documentLoader.getElementById(parsedDocument, type, parts[1]);
         }
         return document.getElementById(type, url);
     }
@@ -59,6 +66,11 @@ class DefaultElementLoader implements ElementLoader {
     interface DocumentLoader {
         @Nullable
         ParsedDocument resolveDocument(@NotNull ParsedDocument document, @NotNull String name);
+
+        default <T> @Nullable T getElementById(@NotNull ParsedDocument document, @NotNull Class<T> type,
+                @Nullable String id) {
+            return document.getElementById(type, id);
+        }
     }
 
     private static class DefaultDocumentLoader implements DocumentLoader {
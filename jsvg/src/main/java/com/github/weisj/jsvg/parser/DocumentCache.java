@@ -0,0 +1,456 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.SVGDocument;
+
+/**
+ * A thread safe cache of loaded {@link SVGDocument}s.
+ * <p>
+ * The most recently used documents are held strongly up to the configured maximum size. Documents evicted from
+ * there are optionally kept softly reachable until the garbage collector needs the memory. Concurrent requests for
+ * the same document are deduplicated, such that it is only loaded once.
+ * <p>
+ * Note that the returned documents are shared between all callers.
+ */
+@ApiStatus.Experimental
+public final class DocumentCache {
+    private static final Logger LOGGER = Logger.getLogger(DocumentCache.class.getName());
+
+    /**
+     * Determines how a cached document is checked to still be up-to-date.
+     */
+    public enum Validation {
+        /**
+         * Cached documents are never reloaded unless invalidated explicitly.
+         */
+        NONE,
+        /**
+         * A document is reloaded if the modification time of its resource has changed.
+         * If the modification time isn't known, this behaves like {@link #NONE}.
+         */
+        MODIFICATION_STAMP,
+        /**
+         * A document is reloaded if the content of its resource has changed.
+         * Note: This reads the resource on each request.
+         */
+        CONTENT_HASH
+    }
+
+    private final int maximumSize;
+    private final boolean softReferences;
+    private final @NotNull Validation validation;
+    private final @NotNull LoaderContext loaderContext;
+    private final @NotNull SVGLoader loader = new SVGLoader();
+
+    private final Object lock = new Object();
+    private final @NotNull LinkedHashMap<URI, CachedDocument> entries;
+    private final @NotNull Map<URI, SoftEntry> softEntries = new HashMap<>();
+    private final @NotNull ReferenceQueue<CachedDocument> collectedEntries = new ReferenceQueue<>();
+    private final @NotNull Map<Key, CompletableFuture<SVGDocument>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder softHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private DocumentCache(@NotNull Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.softReferences = builder.softReferences;
+        this.validation = builder.validation;
+        this.loaderContext = builder.loaderContext;
+        this.entries = new LinkedHashMap<URI, CachedDocument>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, CachedDocument> eldest) {
+                if (size() <= maximumSize) return false;
+                evict(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the document for the given uri. If it isn't cached or the cached version is outdated it is loaded.
+     *
+     * @param uri the uri of the document.
+     * @return the document or null if it couldn't be loaded.
+     */
+    public @Nullable SVGDocument get(@NotNull URI uri) {
+        byte[] content = null;
+        Object stamp;
+        switch (validation) {
+            case MODIFICATION_STAMP:
+                stamp = modificationStamp(uri);
+                break;
+            case CONTENT_HASH:
+                content = readContent(uri);
+                if (content == null) {
+                    missCount.increment();
+                    return null;
+                }
+                stamp = contentHash(content);
+                break;
+            default:
+                stamp = 0L;
+                break;
+        }
+
+        SVGDocument document = lookup(uri, stamp);
+        if (document != null) {
+            hitCount.increment();
+            return document;
+        }
+        missCount.increment();
+
+        Key key = new Key(uri, stamp);
+        CompletableFuture<SVGDocument> future = new CompletableFuture<>();
+        CompletableFuture<SVGDocument> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) return existing.join();
+        try {
+            // The document may have been stored while we were checking for in-flight loads.
+            document = lookup(uri, stamp);
+            if (document == null) document = load(uri, content, stamp);
+            future.complete(document);
+            return document;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private @Nullable SVGDocument load(@NotNull URI uri, byte @Nullable [] content, @NotNull Object stamp) {
+        SVGDocument document = content != null
+                ? loader.loadPooled(new ByteArrayInputStream(content), uri, loaderContext)
+                : loader.loadPooled(uri, loaderContext);
+        if (document == null) {
+            loadFailureCount.increment();
+            return null;
+        }
+        loadCount.increment();
+        synchronized (lock) {
+            softEntries.remove(uri);
+            entries.put(uri, new CachedDocument(stamp, document));
+        }
+        return document;
+    }
+
+    private @Nullable SVGDocument lookup(@NotNull URI uri, @NotNull Object stamp) {
+        synchronized (lock) {
+            expungeCollectedEntries();
+            CachedDocument entry = entries.get(uri);
+            if (entry != null) {
+                if (entry.stamp.equals(stamp)) return entry.document;
+                entries.remove(uri);
+                return null;
+            }
+            SoftEntry softEntry = softEntries.remove(uri);
+            entry = softEntry != null ? softEntry.get() : null;
+            if (entry == null || !entry.stamp.equals(stamp)) return null;
+            entries.put(uri, entry);
+            softHitCount.increment();
+            return entry.document;
+        }
+    }
+
+    private void evict(@NotNull URI uri, @NotNull CachedDocument entry) {
+        evictionCount.increment();
+        if (softReferences) softEntries.put(uri, new SoftEntry(uri, entry, collectedEntries));
+    }
+
+    private void expungeCollectedEntries() {
+        SoftEntry collected;
+        while ((collected = (SoftEntry) collectedEntries.poll()) != null) {
+            softEntries.remove(collected.uri, collected);
+        }
+    }
+
+    public void invalidate(@NotNull URI uri) {
+        synchronized (lock) {
+            entries.remove(uri);
+            softEntries.remove(uri);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            entries.clear();
+            softEntries.clear();
+        }
+    }
+
+    /**
+     * @return the number of documents which are held strongly.
+     */
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public @NotNull Statistics statistics() {
+        return new Statistics(hitCount.sum(), softHitCount.sum(), missCount.sum(), loadCount.sum(),
+                loadFailureCount.sum(), evictionCount.sum());
+    }
+
+    private static @NotNull Object modificationStamp(@NotNull URI uri) {
+        try {
+            if ("file".equals(uri.getScheme())) {
+                return Files.getLastModifiedTime(Paths.get(uri)).toMillis();
+            }
+            URLConnection connection = uri.toURL().openConnection();
+            if (connection instanceof HttpURLConnection) {
+                // Only the header fields are of interest. Don't download the document itself.
+                HttpURLConnection httpConnection = (HttpURLConnection) connection;
+                try {
+                    httpConnection.setRequestMethod("HEAD");
+                    return httpConnection.getLastModified();
+                } finally {
+                    httpConnection.disconnect();
+                }
+            }
+            return connection.getLastModified();
+        } catch (IOException | IllegalArgumentException e) {
+            // Unknown modification time. The document will be loaded (and fail) anyway.
+            return 0L;
+        }
+    }
+
+    private static byte @Nullable [] readContent(@NotNull URI uri) {
+        try (InputStream inputStream = uri.toURL().openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not read " + uri, e);
+            return null;
+        }
+    }
+
+    private static @NotNull Object contentHash(byte @NotNull [] content) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedDocument {
+        private final @NotNull Object stamp;
+        private final @NotNull SVGDocument document;
+
+        private CachedDocument(@NotNull Object stamp, @NotNull SVGDocument document) {
+            this.stamp = stamp;
+            this.document = document;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<CachedDocument> {
+        private final @NotNull URI uri;
+
+        private SoftEntry(@NotNull URI uri, @NotNull CachedDocument entry,
+                @NotNull ReferenceQueue<CachedDocument> queue) {
+            super(entry, queue);
+            this.uri = uri;
+        }
+    }
+
+    private static final class Key {
+        private final @NotNull URI uri;
+        private final @NotNull Object stamp;
+
+        private Key(@NotNull URI uri, @NotNull Object stamp) {
+            this.uri = uri;
+            this.stamp = stamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return uri.equals(key.uri) && stamp.equals(key.stamp);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, stamp);
+        }
+    }
+
+    public static final class Statistics {
+        private final long hitCount;
+        private final long softHitCount;
+        private final long missCount;
+        private final long loadCount;
+        private final long loadFailureCount;
+        private final long evictionCount;
+
+        private Statistics(long hitCount, long softHitCount, long missCount, long loadCount, long loadFailureCount,
+                long evictionCount) {
+            this.hitCount = hitCount;
+            this.softHitCount = softHitCount;
+            this.missCount = missCount;
+            this.loadCount = loadCount;
+            this.loadFailureCount = loadFailureCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * @return the number of requests served from the cache, including {@link #softHitCount()}.
+         */
+        public long hitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of requests served by documents which had already been evicted but were still softly
+         *         reachable.
+         */
+        public long softHitCount() {
+            return softHitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of documents actually loaded. Concurrent misses for the same document only count once.
+         */
+        public long loadCount() {
+            return loadCount;
+        }
+
+        public long loadFailureCount() {
+            return loadFailureCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "hitCount=" + hitCount +
+                    ", softHitCount=" + softHitCount +
+                    ", missCount=" + missCount +
+                    ", loadCount=" + loadCount +
+                    ", loadFailureCount=" + loadFailureCount +
+                    ", evictionCount=" + evictionCount +
+                    '}';
+        }
+    }
+
+    public static final class Builder {
+        private int maximumSize = 256;
+        private boolean softReferences = true;
+        private @NotNull Validation validation = Validation.MODIFICATION_STAMP;
+        private @NotNull LoaderContext loaderContext = LoaderContext.createDefault();
+
+        private Builder() {}
+
+        /**
+         * @param maximumSize the maximum number of documents held strongly.
+         * @return this builder.
+         */
+        public @NotNull Builder maximumSize(int maximumSize) {
+            if (maximumSize < 0) throw new IllegalArgumentException("Negative maximum size " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param softReferences whether evicted documents should be kept softly reachable.
+         * @return this builder.
+         */
+        public @NotNull Builder softReferences(boolean softReferences) {
+            this.softReferences = softReferences;
+            return this;
+        }
+
+        public @NotNull Builder validation(@NotNull Validation validation) {
+            this.validation = validation;
+            return this;
+        }
+
+        /**
+         * @param loaderContext the loader context used to load documents. Its {@link ResourceLoader} needs to be
+         *        thread safe.
+         * @return this builder.
+         */
+        public @NotNull Builder loaderContext(@NotNull LoaderContext loaderContext) {
+            this.loaderContext = loaderContext;
+            return this;
+        }
+
+        public @NotNull DocumentCache build() {
+            return new DocumentCache(this);
+        }
+    }
+}
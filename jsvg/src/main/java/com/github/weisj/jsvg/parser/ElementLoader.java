@@ -36,6 +36,18 @@ public interface ElementLoader {
         return new DefaultElementLoader(policy);
     }
 
+    /**
+     * Create an element loader, which shares the given cache of external documents with other loaders.
+     *
+     * @param policy the policy for loading external documents.
+     * @param cache the cache for external documents.
+     * @return the element loader.
+     */
+    @ApiStatus.Experimental
+    static @NotNull ElementLoader create(ExternalDocumentPolicy policy, @NotNull ExternalDocumentCache cache) {
+        return new DefaultElementLoader(policy, cache);
+    }
+
     <T> @Nullable T loadElement(@NotNull Class<T> type, @Nullable String value,
             @NotNull ParsedDocument document, @NotNull AttributeParser attributeParser);
 
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg.parser.resources.RenderableResource;
+import com.github.weisj.jsvg.util.ResourceUtil;
+
+/**
+ * A {@link ResourceLoader}, which loads resources in the background on an {@link Executor}. In contrast to the
+ * {@link AsynchronousResourceLoader} it doesn't depend on Swing and hence can also be used in headless environments.
+ * <p>
+ * Concurrent requests for the same uri share a single load. Once a load has finished the uri will be fetched again
+ * on the next request.
+ */
+@ApiStatus.Experimental
+public final class ExecutorResourceLoader implements ResourceLoader {
+    private static final Logger LOGGER = Logger.getLogger(ExecutorResourceLoader.class.getName());
+
+    private final @NotNull Executor executor;
+    private final @NotNull Map<URI, CompletableFuture<RenderableResource>> pendingLoads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a loader using a shared default executor. On Java 21 and newer each load runs on its own virtual thread.
+     * Otherwise, a bounded pool of daemon threads is used.
+     */
+    public ExecutorResourceLoader() {
+        this(DefaultExecutor.INSTANCE);
+    }
+
+    /**
+     * Creates a loader running loads on the given executor.
+     *
+     * @param executor the executor. It may be shared between multiple loaders.
+     */
+    public ExecutorResourceLoader(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public @NotNull UIFuture<RenderableResource> loadImage(@NotNull URI uri) {
+        CompletableFuture<RenderableResource> pending = pendingLoads.get(uri);
+        if (pending != null) return new CompletableUIFuture<>(pending);
+
+        CompletableFuture<RenderableResource> future = new CompletableFuture<>();
+        pending = pendingLoads.putIfAbsent(uri, future);
+        if (pending != null) return new CompletableUIFuture<>(pending);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(ResourceUtil.loadImage(uri, true));
+                } catch (Throwable e) {
+                    LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                    future.complete(null);
+                } finally {
+                    pendingLoads.remove(uri, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.log(Level.SEVERE, "Could not schedule loading of " + uri, e);
+            pendingLoads.remove(uri, future);
+            future.complete(null);
+        }
+        return new CompletableUIFuture<>(future);
+    }
+
+    private static final class DefaultExecutor {
+        private static final Executor INSTANCE = createExecutor();
+
+        private static @NotNull Executor createExecutor() {
+            try {
+                // Java 21+. Loading resources is mostly blocking I/O, which is a good fit for virtual threads.
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) factory.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+                AtomicInteger threadCount = new AtomicInteger();
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), r -> {
+                            Thread thread = new Thread(r, "jsvg-resource-loader-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                pool.allowCoreThreadTimeOut(true);
+                return pool;
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of external documents referenced by loaded documents, see {@link ElementLoader.ExternalDocumentPolicy}.
+ * The cache is thread safe and can be shared by multiple element loaders using
+ * {@link ElementLoader#create(ElementLoader.ExternalDocumentPolicy, ExternalDocumentCache)}. This way an external
+ * document referenced by many documents, e.g. a sprite sheet, is only parsed once.
+ * <p>
+ * Note: External documents are parsed using the {@link LoaderContext} of the document which first referenced them.
+ */
+@ApiStatus.Experimental
+public final class ExternalDocumentCache {
+    private final int maximumSize;
+    private final @NotNull Map<URI, ParsedDocument> documents;
+    private final @NotNull Map<URI, CompletableFuture<ParsedDocument>> inFlight = new ConcurrentHashMap<>();
+    // Documents which are currently being loaded by the current thread.
+    private final @NotNull ThreadLocal<Set<URI>> loadingDocuments = ThreadLocal.withInitial(HashSet::new);
+    // Elements of external documents are built on demand. Building isn't thread safe, hence resolving elements
+    // of cached documents is guarded by a single lock. Using a single lock avoids deadlocks between documents
+    // referencing each other.
+    private final @NotNull Object resolutionLock = new Object();
+
+    /**
+     * @param maximumSize the maximum number of documents to keep. If exceeded the least recently used document
+     *        is evicted.
+     */
+    public ExternalDocumentCache(int maximumSize) {
+        if (maximumSize < 0) throw new IllegalArgumentException("Negative maximum size " + maximumSize);
+        this.maximumSize = maximumSize;
+        this.documents = new LinkedHashMap<URI, ParsedDocument>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, ParsedDocument> eldest) {
+                return size() > ExternalDocumentCache.this.maximumSize;
+            }
+        };
+    }
+
+    public int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (documents) {
+            documents.clear();
+        }
+    }
+
+    interface DocumentParser {
+        @Nullable
+        ParsedDocument parse(@NotNull URI documentUri) throws Exception;
+    }
+
+    @Nullable
+    ParsedDocument getDocument(@NotNull URI documentUri, @NotNull DocumentParser parser) throws Exception {
+        synchronized (documents) {
+            ParsedDocument cached = documents.get(documentUri);
+            if (cached != null) return cached;
+        }
+        Set<URI> loading = loadingDocuments.get();
+        if (loading.contains(documentUri)) {
+            throw new IllegalStateException("Reference cycle containing external document: " + documentUri);
+        }
+
+        CompletableFuture<ParsedDocument> future = new CompletableFuture<>();
+        CompletableFuture<ParsedDocument> existing = inFlight.putIfAbsent(documentUri, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+
+        loading.add(documentUri);
+        try {
+            ParsedDocument document;
+            synchronized (documents) {
+                document = documents.get(documentUri);
+            }
+            if (document == null) {
+                document = parser.parse(documentUri);
+                if (document != null) {
+                    synchronized (documents) {
+                        documents.put(documentUri, document);
+                    }
+                }
+            }
+            future.complete(document);
+            return document;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(documentUri);
+            inFlight.remove(documentUri, future);
+        }
+    }
+
+    <T> @Nullable T getElementById(@NotNull ParsedDocument document, @NotNull Class<T> type, @Nullable String id) {
+        synchronized (resolutionLock) {
+            return document.getElementById(type, id);
+        }
+    }
+}
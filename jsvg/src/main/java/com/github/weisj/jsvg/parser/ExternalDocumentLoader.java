@@ -23,7 +23,6 @@ package com.github.weisj.jsvg.parser;
 
 import java.net.URI;
 import java.net.URL;
-import java.util.*;
 import java.util.logging.Logger;
 
 import org.jetbrains.annotations.ApiStatus;
@@ -35,11 +34,13 @@ import org.jetbrains.annotations.Nullable;
 class ExternalDocumentLoader implements DefaultElementLoader.DocumentLoader {
     private static final Logger LOGGER = Logger.getLogger(ExternalDocumentLoader.class.getName());
 
-    private final @NotNull Map<URI, CachedDocument> cache = new HashMap<>();
+    private final @NotNull ExternalDocumentCache cache;
     private final @NotNull ElementLoader.ExternalDocumentPolicy policy;
 
-    ExternalDocumentLoader(@NotNull ElementLoader.ExternalDocumentPolicy policy) {
+    ExternalDocumentLoader(@NotNull ElementLoader.ExternalDocumentPolicy policy,
+            @NotNull ExternalDocumentCache cache) {
         this.policy = policy;
+        this.cache = cache;
     }
 
     @Override
@@ -48,6 +49,12 @@ class ExternalDocumentLoader implements DefaultElementLoader.DocumentLoader {
         return locateDocument(document, name);
     }
 
+    @Override
+    public <T> @Nullable T getElementById(@NotNull ParsedDocument document, @NotNull Class<T> type,
+            @Nullable String id) {
+        return cache.getElementById(document, type, id);
+    }
+
     private @Nullable ParsedDocument locateDocument(@NotNull ParsedDocument document, @NotNull String name) {
         URI root = document.rootURI();
         if (root == null) return null;
@@ -55,34 +62,14 @@ class ExternalDocumentLoader implements DefaultElementLoader.DocumentLoader {
             URI documentUri = policy.resolveDocumentURI(root, name);
             if (documentUri == null) return null;
 
-            URL documentUrl = documentUri.toURL();
-            synchronized (cache) {
-                CachedDocument cachedDocument = cache.get(documentUri);
-                if (cachedDocument != null) {
-                    ParsedDocument cached = cachedDocument.document;
-                    if (cached == null) {
-                        throw new IllegalStateException("Reference cycle containing external document: " + documentUri);
-                    }
-                    return cached;
-                }
-            }
-            CachedDocument cachedDocument = new CachedDocument();
-            synchronized (cache) {
-                cache.put(documentUri, cachedDocument);
+            LoadListener loadListener = document.loaderContext().loadListener();
+            if (loadListener == null) return loadDocument(document, documentUri);
+            long start = System.nanoTime();
+            try {
+                return loadDocument(document, documentUri);
+            } finally {
+                loadListener.phaseCompleted(root, LoadListener.Phase.EXTERNAL_DOCUMENT, System.nanoTime() - start);
             }
-
-            SVGDocumentBuilder builder = new SVGLoader().loader().parse(
-                    SVGLoader.createDocumentInputStream(documentUrl.openStream()),
-                    documentUri,
-                    document.loaderContext());
-            if (builder == null) return null;
-            builder.preProcess(documentUri);
-
-            ParsedDocument parsedDocument = builder.parsedDocument();
-            synchronized (cache) {
-                cachedDocument.document = parsedDocument;
-            }
-            return parsedDocument;
         } catch (Exception e) {
             LOGGER.warning(
                     String.format("Failed to load external document: %s from %s - %s", name, root, e.getMessage()));
@@ -90,7 +77,17 @@ class ExternalDocumentLoader implements DefaultElementLoader.DocumentLoader {
         }
     }
 
-    private static final class CachedDocument {
-        private @Nullable ParsedDocument document;
+    private @Nullable ParsedDocument loadDocument(@NotNull ParsedDocument document, @NotNull URI documentUri)
+            throws Exception {
+        return cache.getDocument(documentUri, uri -> {
+            URL documentUrl = uri.toURL();
+            SVGDocumentBuilder builder = new SVGLoader().loader().parse(
+                    SVGLoader.createDocumentInputStream(documentUrl.openStream()),
+                    uri,
+                    document.loaderContext());
+            if (builder == null) return null;
+            builder.preProcess(uri);
+            return builder.parsedDocument();
+        });
     }
 }
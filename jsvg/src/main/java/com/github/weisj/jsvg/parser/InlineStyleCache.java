@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg.parser.css.StyleProperty;
+
+/**
+ * Parses the declarations of {@code style} attributes.
+ * <p>
+ * Documents exported by design tools tend to repeat the same style attribute many times. Hence parsed declarations
+ * are memoized per style string. The cache is bounded, once full further styles are parsed without being cached.
+ */
+final class InlineStyleCache {
+    private static final int MAX_CACHED_STYLES = 1024;
+    private static final StyleProperty[] NO_DECLARATIONS = new StyleProperty[0];
+
+    private final @NotNull Map<String, StyleProperty[]> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the declarations of the given style attribute value in the order they have been declared.
+     * The returned array is shared and must not be modified.
+     *
+     * @param style the value of a style attribute.
+     * @return the declarations.
+     */
+    StyleProperty @NotNull [] declarations(@NotNull String style) {
+        StyleProperty[] declarations = cache.get(style);
+        if (declarations != null) return declarations;
+        declarations = parse(style);
+        if (cache.size() < MAX_CACHED_STYLES) cache.putIfAbsent(style, declarations);
+        return declarations;
+    }
+
+    static StyleProperty @NotNull [] parse(@NotNull String style) {
+        List<StyleProperty> declarations = null;
+        int length = style.length();
+        int start = 0;
+        while (start < length) {
+            int end = style.indexOf(';', start);
+            if (end < 0) end = length;
+            int colon = style.indexOf(':', start);
+            if (colon >= 0 && colon < end) {
+                int nameStart = skipWhitespace(style, start, colon);
+                int nameEnd = trimWhitespace(style, nameStart, colon);
+                int valueStart = skipWhitespace(style, colon + 1, end);
+                int valueEnd = trimWhitespace(style, valueStart, end);
+                if (nameStart < nameEnd) {
+                    if (declarations == null) declarations = new ArrayList<>();
+                    declarations.add(new StyleProperty(propertyName(style, nameStart, nameEnd),
+                            style.substring(valueStart, valueEnd)));
+                }
+            }
+            start = end + 1;
+        }
+        return declarations != null ? declarations.toArray(NO_DECLARATIONS) : NO_DECLARATIONS;
+    }
+
+    private static @NotNull String propertyName(@NotNull String style, int start, int end) {
+        String name = style.substring(start, end);
+        for (int i = start; i < end; i++) {
+            char c = style.charAt(i);
+            // Avoid allocating another string if the name already is lowercase, which it usually is.
+            if (('A' <= c && c <= 'Z') || c > 127) return name.toLowerCase(Locale.ENGLISH);
+        }
+        return name;
+    }
+
+    // Note: Whitespace is determined the same way as String#trim does.
+    private static int skipWhitespace(@NotNull String s, int start, int end) {
+        while (start < end && s.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    private static int trimWhitespace(@NotNull String s, int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+}
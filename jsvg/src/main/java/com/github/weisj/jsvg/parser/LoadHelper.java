@@ -21,7 +21,10 @@
  */
 package com.github.weisj.jsvg.parser;
 
+import java.net.URI;
+
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg.attributes.AttributeParser;
 
@@ -39,11 +42,33 @@ public final class LoadHelper {
     }
 
     public LoadHelper(@NotNull AttributeParser attributeParser, @NotNull LoaderContext loaderContext) {
+        this(attributeParser, loaderContext, null);
+    }
+
+    LoadHelper(@NotNull AttributeParser attributeParser, @NotNull LoaderContext loaderContext,
+            @Nullable URI documentUri) {
         this.attributeParser = attributeParser;
-        this.resourceLoader = loaderContext.resourceLoader();
+        ResourceLoader loader = loaderContext.resourceLoader();
+        ResourceCache resourceCache = loaderContext.resourceCache();
+        if (resourceCache != null) loader = resourceCache.resourceLoader(loader);
+        LoadListener loadListener = loaderContext.loadListener();
+        if (loadListener != null) loader = timedResourceLoader(loader, loadListener, documentUri);
+        this.resourceLoader = loader;
         this.elementLoader = loaderContext.elementLoader();
     }
 
+    private static @NotNull ResourceLoader timedResourceLoader(@NotNull ResourceLoader loader,
+            @NotNull LoadListener loadListener, @Nullable URI documentUri) {
+        return uri -> {
+            long start = System.nanoTime();
+            try {
+                return loader.loadImage(uri);
+            } finally {
+                loadListener.phaseCompleted(documentUri, LoadListener.Phase.IMAGE_LOAD, System.nanoTime() - start);
+            }
+        };
+    }
+
     public @NotNull AttributeParser attributeParser() {
         return attributeParser;
     }
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives timings and statistics of the phases documents go through while being loaded, see
+ * {@link LoaderContext#loadListener()}. {@link LoadMetrics} provides an implementation, which aggregates the
+ * received values.
+ * <p>
+ * Note: Documents may be loaded concurrently, hence implementations need to be thread safe. The callbacks are
+ * invoked on the loading thread and should return quickly.
+ */
+@ApiStatus.Experimental
+public interface LoadListener {
+
+    enum Phase {
+        /**
+         * Reading the xml of the document.
+         */
+        PARSE,
+        /**
+         * Parsing the style sheets of the document and matching their selectors.
+         */
+        STYLE_SHEETS,
+        /**
+         * Running the {@link DomProcessor} of {@link ParserProvider#createPreProcessor(URI)}.
+         */
+        PRE_PROCESS,
+        /**
+         * Building the nodes of the document.
+         */
+        BUILD,
+        /**
+         * Running the {@link DomProcessor} of {@link ParserProvider#createPostProcessor()}.
+         */
+        POST_PROCESS,
+        /**
+         * Resolving an external document referenced by the document. If the external document isn't cached yet
+         * this includes parsing and pre-processing it, which are also reported separately with the uri of the
+         * external document.
+         */
+        EXTERNAL_DOCUMENT,
+        /**
+         * Requesting an image from the {@link ResourceLoader}. For asynchronous resource loaders this doesn't
+         * include the time it takes to complete the request.
+         */
+        IMAGE_LOAD
+    }
+
+    /**
+     * Called after a phase of loading a document has completed, whether successfully or not.
+     *
+     * @param documentUri the uri of the document or null if it isn't known.
+     * @param phase the phase.
+     * @param durationNanos the time spent in the phase in nanoseconds.
+     */
+    void phaseCompleted(@Nullable URI documentUri, @NotNull Phase phase, long durationNanos);
+
+    /**
+     * Called after the xml of a document has been read.
+     *
+     * @param documentUri the uri of the document or null if it isn't known.
+     * @param elementCounts the number of elements encountered by tag name. Also includes unsupported elements.
+     * @param bytesRead the number of (uncompressed) bytes read.
+     */
+    default void documentParsed(@Nullable URI documentUri, @NotNull Map<String, Integer> elementCounts,
+            long bytesRead) {}
+}
@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A thread safe {@link LoadListener}, which aggregates the reported values into histograms. The same instance can
+ * be used by multiple loader contexts. The histograms use buckets with exponentially growing bounds, such that they
+ * can be exported to most metrics systems without keeping every recorded value.
+ */
+@ApiStatus.Experimental
+public final class LoadMetrics implements LoadListener {
+    private final @NotNull Map<Phase, Recorder> phaseDurations = new EnumMap<>(Phase.class);
+    private final @NotNull Recorder documentSizes = new Recorder();
+    private final @NotNull Recorder documentElementCounts = new Recorder();
+    private final @NotNull Map<String, LongAdder> elementCounts = new ConcurrentHashMap<>();
+
+    public LoadMetrics() {
+        for (Phase phase : Phase.values()) {
+            phaseDurations.put(phase, new Recorder());
+        }
+    }
+
+    @Override
+    public void phaseCompleted(@Nullable URI documentUri, @NotNull Phase phase, long durationNanos) {
+        phaseDurations.get(phase).record(durationNanos);
+    }
+
+    @Override
+    public void documentParsed(@Nullable URI documentUri, @NotNull Map<String, Integer> elementCounts,
+            long bytesRead) {
+        documentSizes.record(bytesRead);
+        long elementCount = 0;
+        for (Map.Entry<String, Integer> entry : elementCounts.entrySet()) {
+            this.elementCounts.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(entry.getValue());
+            elementCount += entry.getValue();
+        }
+        documentElementCounts.record(elementCount);
+    }
+
+    /**
+     * @param phase the phase.
+     * @return the histogram of the durations of the phase in nanoseconds.
+     */
+    public @NotNull Histogram phaseDurations(@NotNull Phase phase) {
+        return phaseDurations.get(phase).snapshot();
+    }
+
+    /**
+     * @return the histogram of the number of bytes read per document.
+     */
+    public @NotNull Histogram documentSizes() {
+        return documentSizes.snapshot();
+    }
+
+    /**
+     * @return the histogram of the number of elements per document.
+     */
+    public @NotNull Histogram documentElementCounts() {
+        return documentElementCounts.snapshot();
+    }
+
+    /**
+     * @return the total number of elements encountered by tag name, sorted by tag name.
+     */
+    public @NotNull Map<String, Long> elementCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        elementCounts.forEach((tag, count) -> counts.put(tag, count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public void reset() {
+        for (Recorder recorder : phaseDurations.values()) {
+            recorder.reset();
+        }
+        documentSizes.reset();
+        documentElementCounts.reset();
+        elementCounts.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("LoadMetrics{");
+        for (Phase phase : Phase.values()) {
+            builder.append(phase).append('=').append(phaseDurations(phase)).append(", ");
+        }
+        return builder.append("documentSizes=").append(documentSizes())
+                .append(", elementCounts=").append(elementCounts())
+                .append('}').toString();
+    }
+
+    private static final class Recorder {
+        private final @NotNull AtomicLongArray buckets = new AtomicLongArray(Histogram.BUCKET_COUNT);
+        private final @NotNull LongAdder sum = new LongAdder();
+        private final @NotNull LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final @NotNull LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        private void record(long value) {
+            if (value < 0) value = 0;
+            buckets.incrementAndGet(Histogram.bucketIndex(value));
+            sum.add(value);
+            min.accumulate(value);
+            max.accumulate(value);
+        }
+
+        private void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            sum.reset();
+            min.reset();
+            max.reset();
+        }
+
+        private @NotNull Histogram snapshot() {
+            long[] counts = new long[buckets.length()];
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+                count += counts[i];
+            }
+            if (count == 0) return new Histogram(counts, 0, 0, 0, 0);
+            return new Histogram(counts, count, sum.sum(), min.get(), max.get());
+        }
+    }
+
+    /**
+     * A snapshot of recorded non-negative values. Bucket {@code 0} contains the value {@code 0} and bucket
+     * {@code i > 0} contains the values in {@code [2^(i-1), 2^i)}.
+     */
+    public static final class Histogram {
+        static final int BUCKET_COUNT = Long.SIZE;
+
+        private final long @NotNull [] bucketCounts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Histogram(long @NotNull [] bucketCounts, long count, long sum, long min, long max) {
+            this.bucketCounts = bucketCounts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        static int bucketIndex(long value) {
+            return Long.SIZE - Long.numberOfLeadingZeros(value);
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long sum() {
+            return sum;
+        }
+
+        public long min() {
+            return min;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public int bucketCount() {
+            return bucketCounts.length;
+        }
+
+        public long countInBucket(int bucket) {
+            return bucketCounts[bucket];
+        }
+
+        /**
+         * @param bucket the index of the bucket.
+         * @return the exclusive upper bound of the values in the bucket.
+         */
+        public long bucketUpperBound(int bucket) {
+            return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << bucket;
+        }
+
+        /**
+         * Estimates the value below which the given fraction of the recorded values lie. The estimate is the upper
+         * bound of the bucket containing the percentile, but never larger than {@link #max()}.
+         *
+         * @param percentile the percentile in {@code [0, 1]}.
+         * @return the estimated value.
+         */
+        public long valueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("Percentile not in [0, 1]: " + percentile);
+            }
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile * count));
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) return Math.max(min, Math.min(max, bucketUpperBound(i) - 1));
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{" +
+                    "count=" + count +
+                    ", min=" + min +
+                    ", mean=" + mean() +
+                    ", p50=" + valueAtPercentile(0.5) +
+                    ", p99=" + valueAtPercentile(0.99) +
+                    ", max=" + max +
+                    '}';
+        }
+    }
+}
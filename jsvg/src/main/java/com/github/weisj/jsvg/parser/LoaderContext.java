@@ -21,7 +21,13 @@
  */
 package com.github.weisj.jsvg.parser;
 
+import java.util.concurrent.ForkJoinPool;
+
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.attributes.ValueInterner;
 
 public interface LoaderContext {
     @NotNull
@@ -33,6 +39,66 @@ public interface LoaderContext {
     @NotNull
     ElementLoader elementLoader();
 
+    /**
+     * The pool used to build independent subtrees of a document in parallel.
+     * Subtrees which reference other elements are always built on the loading thread.
+     * Note: If the pool is non-null the {@link ResourceLoader} needs to be thread safe.
+     *
+     * @return the pool to use or null if documents should be built on the loading thread only.
+     */
+    @ApiStatus.Experimental
+    default @Nullable ForkJoinPool parallelBuildPool() {
+        return null;
+    }
+
+    /**
+     * Whether elements which aren't painted by themselves should only be built once they are referenced.
+     * This applies to e.g. {@code <defs>}, {@code <symbol>}, gradients and filters. Unreferenced definitions stay
+     * unbuilt, which reduces the loading time of documents like sprite sheets of which only a part is used.
+     *
+     * @return true if definitions should be built on demand.
+     */
+    @ApiStatus.Experimental
+    default boolean lazyNodeBuilding() {
+        return false;
+    }
+
+    /**
+     * The interner used to share equal parsed attribute values like lengths, colors and transforms between
+     * elements and documents. The same interner may be used by multiple loader contexts.
+     * Note: If interning is enabled values returned by {@link AttributeNode} have to be treated as read-only.
+     *
+     * @return the interner to use or null if values shouldn't be interned.
+     */
+    @ApiStatus.Experimental
+    default @Nullable ValueInterner valueInterner() {
+        return null;
+    }
+
+    /**
+     * The cache used to share images referenced by {@code <image>} elements between documents. The same cache may
+     * be used by multiple loader contexts.
+     * Note: If the cache is non-null the {@link ResourceLoader} needs to be thread safe.
+     *
+     * @return the cache to use or null if every document should load its images itself.
+     */
+    @ApiStatus.Experimental
+    default @Nullable ResourceCache resourceCache() {
+        return null;
+    }
+
+    /**
+     * The listener notified about the progress of loading documents. This can be used to find out where the time
+     * spent loading documents goes.
+     *
+     * @return the listener or null if loading shouldn't be instrumented.
+     * @see LoadMetrics
+     */
+    @ApiStatus.Experimental
+    default @Nullable LoadListener loadListener() {
+        return null;
+    }
+
     static @NotNull Builder builder() {
         return MutableLoaderContext.createDefault();
     }
@@ -51,6 +117,26 @@ public interface LoaderContext {
         @NotNull
         Builder elementLoader(@NotNull ElementLoader elementLoader);
 
+        @ApiStatus.Experimental
+        @NotNull
+        Builder parallelBuildPool(@Nullable ForkJoinPool pool);
+
+        @ApiStatus.Experimental
+        @NotNull
+        Builder lazyNodeBuilding(boolean lazyNodeBuilding);
+
+        @ApiStatus.Experimental
+        @NotNull
+        Builder valueInterner(@Nullable ValueInterner valueInterner);
+
+        @ApiStatus.Experimental
+        @NotNull
+        Builder resourceCache(@Nullable ResourceCache resourceCache);
+
+        @ApiStatus.Experimental
+        @NotNull
+        Builder loadListener(@Nullable LoadListener loadListener);
+
         @NotNull
         LoaderContext build();
     }
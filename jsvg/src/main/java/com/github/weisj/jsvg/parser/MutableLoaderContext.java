@@ -21,7 +21,12 @@
  */
 package com.github.weisj.jsvg.parser;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.attributes.ValueInterner;
 
 
 public class MutableLoaderContext implements LoaderContext, LoaderContext.Builder {
@@ -32,6 +37,11 @@ public class MutableLoaderContext implements LoaderContext, LoaderContext.Builde
     private @NotNull ParserProvider parserProvider;
     private @NotNull ResourceLoader resourceLoader;
     private @NotNull ElementLoader elementLoader;
+    private @Nullable ForkJoinPool parallelBuildPool;
+    private boolean lazyNodeBuilding;
+    private @Nullable ValueInterner valueInterner;
+    private @Nullable ResourceCache resourceCache;
+    private @Nullable LoadListener loadListener;
 
     static @NotNull MutableLoaderContext createDefault() {
         return new MutableLoaderContext(DEFAULT_PARSER_PROVIDER, DEFAULT_RESOURCE_LOADER, DEFAULT_ELEMENT_LOADER);
@@ -59,6 +69,31 @@ public class MutableLoaderContext implements LoaderContext, LoaderContext.Builde
         return elementLoader;
     }
 
+    @Override
+    public @Nullable ForkJoinPool parallelBuildPool() {
+        return parallelBuildPool;
+    }
+
+    @Override
+    public boolean lazyNodeBuilding() {
+        return lazyNodeBuilding;
+    }
+
+    @Override
+    public @Nullable ValueInterner valueInterner() {
+        return valueInterner;
+    }
+
+    @Override
+    public @Nullable ResourceCache resourceCache() {
+        return resourceCache;
+    }
+
+    @Override
+    public @Nullable LoadListener loadListener() {
+        return loadListener;
+    }
+
     @Override
     public @NotNull Builder parserProvider(@NotNull ParserProvider parserProvider) {
         this.parserProvider = parserProvider;
@@ -77,6 +112,36 @@ public class MutableLoaderContext implements LoaderContext, LoaderContext.Builde
         return this;
     }
 
+    @Override
+    public @NotNull Builder parallelBuildPool(@Nullable ForkJoinPool pool) {
+        this.parallelBuildPool = pool;
+        return this;
+    }
+
+    @Override
+    public @NotNull Builder lazyNodeBuilding(boolean lazyNodeBuilding) {
+        this.lazyNodeBuilding = lazyNodeBuilding;
+        return this;
+    }
+
+    @Override
+    public @NotNull Builder valueInterner(@Nullable ValueInterner valueInterner) {
+        this.valueInterner = valueInterner;
+        return this;
+    }
+
+    @Override
+    public @NotNull Builder resourceCache(@Nullable ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+        return this;
+    }
+
+    @Override
+    public @NotNull Builder loadListener(@Nullable LoadListener loadListener) {
+        this.loadListener = loadListener;
+        return this;
+    }
+
     @Override
     public @NotNull LoaderContext build() {
         return this;
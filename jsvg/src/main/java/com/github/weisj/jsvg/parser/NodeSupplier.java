@@ -21,6 +21,7 @@
  */
 package com.github.weisj.jsvg.parser;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Supplier;
@@ -44,13 +45,22 @@ import com.github.weisj.jsvg.nodes.text.TextSpan;
 public final class NodeSupplier {
 
     private final Map<String, Supplier<SVGNode>> constructorMap;
+    // Tag names almost always occur in their canonical spelling. Resolve those through a plain hash lookup
+    // and only fall back to the (case-insensitive) constructor map for unusual spellings.
+    // Only used if the constructor map can't be modified from the outside.
+    private final @Nullable Map<String, Supplier<SVGNode>> canonicalConstructorMap;
 
     public NodeSupplier() {
-        this(new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+        this(new TreeMap<>(String.CASE_INSENSITIVE_ORDER), true);
     }
 
-
     public NodeSupplier(final @NotNull Map<@NotNull String, @NotNull Supplier<@NotNull SVGNode>> mapImpl) {
+        // The caller may still register or replace constructors through the map.
+        this(mapImpl, false);
+    }
+
+    private NodeSupplier(final @NotNull Map<@NotNull String, @NotNull Supplier<@NotNull SVGNode>> mapImpl,
+            boolean ownsMap) {
         mapImpl.clear();
         constructorMap = mapImpl;
 
@@ -74,10 +84,14 @@ public final class NodeSupplier {
         populateAnimationNodeConstructors();
         populateMetaNodeConstructors();
         populateDummyNodeConstructors();
+
+        canonicalConstructorMap = ownsMap ? new HashMap<>(constructorMap) : null;
     }
 
     public @Nullable SVGNode create(@NotNull String tagName) {
-        @Nullable Supplier<SVGNode> supplier = constructorMap.get(tagName);
+        @Nullable Supplier<SVGNode> supplier = null;
+        if (canonicalConstructorMap != null) supplier = canonicalConstructorMap.get(tagName);
+        if (supplier == null) supplier = constructorMap.get(tagName);
         if (supplier == null) return null;
         return supplier.get();
     }
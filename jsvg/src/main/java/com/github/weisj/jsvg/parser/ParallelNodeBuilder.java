@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builds the subtrees of a document, which don't reference any other elements, in parallel.
+ * <p>
+ * Resolving a reference may build the referenced element on demand, which in turn relies on the
+ * {@link ParsedElement} build status for cycle detection. To keep this single threaded any subtree containing
+ * a (potential) reference is left for the sequential build pass, which picks up everything not yet built.
+ */
+final class ParallelNodeBuilder {
+    // Documents with fewer elements aren't worth the overhead.
+    private static final int MIN_ELEMENT_COUNT = 256;
+    // Independent subtrees up to this size are built as a single unit. Larger ones are split up further.
+    private static final int SUBTREE_GRAIN = 128;
+    // Maximum number of elements a task handles before splitting.
+    private static final int TASK_GRAIN = 256;
+
+    private ParallelNodeBuilder() {}
+
+    static void buildIndependentSubtrees(@NotNull ParsedElement root, @NotNull ForkJoinPool pool) {
+        boolean lazy = root.attributeNode().document().loaderContext().lazyNodeBuilding();
+        List<ParsedElement> elements = flattenPreOrder(root, lazy);
+        int count = elements.size();
+        if (count < MIN_ELEMENT_COUNT) return;
+
+        // Applying style sheets only touches the element itself, hence it is always safe to do in parallel.
+        boolean[] mayReference = new boolean[count];
+        pool.invoke(new PrepareTask(elements, mayReference, 0, count));
+
+        int[] subtreeSize = new int[count];
+        boolean[] independent = new boolean[count];
+        // Children always come after their parent in pre-order.
+        for (int i = count - 1; i >= 0; i--) {
+            ParsedElement element = elements.get(i);
+            int size = 1;
+            boolean isIndependent = !mayReference[i] && element.isNotBuilt();
+            int child = i + 1;
+            for (int j = 0, n = childCount(element, lazy); j < n; j++) {
+                size += subtreeSize[child];
+                isIndependent = isIndependent && independent[child];
+                child += subtreeSize[child];
+            }
+            subtreeSize[i] = size;
+            independent[i] = isIndependent;
+        }
+
+        List<ParsedElement> units = new ArrayList<>();
+        List<Integer> unitSizes = new ArrayList<>();
+        collectBuildUnits(elements, subtreeSize, independent, lazy, 0, units, unitSizes);
+        if (units.isEmpty()) return;
+
+        int[] sizes = new int[unitSizes.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = unitSizes.get(i);
+        }
+        pool.invoke(new BuildTask(units, sizes, 0, sizes.length));
+    }
+
+    private static @NotNull List<ParsedElement> flattenPreOrder(@NotNull ParsedElement root, boolean lazy) {
+        List<ParsedElement> elements = new ArrayList<>();
+        Deque<ParsedElement> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            ParsedElement element = stack.pop();
+            elements.add(element);
+            List<ParsedElement> children = element.children();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                ParsedElement child = children.get(i);
+                // Elements built on demand are left to the sequential pass, if they are needed at all.
+                if (lazy && element.isBuiltOnDemand(child)) continue;
+                stack.push(child);
+            }
+        }
+        return elements;
+    }
+
+    private static int childCount(@NotNull ParsedElement element, boolean lazy) {
+        List<ParsedElement> children = element.children();
+        if (!lazy) return children.size();
+        int count = 0;
+        for (ParsedElement child : children) {
+            if (!element.isBuiltOnDemand(child)) count++;
+        }
+        return count;
+    }
+
+    private static void collectBuildUnits(@NotNull List<ParsedElement> elements, int @NotNull [] subtreeSize,
+            boolean @NotNull [] independent, boolean lazy, int index,
+            @NotNull List<ParsedElement> units, @NotNull List<Integer> unitSizes) {
+        if (independent[index] && subtreeSize[index] <= SUBTREE_GRAIN) {
+            units.add(elements.get(index));
+            unitSizes.add(subtreeSize[index]);
+            return;
+        }
+        // The element itself is built by the sequential pass after its children are done.
+        int child = index + 1;
+        for (int j = 0, n = childCount(elements.get(index), lazy); j < n; j++) {
+            collectBuildUnits(elements, subtreeSize, independent, lazy, child, units, unitSizes);
+            child += subtreeSize[child];
+        }
+    }
+
+    private static final class PrepareTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final @NotNull List<ParsedElement> elements;
+        private final boolean @NotNull [] mayReference;
+        private final int from;
+        private final int to;
+
+        private PrepareTask(@NotNull List<ParsedElement> elements, boolean @NotNull [] mayReference,
+                int from, int to) {
+            this.elements = elements;
+            this.mayReference = mayReference;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TASK_GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PrepareTask(elements, mayReference, from, mid),
+                        new PrepareTask(elements, mayReference, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                ParsedElement element = elements.get(i);
+                if (!element.isNotBuilt()) continue;
+                element.prepareForNodeBuilding();
+                mayReference[i] = element.attributeNode().mayReferenceOtherElements();
+            }
+        }
+    }
+
+    private static final class BuildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final @NotNull List<ParsedElement> units;
+        private final int @NotNull [] unitSizes;
+        private final int from;
+        private final int to;
+
+        private BuildTask(@NotNull List<ParsedElement> units, int @NotNull [] unitSizes, int from, int to) {
+            this.units = units;
+            this.unitSizes = unitSizes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && elementCount() > TASK_GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BuildTask(units, unitSizes, from, mid), new BuildTask(units, unitSizes, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                units.get(i).build();
+            }
+        }
+
+        private int elementCount() {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                count += unitSizes[i];
+            }
+            return count;
+        }
+    }
+}
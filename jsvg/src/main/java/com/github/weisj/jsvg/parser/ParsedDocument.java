@@ -32,6 +32,8 @@ public class ParsedDocument {
     private final Map<String, Object> namedElements = new HashMap<>();
     private final @Nullable URI rootURI;
     private final @NotNull LoaderContext loaderContext;
+    private final @NotNull InlineStyleCache inlineStyleCache = new InlineStyleCache();
+    private @Nullable StyleResolver styleResolver;
 
     public ParsedDocument(@Nullable URI rootURI, @NotNull LoaderContext loaderContext) {
         this.rootURI = rootURI;
@@ -61,6 +63,20 @@ public class ParsedDocument {
         return namedElements.containsKey(id);
     }
 
+    @Nullable
+    StyleResolver styleResolver() {
+        return styleResolver;
+    }
+
+    @NotNull
+    InlineStyleCache inlineStyleCache() {
+        return inlineStyleCache;
+    }
+
+    void setStyleResolver(@Nullable StyleResolver styleResolver) {
+        this.styleResolver = styleResolver;
+    }
+
     public @Nullable URI rootURI() {
         return rootURI;
     }
@@ -28,8 +28,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg.nodes.SVGNode;
+import com.github.weisj.jsvg.nodes.container.CommonRenderableContainerNode;
 import com.github.weisj.jsvg.nodes.prototype.Container;
-import com.github.weisj.jsvg.nodes.prototype.spec.PermittedContent;
+import com.github.weisj.jsvg.nodes.prototype.Renderable;
+import com.github.weisj.jsvg.nodes.prototype.spec.ElementSchema;
 
 public final class ParsedElement {
 
@@ -46,16 +48,19 @@ public final class ParsedElement {
     private final @NotNull List<@NotNull ParsedElement> children = new ArrayList<>();
     final CharacterDataParser characterDataParser;
     private @NotNull BuildStatus buildStatus = BuildStatus.NOT_BUILT;
+    private boolean preparedForBuilding;
+    // Child elements and text content in document order. Only tracked when writing the binary format.
+    private @Nullable List<@NotNull Object> recordedContent;
 
     ParsedElement(@Nullable String id, @NotNull AttributeNode element, @NotNull SVGNode node) {
         this.attributeNode = element;
         this.node = node;
         this.id = id;
-        PermittedContent permittedContent = node.getClass().getAnnotation(PermittedContent.class);
-        if (permittedContent == null) {
+        ElementSchema schema = ElementSchema.of(node.getClass());
+        if (!schema.hasPermittedContent()) {
             throw new IllegalStateException("Element <" + node.tagName() + "> doesn't specify permitted content");
         }
-        if (permittedContent.charData()) {
+        if (schema.permitsCharData()) {
             characterDataParser = new CharacterDataParser();
         } else {
             characterDataParser = null;
@@ -93,11 +98,30 @@ public final class ParsedElement {
 
     void addChild(ParsedElement parsedElement) {
         children.add(parsedElement);
+        if (recordedContent != null) recordedContent.add(parsedElement);
         if (node instanceof Container) {
             ((Container<?>) node).addChild(parsedElement.id, parsedElement.node);
         }
     }
 
+    void recordContent() {
+        recordedContent = new ArrayList<>();
+    }
+
+    void recordTextContent(char @NotNull [] characterData, int offset, int length) {
+        if (recordedContent != null) recordedContent.add(new String(characterData, offset, length));
+    }
+
+    /**
+     * The children and text content of this element in document order.
+     * Text content is represented as {@link String}.
+     */
+    @NotNull
+    List<@NotNull Object> recordedContent() {
+        if (recordedContent == null) throw new IllegalStateException("Content of " + this + " wasn't recorded");
+        return recordedContent;
+    }
+
     void build() {
         if (buildStatus == BuildStatus.FINISHED) return;
         if (buildStatus == BuildStatus.IN_PROGRESS) {
@@ -106,17 +130,49 @@ public final class ParsedElement {
         }
         buildStatus = BuildStatus.IN_PROGRESS;
 
-        attributeNode.prepareForNodeBuilding(this);
+        prepareForNodeBuilding();
 
         // Build depth first to ensure child nodes are processed first.
         // e.g. LinearGradient depends on its stops to be build first.
+        boolean lazy = attributeNode.document().loaderContext().lazyNodeBuilding();
         for (ParsedElement child : children) {
+            if (lazy && isBuiltOnDemand(child)) continue;
             child.build();
         }
         node.build(attributeNode);
         buildStatus = BuildStatus.FINISHED;
     }
 
+    void prepareForNodeBuilding() {
+        if (preparedForBuilding) return;
+        attributeNode.prepareForNodeBuilding(this);
+        preparedForBuilding = true;
+    }
+
+    /**
+     * Whether the given child may be left unbuilt until it is referenced by another element.
+     * This is only the case if it isn't painted as part of this element and this element itself doesn't need its
+     * children to be built.
+     */
+    boolean isBuiltOnDemand(@NotNull ParsedElement child) {
+        if (!(node instanceof CommonRenderableContainerNode)) return false;
+        if (((Renderable) node).requiresInstantiation()) return false;
+        SVGNode childNode = child.node;
+        return !(childNode instanceof Renderable) || ((Renderable) childNode).requiresInstantiation();
+    }
+
+    boolean isNotBuilt() {
+        return buildStatus == BuildStatus.NOT_BUILT;
+    }
+
+    void releaseAttributes() {
+        if (buildStatus != BuildStatus.FINISHED) return;
+        attributeNode.releaseAttributes();
+        for (ParsedElement child : children) {
+            child.releaseAttributes();
+        }
+    }
+
     @Override
     public String toString() {
         return "ParsedElement{" + "node=" + node + '}';
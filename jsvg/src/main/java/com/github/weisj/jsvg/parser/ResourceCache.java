@@ -0,0 +1,325 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.parser.resources.ImageResource;
+import com.github.weisj.jsvg.parser.resources.LazyImageResource;
+import com.github.weisj.jsvg.parser.resources.RenderableResource;
+import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
+
+/**
+ * A thread safe cache of images referenced by {@code <image>} elements, see {@link LoaderContext#resourceCache()}.
+ * All documents loaded with a loader context using the same cache share the loaded images, such that an image
+ * referenced by many documents is only loaded and decoded once.
+ * <p>
+ * Images are keyed by their normalized uri. The cache is bounded by the estimated number of bytes held by the
+ * cached images. If it is exceeded the least recently used images are evicted. The weight of an image is estimated
+ * as follows:
+ * <ul>
+ *     <li>Decoded raster images: The size of their pixel data.</li>
+ *     <li>Lazily decoded raster images: The size of their pixel data at full resolution.</li>
+ *     <li>Other resources e.g. svg documents: A fixed estimate of 64 KiB.</li>
+ * </ul>
+ * Images embedded using {@code data:} uris are not cached, as they are owned by their document.
+ * <p>
+ * Note: Concurrent requests for an image, which isn't cached yet, may load it more than once. Only one of the
+ * loaded images ends up in the cache.
+ */
+@ApiStatus.Experimental
+public final class ResourceCache {
+    static final long DEFAULT_RESOURCE_WEIGHT = 64 * 1024;
+
+    private final long maximumWeight;
+    private final @NotNull Map<URI, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumWeight the maximum estimated number of bytes held by the cached images.
+     */
+    public ResourceCache(long maximumWeight) {
+        if (maximumWeight < 0) throw new IllegalArgumentException("Negative maximum weight " + maximumWeight);
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Create a {@link ResourceLoader} which serves images from this cache and loads missing ones using the given
+     * loader.
+     *
+     * @param loader the loader used to load images which aren't cached.
+     * @return the caching resource loader.
+     */
+    public @NotNull ResourceLoader resourceLoader(@NotNull ResourceLoader loader) {
+        return uri -> loadImage(uri, loader);
+    }
+
+    @Nullable
+    UIFuture<RenderableResource> loadImage(@NotNull URI uri, @NotNull ResourceLoader loader) throws IOException {
+        if ("data".equals(uri.getScheme())) return loader.loadImage(uri);
+        URI key = uri.normalize();
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                hitCount.increment();
+                return cached.future();
+            }
+        }
+        missCount.increment();
+        UIFuture<RenderableResource> future = loader.loadImage(uri);
+        if (future == null || (future instanceof ValueUIFuture && future.get() == null)) {
+            loadFailureCount.increment();
+            return future;
+        }
+        Entry entry = new Entry(key, future);
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null) return existing.future();
+            entries.put(key, entry);
+        }
+        if (future instanceof ValueUIFuture) {
+            entry.weigh(future.get());
+        } else if (future instanceof CompletableUIFuture) {
+            ((CompletableUIFuture<RenderableResource>) future).future().whenComplete((resource, error) -> {
+                if (resource != null) {
+                    entry.weigh(resource);
+                } else {
+                    loadFailureCount.increment();
+                    remove(entry);
+                }
+            });
+        }
+        return entry.future();
+    }
+
+    private void updateWeight(@NotNull Entry entry, @NotNull RenderableResource resource) {
+        long resourceWeight = estimateWeight(resource);
+        synchronized (entries) {
+            if (entries.get(entry.key) != entry) return;
+            weight += resourceWeight - entry.weight;
+            entry.weight = resourceWeight;
+            if (resourceWeight > maximumWeight) {
+                // Caching the image would evict everything else.
+                entries.remove(entry.key);
+                weight -= resourceWeight;
+                evictionCount.increment();
+                return;
+            }
+            Iterator<Entry> it = entries.values().iterator();
+            while (weight > maximumWeight && it.hasNext()) {
+                Entry eldest = it.next();
+                if (eldest == entry) continue;
+                it.remove();
+                weight -= eldest.weight;
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private void remove(@NotNull Entry entry) {
+        synchronized (entries) {
+            if (entries.remove(entry.key, entry)) weight -= entry.weight;
+        }
+    }
+
+    static long estimateWeight(@NotNull RenderableResource resource) {
+        if (resource instanceof ImageResource) {
+            BufferedImage image = ((ImageResource) resource).image();
+            DataBuffer buffer = image.getRaster().getDataBuffer();
+            return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType())
+                    / Byte.SIZE;
+        }
+        if (resource instanceof LazyImageResource) {
+            return ((LazyImageResource) resource).decodedByteSize();
+        }
+        return DEFAULT_RESOURCE_WEIGHT;
+    }
+
+    public void invalidate(@NotNull URI uri) {
+        synchronized (entries) {
+            Entry entry = entries.remove(uri.normalize());
+            if (entry != null) weight -= entry.weight;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * @return the number of cached images.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the estimated number of bytes held by the cached images.
+     */
+    public long weight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public @NotNull Statistics statistics() {
+        long currentWeight;
+        int currentSize;
+        synchronized (entries) {
+            currentWeight = weight;
+            currentSize = entries.size();
+        }
+        return new Statistics(hitCount.sum(), missCount.sum(), loadFailureCount.sum(), evictionCount.sum(),
+                currentSize, currentWeight);
+    }
+
+    private final class Entry implements UIFuture<RenderableResource> {
+        private final @NotNull URI key;
+        private final @NotNull UIFuture<RenderableResource> delegate;
+        private volatile boolean weighed;
+        // Guarded by the entries map.
+        private long weight;
+
+        private Entry(@NotNull URI key, @NotNull UIFuture<RenderableResource> delegate) {
+            this.key = key;
+            this.delegate = delegate;
+        }
+
+        private @NotNull UIFuture<RenderableResource> future() {
+            // The completion of arbitrary futures can't be observed. Their weight is updated once the image is
+            // requested for the first time.
+            if (delegate instanceof ValueUIFuture || delegate instanceof CompletableUIFuture) return delegate;
+            return this;
+        }
+
+        private void weigh(@NotNull RenderableResource resource) {
+            weighed = true;
+            updateWeight(this, resource);
+        }
+
+        @Override
+        public boolean checkIfReady(@NotNull PlatformSupport platformSupport) {
+            return delegate.checkIfReady(platformSupport);
+        }
+
+        @Override
+        public @Nullable RenderableResource get() {
+            RenderableResource resource = delegate.get();
+            if (resource != null && !weighed) weigh(resource);
+            return resource;
+        }
+    }
+
+    public static final class Statistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long loadFailureCount;
+        private final long evictionCount;
+        private final int size;
+        private final long weight;
+
+        private Statistics(long hitCount, long missCount, long loadFailureCount, long evictionCount, int size,
+                long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadFailureCount = loadFailureCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long hitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of requests for images which weren't cached and had to be loaded.
+         */
+        public long missCount() {
+            return missCount;
+        }
+
+        public long loadFailureCount() {
+            return loadFailureCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the number of cached images at the time the statistics were taken.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the estimated number of bytes held by the cache at the time the statistics were taken.
+         */
+        public long weight() {
+            return weight;
+        }
+
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", loadFailureCount=" + loadFailureCount +
+                    ", evictionCount=" + evictionCount +
+                    ", size=" + size +
+                    ", weight=" + weight +
+                    '}';
+        }
+    }
+}
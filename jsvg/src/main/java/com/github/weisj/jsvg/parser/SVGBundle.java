@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.SVGDocument;
+
+/**
+ * A read only archive of svg documents, which is memory mapped as a whole. Bundles are created with
+ * {@link SVGBundleBuilder}.
+ * <p>
+ * Documents are parsed straight from the mapped file without opening or copying anything.
+ * Accessing the entries is thread safe. Loading documents has the same restrictions as {@link SVGLoader}.
+ * <pre>
+ * bundle := MAGIC:int VERSION:byte entryCount:int (name:utf offset:int length:int)* data
+ * </pre>
+ * Offsets are relative to the start of the file.
+ * <p>
+ * Bundles should be closed once they are no longer needed. Note that the platform provides no way to release a
+ * mapping explicitly, hence the file is only unmapped after the bundle and all buffers obtained from
+ * {@link #entry(String)} have been garbage collected.
+ */
+@ApiStatus.Experimental
+public final class SVGBundle implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(SVGBundle.class.getName());
+
+    static final int MAGIC = 0x4A535641; // "JSVA"
+    static final int VERSION = 1;
+
+    private static final @NotNull NodeSupplier NODE_SUPPLIER = new NodeSupplier();
+
+    private volatile @Nullable ByteBuffer data;
+    private final @NotNull Map<String, Entry> entries;
+    private final @NotNull StaxSVGLoader loader = new StaxSVGLoader(NODE_SUPPLIER);
+
+    private SVGBundle(@NotNull ByteBuffer data, @NotNull Map<String, Entry> entries) {
+        this.data = data;
+        this.entries = entries;
+    }
+
+    /**
+     * Open the bundle stored in the given file.
+     *
+     * @param file the bundle file.
+     * @return the bundle.
+     * @throws IOException if the file can't be mapped or isn't a valid bundle.
+     */
+    public static @NotNull SVGBundle open(@NotNull Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Bundle is too large: " + file);
+            // Note: The mapping stays valid after the channel has been closed.
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return new SVGBundle(data, readIndex(data));
+    }
+
+    private static @NotNull Map<String, Entry> readIndex(@NotNull ByteBuffer data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(data.duplicate()));
+        if (in.readInt() != MAGIC) throw new IOException("Not an svg bundle");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported bundle version " + version);
+        int count = in.readInt();
+        // The header takes up 9 bytes and every entry at least 10 bytes (an empty name, offset and length).
+        if (count < 0 || count > (data.capacity() - 9) / 10) {
+            throw new IOException("Entry count " + count + " exceeds the bundle size");
+        }
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            int offset = in.readInt();
+            int length = in.readInt();
+            if (offset < 0 || length < 0 || offset > data.capacity() - length) {
+                throw new IOException("Entry '" + name + "' is out of bounds");
+            }
+            entries.put(name, new Entry(offset, length));
+        }
+        return entries;
+    }
+
+    /**
+     * @return the names of all entries in this bundle.
+     */
+    public @NotNull Set<@NotNull String> names() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public boolean contains(@NotNull String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * The raw content of the entry with the given name. The returned buffer is a read only view into the
+     * mapped file.
+     *
+     * @param name the name of the entry.
+     * @return the content or null if there is no such entry.
+     * @throws IllegalStateException if the bundle has been closed.
+     */
+    public @Nullable ByteBuffer entry(@NotNull String name) {
+        ByteBuffer mapped = data;
+        if (mapped == null) throw new IllegalStateException("Bundle has been closed");
+        Entry entry = entries.get(name);
+        if (entry == null) return null;
+        ByteBuffer buffer = mapped.asReadOnlyBuffer();
+        buffer.position(entry.offset);
+        buffer.limit(entry.offset + entry.length);
+        return buffer.slice();
+    }
+
+    public @Nullable SVGDocument load(@NotNull String name) {
+        return load(name, LoaderContext.createDefault());
+    }
+
+    /**
+     * Load the entry with the given name as an {@link SVGDocument}.
+     *
+     * @param name the name of the entry.
+     * @param loaderContext The loader context to use for loading the document.
+     * @return The loaded SVG document or null if there is no such entry or an error occurred.
+     * @throws IllegalStateException if the bundle has been closed.
+     */
+    public @Nullable SVGDocument load(@NotNull String name, @NotNull LoaderContext loaderContext) {
+        ByteBuffer buffer = entry(name);
+        if (buffer == null) return null;
+        try {
+            // Entries are stored uncompressed, hence no need to check for gzip.
+            return loader.load(new ByteBufferInputStream(buffer), null, loaderContext);
+        } catch (Throwable e) {
+            LOGGER.log(Level.WARNING, "Could not load SVG " + name, e);
+        }
+        return null;
+    }
+
+    /**
+     * Release the bundle's reference to the mapped file. Accessing entries afterwards results in an
+     * {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        data = null;
+    }
+
+    private static final class Entry {
+        private final int offset;
+        private final int length;
+
+        private Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates {@link SVGBundle} files.
+ */
+@ApiStatus.Experimental
+public final class SVGBundleBuilder {
+    private final @NotNull Map<String, byte[]> entries = new LinkedHashMap<>();
+
+    /**
+     * Add all .svg and .svgz files in the given directory and its subdirectories. Entries are named by their path
+     * relative to the directory, using '/' as separator e.g. "icons/folder.svg".
+     *
+     * @param directory the directory to add.
+     * @return this builder.
+     * @throws IOException if reading the files fails.
+     */
+    public @NotNull SVGBundleBuilder addDirectory(@NotNull Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String fileName = p.getFileName().toString();
+                        return fileName.endsWith(".svg") || fileName.endsWith(".svgz");
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                addEntry(name, inputStream);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add a document to the bundle. Gzip compressed documents are stored uncompressed.
+     *
+     * @param name the name of the entry.
+     * @param inputStream the content of the document.
+     * @return this builder.
+     * @throws IOException if reading the document fails.
+     */
+    public @NotNull SVGBundleBuilder addEntry(@NotNull String name, @NotNull InputStream inputStream)
+            throws IOException {
+        InputStream documentStream = SVGLoader.createDocumentInputStream(inputStream);
+        if (documentStream == null) throw new IOException("Could not read " + name);
+        if (modifiedUtf8Length(name) > 0xFFFF) {
+            throw new IllegalArgumentException("Entry name is too long: " + name);
+        }
+        entries.put(name, readAll(documentStream));
+        return this;
+    }
+
+    /*
+     * Names are written using DataOutput#writeUTF, which uses modified UTF-8 and is limited to 65535 bytes.
+     */
+    private static int modifiedUtf8Length(@NotNull String name) {
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static byte @NotNull [] readAll(@NotNull InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Write the bundle to the given file. The bundle is written to a temporary file first, hence an existing file
+     * is left untouched if writing fails.
+     *
+     * @param file the file to write to.
+     * @throws IOException if writing fails or the bundle exceeds 2GB.
+     */
+    public void write(@NotNull Path file) throws IOException {
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        for (String name : entries.keySet()) {
+            indexOut.writeUTF(name);
+        }
+        // Magic, version and entry count followed by the names, offsets and lengths.
+        long dataStart = 4 + 1 + 4 + index.size() + 8L * entries.size();
+        long size = dataStart;
+        for (byte[] content : entries.values()) {
+            size += content.length;
+        }
+        if (size > Integer.MAX_VALUE) throw new IOException("Bundle exceeds the maximum size");
+
+        Path absoluteFile = file.toAbsolutePath();
+        Path tempFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(SVGBundle.MAGIC);
+                out.writeByte(SVGBundle.VERSION);
+                out.writeInt(entries.size());
+                int offset = (int) dataStart;
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    int length = entry.getValue().length;
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(offset);
+                    out.writeInt(length);
+                    offset += length;
+                }
+                for (byte[] content : entries.values()) {
+                    out.write(content);
+                }
+            }
+            try {
+                Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
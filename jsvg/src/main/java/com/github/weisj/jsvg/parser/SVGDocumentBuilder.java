@@ -23,6 +23,7 @@ package com.github.weisj.jsvg.parser;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -48,8 +49,11 @@ public final class SVGDocumentBuilder {
     private final @NotNull ParserProvider parserProvider;
     private final @NotNull LoadHelper loadHelper;
     private final @NotNull NodeSupplier nodeSupplier;
+    private final @Nullable LoadListener loadListener;
+    private final @Nullable Map<String, Integer> elementCounts;
 
     private ParsedElement rootNode;
+    private boolean recordContent;
 
     /**
      * @deprecated use {@link #SVGDocumentBuilder(URI, LoaderContext, NodeSupplier)} instead
@@ -72,9 +76,11 @@ public final class SVGDocumentBuilder {
             @NotNull NodeSupplier nodeSupplier) {
         this.parserProvider = loaderContext.parserProvider();
         this.loadHelper = new LoadHelper(
-                new AttributeParser(parserProvider.createPaintParser()),
-                loaderContext);
+                new AttributeParser(parserProvider.createPaintParser(), loaderContext.valueInterner()),
+                loaderContext, rootURI);
         this.nodeSupplier = nodeSupplier;
+        this.loadListener = loaderContext.loadListener();
+        this.elementCounts = loadListener != null ? new HashMap<>() : null;
         this.parsedDocument = new ParsedDocument(rootURI, loaderContext);
     }
 
@@ -84,6 +90,33 @@ public final class SVGDocumentBuilder {
         return parsedDocument;
     }
 
+    /**
+     * Keep track of the document order of child elements and text content, which otherwise isn't retained.
+     * This is needed to write the document with {@link BinarySVGWriter}.
+     */
+    void recordContent() {
+        if (rootNode != null) throw new IllegalStateException("Document already started");
+        recordContent = true;
+    }
+
+    /**
+     * @return the number of elements started by tag name, if a {@link LoadListener} is present.
+     */
+    @NotNull
+    Map<String, Integer> elementCounts() {
+        return elementCounts != null ? elementCounts : Collections.emptyMap();
+    }
+
+    @Nullable
+    ParsedElement rootElement() {
+        return rootNode;
+    }
+
+    @Nullable
+    ParsedElement currentElement() {
+        return currentNodeStack.peek();
+    }
+
     public void startDocument() {
         if (rootNode != null) throw new IllegalStateException("Document already started");
     }
@@ -101,14 +134,19 @@ public final class SVGDocumentBuilder {
                 : null;
 
         if (parentElement != null) flushText(parentElement, true);
+        if (elementCounts != null) elementCounts.merge(tagName, 1, Integer::sum);
 
         @Nullable SVGNode newNode = nodeSupplier.create(tagName);
         if (newNode == null) return false;
 
-        AttributeNode attributeNode = new AttributeNode(tagName, attributes, parentAttributeNode,
+        Map<String, String> attributeMap = attributes instanceof CompactAttributeMap
+                ? attributes
+                : new CompactAttributeMap(attributes);
+        AttributeNode attributeNode = new AttributeNode(tagName, attributeMap, parentAttributeNode,
                 parsedDocument, styleSheets, loadHelper);
-        String id = attributes.get("id");
+        String id = attributeMap.get("id");
         ParsedElement parsedElement = new ParsedElement(id, attributeNode, newNode);
+        if (recordContent) parsedElement.recordContent();
 
         if (id != null && !parsedDocument.hasElementWithId(id)) {
             parsedDocument.registerNamedElement(id, parsedElement);
@@ -131,13 +169,14 @@ public final class SVGDocumentBuilder {
         return true;
     }
 
-    public void addTextContent(char @NotNull [] characterData, int startOffset, int endOffset) {
+    public void addTextContent(char @NotNull [] characterData, int offset, int length) {
         if (currentNodeStack.isEmpty()) {
             throw new IllegalStateException("Adding text content without a current node");
         }
         ParsedElement currentElement = currentNodeStack.peek();
         if (currentElement.characterDataParser == null) return;
-        currentElement.characterDataParser.append(characterData, startOffset, endOffset);
+        currentElement.recordTextContent(characterData, offset, length);
+        currentElement.characterDataParser.append(characterData, offset, length);
     }
 
     public void endElement(@NotNull String tagName) {
@@ -161,33 +200,117 @@ public final class SVGDocumentBuilder {
 
     void preProcess(@Nullable URI documentUri) {
         if (rootNode == null) throw new IllegalStateException("No root node");
-        processStyleSheets();
+        long styleSheetDuration = processStyleSheets();
 
         DomProcessor preProcessor = parserProvider.createPreProcessor(documentUri);
-        if (preProcessor != null) preProcessor.process(rootNode);
+        if (preProcessor != null) {
+            long start = phaseStart();
+            try {
+                preProcessor.process(rootNode);
+            } finally {
+                phaseCompleted(LoadListener.Phase.PRE_PROCESS, start);
+            }
+        }
+        // Rules are matched against the same tree as the one used to resolve rules without combinators.
+        matchSelectorRules(styleSheetDuration);
+    }
+
+    /**
+     * Parses all style sheets and applies them to the attributes of every element.
+     */
+    void applyStyleSheets() {
+        if (rootNode == null) throw new IllegalStateException("No root node");
+        matchSelectorRules(processStyleSheets());
+        Deque<ParsedElement> stack = new ArrayDeque<>();
+        stack.push(rootNode);
+        while (!stack.isEmpty()) {
+            ParsedElement element = stack.pop();
+            element.prepareForNodeBuilding();
+            for (ParsedElement child : element.children()) {
+                stack.push(child);
+            }
+        }
     }
 
     void postProcess() {
         if (rootNode == null) throw new IllegalStateException("No root node");
         DomProcessor postProcessor = parserProvider.createPostProcessor();
-        if (postProcessor != null) postProcessor.process(rootNode);
+        if (postProcessor == null) return;
+        long start = phaseStart();
+        try {
+            postProcessor.process(rootNode);
+        } finally {
+            phaseCompleted(LoadListener.Phase.POST_PROCESS, start);
+        }
+    }
+
+    private long phaseStart() {
+        return loadListener != null ? System.nanoTime() : 0;
+    }
+
+    private void phaseCompleted(@NotNull LoadListener.Phase phase, long start) {
+        if (loadListener == null) return;
+        loadListener.phaseCompleted(parsedDocument.rootURI(), phase, System.nanoTime() - start);
     }
 
     public @NotNull SVGDocument build() {
         preProcess(parsedDocument.rootURI());
-        rootNode.build();
+        buildNodes();
         postProcess();
         validateUseElements();
+        // The node tree is complete. The attributes aren't needed anymore.
+        rootNode.releaseAttributes();
         return new SVGDocument((SVG) rootNode.node());
     }
 
-    private void processStyleSheets() {
-        if (styleElements.isEmpty()) return;
+    private void buildNodes() {
+        long start = phaseStart();
+        try {
+            buildNodeTree();
+        } finally {
+            phaseCompleted(LoadListener.Phase.BUILD, start);
+        }
+    }
+
+    private void buildNodeTree() {
+        LoaderContext loaderContext = parsedDocument.loaderContext();
+        ForkJoinPool pool = loaderContext.parallelBuildPool();
+        // Custom element loaders may resolve references we can't detect upfront.
+        if (pool != null && loaderContext.elementLoader() instanceof DefaultElementLoader) {
+            ParallelNodeBuilder.buildIndependentSubtrees(rootNode, pool);
+        }
+        // Builds everything that remains, in particular all elements which reference other elements.
+        rootNode.build();
+    }
+
+    /*
+     * Returns the time spent parsing, which is reported together with the time needed to match the selectors.
+     */
+    private long processStyleSheets() {
+        if (styleElements.isEmpty()) return 0;
+        long start = phaseStart();
+        parseStyleSheets();
+        return loadListener != null ? System.nanoTime() - start : 0;
+    }
+
+    private void parseStyleSheets() {
         CssParser cssParser = parserProvider.createCssParser();
         for (Style styleElement : styleElements) {
             styleElement.parseStyleSheet(cssParser);
             styleSheets.add(styleElement.styleSheet());
         }
+        parsedDocument.setStyleResolver(new StyleResolver(styleSheets));
+    }
+
+    private void matchSelectorRules(long styleSheetDuration) {
+        StyleResolver styleResolver = parsedDocument.styleResolver();
+        if (styleResolver == null) return;
+        long start = phaseStart();
+        try {
+            styleResolver.matchSelectorRules(Objects.requireNonNull(rootNode));
+        } finally {
+            phaseCompleted(LoadListener.Phase.STYLE_SHEETS, start - styleSheetDuration);
+        }
     }
 
     private void validateUseElements() {
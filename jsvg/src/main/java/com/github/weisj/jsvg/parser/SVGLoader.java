@@ -25,6 +25,11 @@ import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
@@ -38,12 +43,15 @@ import com.github.weisj.jsvg.SVGDocument;
 /**
  * Class for loading svg files as an {@link SVGDocument}.
  * Note that this class isn't guaranteed to be thread safe and hence shouldn't be used across multiple threads.
+ * The only exception are the {@code loadAll} methods, which can be used to load many documents concurrently.
  */
 public final class SVGLoader {
 
     static final Logger LOGGER = Logger.getLogger(SVGLoader.class.getName());
     private static final @NotNull NodeSupplier NODE_SUPPLIER = new NodeSupplier();
     private final StaxSVGLoader loader = new StaxSVGLoader(NODE_SUPPLIER);
+    // Loaders used by loadAll. Each one has its own XMLInputFactory.
+    private final Queue<StaxSVGLoader> loaderPool = new ConcurrentLinkedQueue<>();
 
     public @Nullable SVGDocument load(@NotNull URL xmlBase) {
         return load(xmlBase, new DefaultParserProvider());
@@ -115,6 +123,89 @@ public final class SVGLoader {
         return null;
     }
 
+    public @NotNull Map<@NotNull URI, @NotNull CompletableFuture<@Nullable SVGDocument>> loadAll(
+            @NotNull Collection<@NotNull URI> uris, @NotNull Executor executor) {
+        return loadAll(uris, executor, LoaderContext.createDefault(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Load the documents at the given uris concurrently using the given executor.
+     * <p>
+     * At most {@code maxConcurrentLoads} documents are loaded at the same time. If this limit is reached this method
+     * blocks until a document has finished loading, before handing the next one to the executor.
+     * Note: The {@link ResourceLoader} of the loader context needs to be thread safe.
+     *
+     * @param uris the uris of the documents.
+     * @param executor the executor to load the documents on.
+     * @param loaderContext The loader context to use for loading the documents.
+     * @param maxConcurrentLoads the maximum number of documents being loaded at the same time.
+     * @return a future for each distinct uri, in iteration order of the given collection. A future completes with
+     *         null if the document couldn't be loaded, mirroring {@link #load(URL, LoaderContext)}.
+     */
+    public @NotNull Map<@NotNull URI, @NotNull CompletableFuture<@Nullable SVGDocument>> loadAll(
+            @NotNull Collection<@NotNull URI> uris, @NotNull Executor executor,
+            @NotNull LoaderContext loaderContext, int maxConcurrentLoads) {
+        if (maxConcurrentLoads <= 0) {
+            throw new IllegalArgumentException("maxConcurrentLoads must be positive: " + maxConcurrentLoads);
+        }
+        Semaphore permits = new Semaphore(maxConcurrentLoads);
+        Map<URI, CompletableFuture<SVGDocument>> documents = new LinkedHashMap<>();
+        for (URI uri : uris) {
+            if (documents.containsKey(uri)) continue;
+            CompletableFuture<SVGDocument> future = new CompletableFuture<>();
+            documents.put(uri, future);
+            permits.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        future.complete(loadPooled(uri, loaderContext));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                future.completeExceptionally(e);
+            }
+        }
+        return documents;
+    }
+
+    /*
+     * Thread safe variant of load(URL, LoaderContext).
+     */
+    @Nullable
+    SVGDocument loadPooled(@NotNull URI uri, @NotNull LoaderContext loaderContext) {
+        InputStream inputStream;
+        try {
+            inputStream = uri.toURL().openStream();
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not read " + uri, e);
+            return null;
+        }
+        return loadPooled(inputStream, uri, loaderContext);
+    }
+
+    /*
+     * Thread safe variant of load(InputStream, URI, LoaderContext).
+     */
+    @Nullable
+    SVGDocument loadPooled(@NotNull InputStream inputStream, @Nullable URI xmlBase,
+            @NotNull LoaderContext loaderContext) {
+        StaxSVGLoader pooledLoader = loaderPool.poll();
+        if (pooledLoader == null) pooledLoader = new StaxSVGLoader(NODE_SUPPLIER);
+        try {
+            return pooledLoader.load(createDocumentInputStream(inputStream), xmlBase, loaderContext);
+        } catch (Throwable e) {
+            LOGGER.log(Level.WARNING, "Could not load SVG " + xmlBase, e);
+        } finally {
+            loaderPool.offer(pooledLoader);
+        }
+        return null;
+    }
+
     @ApiStatus.Internal
     StaxSVGLoader loader() {
         return loader;
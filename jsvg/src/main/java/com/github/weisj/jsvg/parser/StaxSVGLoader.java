@@ -21,10 +21,11 @@
  */
 package com.github.weisj.jsvg.parser;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +35,8 @@ import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
 
@@ -48,13 +51,33 @@ public final class StaxSVGLoader {
     private static final String SVG_NAMESPACE_URI = "http://www.w3.org/2000/svg";
     private static final String XLINK_NAMESPACE_URI = "http://www.w3.org/1999/xlink";
 
+    /**
+     * The StAX api used for reading the document.
+     */
+    public enum ReaderMode {
+        /**
+         * Use the {@link XMLEventReader} api. Every node in the document is materialized as an {@link XMLEvent}.
+         */
+        EVENT,
+        /**
+         * Use the {@link XMLStreamReader} cursor api. Names, attributes and character data are read directly from
+         * the readers internal buffers.
+         */
+        CURSOR
+    }
+
     private final @NotNull NodeSupplier nodeSupplier;
     private final @NotNull XMLInputFactory xmlInputFactory;
+    private final @NotNull ReaderMode readerMode;
 
     public StaxSVGLoader(@NotNull NodeSupplier nodeSupplier) {
         this(nodeSupplier, createDefaultFactory());
     }
 
+    public StaxSVGLoader(@NotNull NodeSupplier nodeSupplier, @NotNull ReaderMode readerMode) {
+        this(nodeSupplier, createDefaultFactory(), readerMode);
+    }
+
     private static @NotNull XMLInputFactory createDefaultFactory() {
         XMLInputFactory factory = XMLInputFactory.newFactory();
         factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
@@ -64,11 +87,21 @@ public final class StaxSVGLoader {
     }
 
     public StaxSVGLoader(@NotNull NodeSupplier nodeSupplier, @NotNull XMLInputFactory factory) {
+        this(nodeSupplier, factory, ReaderMode.CURSOR);
+    }
+
+    public StaxSVGLoader(@NotNull NodeSupplier nodeSupplier, @NotNull XMLInputFactory factory,
+            @NotNull ReaderMode readerMode) {
         this.nodeSupplier = nodeSupplier;
         this.xmlInputFactory = factory;
+        this.readerMode = readerMode;
+    }
+
+    public @NotNull ReaderMode readerMode() {
+        return readerMode;
     }
 
-    private @Nullable XMLEventReader createReader(@Nullable InputStream inputStream) {
+    private @Nullable XMLEventReader createEventReader(@NotNull InputStream inputStream) {
         try {
             return xmlInputFactory.createXMLEventReader(inputStream);
         } catch (XMLStreamException e) {
@@ -77,6 +110,15 @@ public final class StaxSVGLoader {
         }
     }
 
+    private @Nullable XMLStreamReader createStreamReader(@NotNull InputStream inputStream) {
+        try {
+            return xmlInputFactory.createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            LOGGER.log(Level.SEVERE, "Error while creating XMLStreamReader.", e);
+            return null;
+        }
+    }
+
     /**
      * @deprecated use {@link #load(InputStream, URI, LoaderContext)} instead
      */
@@ -98,10 +140,46 @@ public final class StaxSVGLoader {
             @Nullable URI xmlBase,
             @NotNull LoaderContext loaderContext) throws IOException, XMLStreamException {
         if (inputStream == null) return null;
-        XMLEventReader reader = createReader(inputStream);
+        return parse(inputStream, new SVGDocumentBuilder(xmlBase, loaderContext, nodeSupplier));
+    }
+
+    @ApiStatus.Internal
+    @Nullable
+    SVGDocumentBuilder parse(@NotNull InputStream inputStream, @NotNull SVGDocumentBuilder builder)
+            throws IOException, XMLStreamException {
+        LoadListener loadListener = builder.parsedDocument().loaderContext().loadListener();
+        if (loadListener == null) return parseDocument(inputStream, builder);
+
+        URI documentUri = builder.parsedDocument().rootURI();
+        CountingInputStream countingInputStream = new CountingInputStream(inputStream);
+        long start = System.nanoTime();
+        SVGDocumentBuilder result = null;
+        try {
+            result = parseDocument(countingInputStream, builder);
+        } finally {
+            loadListener.phaseCompleted(documentUri, LoadListener.Phase.PARSE, System.nanoTime() - start);
+            if (result != null) {
+                loadListener.documentParsed(documentUri, builder.elementCounts(), countingInputStream.count);
+            }
+        }
+        return result;
+    }
+
+    private @Nullable SVGDocumentBuilder parseDocument(@NotNull InputStream inputStream,
+            @NotNull SVGDocumentBuilder builder) throws IOException, XMLStreamException {
+        if (readerMode == ReaderMode.CURSOR) {
+            return parseWithStreamReader(inputStream, builder);
+        } else {
+            return parseWithEventReader(inputStream, builder);
+        }
+    }
+
+    private @Nullable SVGDocumentBuilder parseWithEventReader(
+            @NotNull InputStream inputStream,
+            @NotNull SVGDocumentBuilder builder) throws IOException, XMLStreamException {
+        XMLEventReader reader = createEventReader(inputStream);
         if (reader == null) return null;
         try {
-            SVGDocumentBuilder builder = new SVGDocumentBuilder(xmlBase, loaderContext, nodeSupplier);
             while (reader.hasNext()) {
                 XMLEvent event = reader.nextEvent();
                 switch (event.getEventType()) {
@@ -119,9 +197,12 @@ public final class StaxSVGLoader {
                             skipElement(reader);
                             break;
                         }
-                        Map<String, String> attributes = new HashMap<>();
-                        element.getAttributes().forEachRemaining(
-                                attr -> attributes.put(qualifiedName(attr.getName()), attr.getValue().trim()));
+                        Map<String, String> attributes = new CompactAttributeMap();
+                        Iterator<?> attributeIterator = element.getAttributes();
+                        while (attributeIterator.hasNext()) {
+                            Attribute attr = (Attribute) attributeIterator.next();
+                            attributes.put(qualifiedName(attr.getName()), attr.getValue().trim());
+                        }
                         if (!builder.startElement(qualifiedName(element.getName()), attributes)) {
                             skipElement(reader);
                         }
@@ -160,6 +241,84 @@ public final class StaxSVGLoader {
         return null;
     }
 
+    private @Nullable SVGDocumentBuilder parseWithStreamReader(
+            @NotNull InputStream inputStream,
+            @NotNull SVGDocumentBuilder builder) throws IOException, XMLStreamException {
+        XMLStreamReader reader = createStreamReader(inputStream);
+        if (reader == null) return null;
+        // The text buffer of the reader is read-only, but character data is normalized in place.
+        char[] textBuffer = new char[0];
+        try {
+            // The cursor is already positioned on the START_DOCUMENT event.
+            int eventType = reader.getEventType();
+            while (true) {
+                switch (eventType) {
+                    case XMLStreamConstants.START_DOCUMENT:
+                        builder.startDocument();
+                        break;
+                    case XMLStreamConstants.END_DOCUMENT:
+                        builder.endDocument();
+                        break;
+
+                    case XMLStreamConstants.START_ELEMENT:
+                        String uri = reader.getNamespaceURI();
+                        if (uri != null && !uri.isEmpty() && !SVG_NAMESPACE_URI.equals(uri)) {
+                            skipElement(reader);
+                            break;
+                        }
+                        int attributeCount = reader.getAttributeCount();
+                        Map<String, String> attributes = new CompactAttributeMap(attributeCount);
+                        for (int i = 0; i < attributeCount; i++) {
+                            attributes.put(
+                                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i),
+                                            reader.getAttributeNamespace(i)),
+                                    reader.getAttributeValue(i).trim());
+                        }
+                        if (!builder.startElement(qualifiedName(reader.getPrefix(), reader.getLocalName(), uri),
+                                attributes)) {
+                            skipElement(reader);
+                        }
+                        break;
+
+                    case XMLStreamConstants.END_ELEMENT:
+                        builder.endElement(
+                                qualifiedName(reader.getPrefix(), reader.getLocalName(), reader.getNamespaceURI()));
+                        break;
+
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.CHARACTERS:
+                        int textLength = reader.getTextLength();
+                        if (textBuffer.length < textLength) textBuffer = new char[Math.max(textLength, 256)];
+                        System.arraycopy(reader.getTextCharacters(), reader.getTextStart(), textBuffer, 0,
+                                textLength);
+                        builder.addTextContent(textBuffer, 0, textLength);
+                        break;
+
+                    case XMLStreamConstants.SPACE:
+                        // This is ignorable whitespace.
+                    case XMLStreamConstants.COMMENT:
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                    case XMLStreamConstants.ATTRIBUTE:
+                    case XMLStreamConstants.DTD:
+                    case XMLStreamConstants.NAMESPACE:
+                    case XMLStreamConstants.NOTATION_DECLARATION:
+                    case XMLStreamConstants.ENTITY_DECLARATION:
+                        break;
+                }
+                if (eventType == XMLStreamConstants.END_DOCUMENT || !reader.hasNext()) break;
+                eventType = reader.next();
+            }
+            return builder;
+        } catch (XMLStreamException e) {
+            LOGGER.log(Level.SEVERE, "Error while parsing SVG.", e);
+        } finally {
+            reader.close();
+            inputStream.close();
+        }
+        return null;
+    }
+
     public @Nullable SVGDocument load(
             @Nullable InputStream inputStream,
             @Nullable URI xmlBase,
@@ -169,6 +328,40 @@ public final class StaxSVGLoader {
         return builder.build();
     }
 
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(@NotNull InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
     private static void skipElement(@NotNull XMLEventReader reader) throws XMLStreamException {
         int elementCount = 1;
         while (reader.hasNext()) {
@@ -182,13 +375,29 @@ public final class StaxSVGLoader {
         }
     }
 
+    private static void skipElement(@NotNull XMLStreamReader reader) throws XMLStreamException {
+        int elementCount = 1;
+        while (reader.hasNext()) {
+            int eventType = reader.next();
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                elementCount++;
+            } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+                elementCount--;
+            }
+            if (elementCount == 0) return;
+        }
+    }
+
     private static String qualifiedName(@NotNull QName name) {
-        String prefix = name.getPrefix();
-        String localName = name.getLocalPart();
+        return qualifiedName(name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+    }
+
+    private static String qualifiedName(@Nullable String prefix, @NotNull String localName,
+            @Nullable String namespaceURI) {
         if (prefix == null) return localName;
         if (prefix.isEmpty()) return localName;
-        if (SVG_NAMESPACE_URI.equals(name.getNamespaceURI())) return localName;
-        if (XLINK_NAMESPACE_URI.equals(name.getNamespaceURI())) return "xlink:" + localName;
+        if (SVG_NAMESPACE_URI.equals(namespaceURI)) return localName;
+        if (XLINK_NAMESPACE_URI.equals(namespaceURI)) return "xlink:" + localName;
         return prefix + ":" + localName;
     }
 }
@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg.parser.css.StyleProperty;
+import com.github.weisj.jsvg.parser.css.StyleSheet;
+import com.github.weisj.jsvg.parser.css.impl.ElementSignature;
+import com.github.weisj.jsvg.parser.css.impl.Selector;
+import com.github.weisj.jsvg.parser.css.impl.SimpleStyleSheet;
+
+/**
+ * Resolves the style sheet declarations of the elements of a document.
+ * <p>
+ * Rules without combinators only depend on the tag name, id and classes of an element. If all style sheets are
+ * {@link SimpleStyleSheet}s the matching rules are resolved once per distinct signature and shared between all
+ * elements with the same signature. Rules with combinators depend on the ancestors of an element and are matched
+ * in a single pass over the document before any node is built.
+ * <p>
+ * Precedence (from highest to lowest): Inline styles, followed by all matching rules ordered by the specificity of
+ * their selector, the order of their style sheet and lastly their position in the style sheet. Style sheets of
+ * other implementations don't expose the specificity of their rules, hence if one is present, rules are ordered by
+ * their style sheet first.
+ */
+final class StyleResolver {
+    private static final @NotNull Comparator<@NotNull MatchedRule> PRECEDENCE =
+            Comparator.comparingInt((MatchedRule r) -> r.rule.selector().specificity())
+                    .thenComparingInt(r -> r.sheetIndex)
+                    .thenComparingInt(r -> r.rule.order())
+                    .reversed();
+
+    private final @NotNull List<@NotNull StyleSheet> styleSheets;
+    private final boolean compiled;
+    private final boolean hasCombinatorRules;
+
+    private final @NotNull Set<String> idsWithRules = new HashSet<>();
+    private final @NotNull Set<String> classesWithRules = new HashSet<>();
+    private final @NotNull Map<ElementSignature, ResolvedRules> resolvedRules = new ConcurrentHashMap<>();
+
+    StyleResolver(@NotNull List<@NotNull StyleSheet> styleSheets) {
+        this.styleSheets = styleSheets;
+        boolean allCompiled = true;
+        boolean combinatorRules = false;
+        for (StyleSheet sheet : styleSheets) {
+            if (sheet instanceof SimpleStyleSheet) {
+                SimpleStyleSheet simpleSheet = (SimpleStyleSheet) sheet;
+                idsWithRules.addAll(simpleSheet.subjectIds());
+                classesWithRules.addAll(simpleSheet.subjectClasses());
+                combinatorRules |= simpleSheet.hasCombinatorRules();
+            } else {
+                allCompiled = false;
+            }
+        }
+        this.compiled = allCompiled;
+        this.hasCombinatorRules = combinatorRules;
+    }
+
+    /**
+     * Matches all rules with combinators against the elements of the given subtree. This has to happen before
+     * nodes are built, as building may happen concurrently and discards attributes of already built elements.
+     *
+     * @param root the root of the subtree.
+     */
+    void matchSelectorRules(@NotNull ParsedElement root) {
+        if (!hasCombinatorRules) return;
+        matchSelectorRules(root, new ArrayList<>(), 0L, new ArrayList<>());
+    }
+
+    private void matchSelectorRules(@NotNull ParsedElement element, @NotNull List<@NotNull ElementSignature> path,
+            long ancestorFilter, @NotNull List<SimpleStyleSheet.SelectorRule> matches) {
+        ElementSignature signature = signature(element);
+        path.add(signature);
+
+        List<MatchedRule> matchedRules = null;
+        for (int i = 0; i < styleSheets.size(); i++) {
+            StyleSheet sheet = styleSheets.get(i);
+            if (!(sheet instanceof SimpleStyleSheet)) continue;
+            matches.clear();
+            ((SimpleStyleSheet) sheet).collectMatchingCombinatorRules(path, ancestorFilter, matches);
+            if (matches.isEmpty()) continue;
+            if (matchedRules == null) matchedRules = new ArrayList<>();
+            for (SimpleStyleSheet.SelectorRule rule : matches) {
+                matchedRules.add(new MatchedRule(rule, i));
+            }
+        }
+        element.attributeNode().setMatchedCombinatorRules(matchedRules);
+
+        long childAncestorFilter = ancestorFilter | Selector.ancestorFilterBits(signature);
+        for (ParsedElement child : element.children()) {
+            matchSelectorRules(child, path, childAncestorFilter, matches);
+        }
+        path.remove(path.size() - 1);
+    }
+
+    private static @NotNull ElementSignature signature(@NotNull ParsedElement element) {
+        return new ElementSignature(element.node().tagName(), element.id(),
+                element.attributeNode().getStringList("class", SeparatorMode.WHITESPACE_ONLY));
+    }
+
+    /**
+     * Adds the style sheet declarations applying to the element to the given map. Properties already present
+     * in the map take precedence.
+     *
+     * @param element the element
+     * @param styleAttributes the attributes of the element set through styles.
+     */
+    void resolveDeclarations(@NotNull ParsedElement element, @NotNull Map<String, String> styleAttributes) {
+        List<MatchedRule> combinatorRules = element.attributeNode().matchedCombinatorRules();
+        if (compiled) {
+            ResolvedRules resolved = resolvedRules.computeIfAbsent(normalizedSignature(element), this::resolveRules);
+            if (combinatorRules == null) {
+                for (Map.Entry<String, String> entry : resolved.declarations.entrySet()) {
+                    putIfAbsent(styleAttributes, entry.getKey(), entry.getValue());
+                }
+            } else {
+                List<MatchedRule> rules = new ArrayList<>(resolved.rules.size() + combinatorRules.size());
+                rules.addAll(resolved.rules);
+                rules.addAll(combinatorRules);
+                rules.sort(PRECEDENCE);
+                applyRules(rules, styleAttributes);
+            }
+        } else {
+            ElementSignature signature = signature(element);
+            List<SimpleStyleSheet.SelectorRule> matches = new ArrayList<>();
+            // Traverse the style sheets in backwards order to only use the newest definition.
+            for (int i = styleSheets.size() - 1; i >= 0; i--) {
+                StyleSheet sheet = styleSheets.get(i);
+                if (!(sheet instanceof SimpleStyleSheet)) {
+                    sheet.forEachMatchingRule(element, p -> putIfAbsent(styleAttributes, p.name(), p.value()));
+                    continue;
+                }
+                matches.clear();
+                ((SimpleStyleSheet) sheet).collectMatchingRules(signature, matches);
+                List<MatchedRule> rules = new ArrayList<>(matches.size());
+                for (SimpleStyleSheet.SelectorRule rule : matches) {
+                    rules.add(new MatchedRule(rule, i));
+                }
+                if (combinatorRules != null) {
+                    for (MatchedRule rule : combinatorRules) {
+                        if (rule.sheetIndex == i) rules.add(rule);
+                    }
+                }
+                rules.sort(PRECEDENCE);
+                applyRules(rules, styleAttributes);
+            }
+        }
+    }
+
+    private static void applyRules(@NotNull List<@NotNull MatchedRule> rules,
+            @NotNull Map<String, String> styleAttributes) {
+        for (MatchedRule rule : rules) {
+            // Within a rule later declarations take precedence.
+            List<StyleProperty> properties = rule.rule.properties();
+            for (int i = properties.size() - 1; i >= 0; i--) {
+                StyleProperty property = properties.get(i);
+                putIfAbsent(styleAttributes, property.name(), property.value());
+            }
+        }
+    }
+
+    private static void putIfAbsent(@NotNull Map<String, String> map, @NotNull String key, @NotNull String value) {
+        // FIXME: Only use the newest *valid* definition of a property value.
+        if (!map.containsKey(key)) map.put(key, value);
+    }
+
+    /*
+     * The signature of the element reduced to the ids and classes, which actually have rules.
+     * This allows more elements to share the same resolved declarations.
+     */
+    private @NotNull ElementSignature normalizedSignature(@NotNull ParsedElement element) {
+        String id = element.id();
+        if (id != null && !idsWithRules.contains(id)) id = null;
+        String[] classes = element.attributeNode().getStringList("class", SeparatorMode.WHITESPACE_ONLY);
+        int count = 0;
+        for (String className : classes) {
+            if (classesWithRules.contains(className)) classes[count++] = className;
+        }
+        if (count != classes.length) classes = Arrays.copyOf(classes, count);
+        return new ElementSignature(element.node().tagName(), id, classes);
+    }
+
+    private @NotNull ResolvedRules resolveRules(@NotNull ElementSignature signature) {
+        List<MatchedRule> rules = new ArrayList<>();
+        List<SimpleStyleSheet.SelectorRule> matches = new ArrayList<>();
+        for (int i = 0; i < styleSheets.size(); i++) {
+            matches.clear();
+            ((SimpleStyleSheet) styleSheets.get(i)).collectMatchingRules(signature, matches);
+            for (SimpleStyleSheet.SelectorRule rule : matches) {
+                rules.add(new MatchedRule(rule, i));
+            }
+        }
+        if (rules.isEmpty()) return ResolvedRules.EMPTY;
+        rules.sort(PRECEDENCE);
+        Map<String, String> declarations = new LinkedHashMap<>();
+        applyRules(rules, declarations);
+        return new ResolvedRules(Collections.unmodifiableList(rules), Collections.unmodifiableMap(declarations));
+    }
+
+    /**
+     * A rule matching an element together with the position of its style sheet.
+     */
+    static final class MatchedRule {
+        private final @NotNull SimpleStyleSheet.SelectorRule rule;
+        private final int sheetIndex;
+
+        private MatchedRule(@NotNull SimpleStyleSheet.SelectorRule rule, int sheetIndex) {
+            this.rule = rule;
+            this.sheetIndex = sheetIndex;
+        }
+    }
+
+    private static final class ResolvedRules {
+        private static final ResolvedRules EMPTY = new ResolvedRules(Collections.emptyList(), Collections.emptyMap());
+
+        // Ordered by precedence.
+        private final @NotNull List<@NotNull MatchedRule> rules;
+        private final @NotNull Map<String, String> declarations;
+
+        private ResolvedRules(@NotNull List<@NotNull MatchedRule> rules, @NotNull Map<String, String> declarations) {
+            this.rules = rules;
+            this.declarations = declarations;
+        }
+    }
+}
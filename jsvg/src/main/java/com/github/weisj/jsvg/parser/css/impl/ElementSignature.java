@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser.css.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The parts of an element style sheet rules can be matched against i.e. its tag name, id and classes.
+ */
+public final class ElementSignature {
+    private final @NotNull String tagName;
+    private final @Nullable String id;
+    private final @NotNull String @NotNull [] classes;
+    private final int hashCode;
+
+    public ElementSignature(@NotNull String tagName, @Nullable String id, @NotNull String @NotNull [] classes) {
+        this.tagName = tagName;
+        this.id = id;
+        this.classes = withoutDuplicates(classes);
+        this.hashCode = 31 * (31 * tagName.hashCode() + Objects.hashCode(id)) + Arrays.hashCode(this.classes);
+    }
+
+    private static @NotNull String @NotNull [] withoutDuplicates(@NotNull String @NotNull [] classes) {
+        int count = 0;
+        String[] result = classes;
+        for (int i = 0; i < classes.length; i++) {
+            if (indexOf(classes, classes[i], i) >= 0) {
+                if (result == classes) {
+                    result = Arrays.copyOf(classes, classes.length);
+                    count = i;
+                }
+                continue;
+            }
+            if (result != classes) result[count] = classes[i];
+            count++;
+        }
+        return result == classes ? classes : Arrays.copyOf(result, count);
+    }
+
+    private static int indexOf(@NotNull String[] values, @NotNull String value, int end) {
+        for (int i = 0; i < end; i++) {
+            if (values[i].equals(value)) return i;
+        }
+        return -1;
+    }
+
+    public @NotNull String tagName() {
+        return tagName;
+    }
+
+    public @Nullable String id() {
+        return id;
+    }
+
+    public @NotNull String @NotNull [] classes() {
+        return classes.clone();
+    }
+
+    int classCount() {
+        return classes.length;
+    }
+
+    @NotNull
+    String classAt(int index) {
+        return classes[index];
+    }
+
+    boolean hasClass(@NotNull String className) {
+        return indexOf(classes, className, classes.length) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ElementSignature that = (ElementSignature) o;
+        return hashCode == that.hashCode
+                && tagName.equals(that.tagName)
+                && Objects.equals(id, that.id)
+                && Arrays.equals(classes, that.classes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSignature{" +
+                "tagName='" + tagName + '\'' +
+                ", id='" + id + '\'' +
+                ", classes=" + Arrays.toString(classes) +
+                '}';
+    }
+}
@@ -38,15 +38,26 @@ public final class Lexer {
 
     private boolean inRuleDefinition;
     private boolean parsingRaw;
+    private boolean precededByWhitespace;
 
 
     public Lexer(@NotNull List<char[]> input) {
         this.input = input;
     }
 
+    /**
+     * Whether the token most recently returned by {@link #nextToken()} was preceded by whitespace.
+     * This is needed to distinguish compound selectors e.g. {@code g.a} from descendant selectors {@code g .a}.
+     *
+     * @return true if whitespace has been skipped before the last token.
+     */
+    public boolean isPrecededByWhitespace() {
+        return precededByWhitespace;
+    }
+
     @NotNull
     public Token nextToken() {
-        consumeWhiteSpace();
+        precededByWhitespace = consumeWhiteSpace();
 
         if (inRuleDefinition && parsingRaw) {
             // Raw parsing of RHS
@@ -77,6 +88,12 @@ public final class Lexer {
             case ',':
                 next();
                 return new Token(TokenType.COMMA);
+            case '>':
+                next();
+                return new Token(TokenType.CHILD_COMBINATOR);
+            case '*':
+                next();
+                return new Token(TokenType.IDENTIFIER, "*");
             case '.':
                 next();
                 return new Token(TokenType.CLASS_NAME, readIdentifier());
@@ -103,10 +120,13 @@ public final class Lexer {
                 || (listIndex == input.size() - 1 && index >= input.get(listIndex).length);
     }
 
-    private void consumeWhiteSpace() {
+    private boolean consumeWhiteSpace() {
+        boolean consumed = false;
         while (Character.isWhitespace(current())) {
             next();
+            consumed = true;
         }
+        return consumed;
     }
 
     private boolean isIdentifierCharStart(char c) {
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser.css.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A selector consisting of compound selectors joined by descendant or child combinators e.g. {@code g.a > rect}.
+ * <p>
+ * Matching starts at the rightmost compound selector. Before walking up the ancestors a selector consults a bloom
+ * filter of the ancestors' tag names, ids and classes, which rejects most non-matching elements immediately.
+ */
+public final class Selector {
+    private static final int TAG_KEY = 1;
+    private static final int ID_KEY = 2;
+    private static final int CLASS_KEY = 3;
+
+    private final @NotNull Compound @NotNull [] compounds;
+    // childCombinator[i] describes the combinator between compounds[i] and compounds[i + 1].
+    private final boolean @NotNull [] childCombinator;
+    private final long requiredAncestorFilter;
+    private final int specificity;
+
+    Selector(@NotNull List<@NotNull Compound> compounds, @NotNull List<@NotNull Boolean> childCombinators) {
+        if (compounds.size() != childCombinators.size() + 1) throw new IllegalArgumentException();
+        this.compounds = compounds.toArray(new Compound[0]);
+        this.childCombinator = new boolean[childCombinators.size()];
+        long filter = 0;
+        for (int i = 0; i < childCombinator.length; i++) {
+            childCombinator[i] = childCombinators.get(i);
+            filter |= this.compounds[i].filterBits();
+        }
+        this.requiredAncestorFilter = filter;
+        int ids = 0;
+        int classes = 0;
+        int tagNames = 0;
+        for (Compound compound : this.compounds) {
+            if (compound.id != null) ids++;
+            classes += compound.classes.length;
+            if (compound.tagName != null) tagNames++;
+        }
+        this.specificity = (Math.min(ids, 0x3FF) << 20)
+                | (Math.min(classes, 0x3FF) << 10)
+                | Math.min(tagNames, 0x3FF);
+    }
+
+    /**
+     * Computes the bloom filter bits an element contributes to the ancestor filter of its descendants.
+     *
+     * @param signature the signature of the element.
+     * @return the filter bits.
+     */
+    public static long ancestorFilterBits(@NotNull ElementSignature signature) {
+        long bits = filterBits(TAG_KEY, signature.tagName());
+        String id = signature.id();
+        if (id != null) bits |= filterBits(ID_KEY, id);
+        for (int i = 0, count = signature.classCount(); i < count; i++) {
+            bits |= filterBits(CLASS_KEY, signature.classAt(i));
+        }
+        return bits;
+    }
+
+    private static long filterBits(int kind, @NotNull String value) {
+        int hash = value.hashCode() * 31 + kind;
+        hash ^= hash >>> 16;
+        return (1L << (hash & 63)) | (1L << ((hash >>> 6) & 63));
+    }
+
+    /**
+     * Whether the selector is just a single tag name, id or class selector.
+     *
+     * @return true if the selector is a simple selector.
+     */
+    boolean isSimple() {
+        return compounds.length == 1 && compounds[0].partCount() == 1 && !compounds[0].isUniversal();
+    }
+
+    /**
+     * Whether the selector consists of more than one compound selector i.e. whether matching it depends on the
+     * ancestors of an element.
+     *
+     * @return true if the selector contains combinators.
+     */
+    public boolean hasCombinators() {
+        return compounds.length > 1;
+    }
+
+    /**
+     * The specificity of the selector. Rules with selectors of higher specificity take precedence.
+     * The number of ids, classes and tag names are packed into a single comparable value.
+     *
+     * @return the specificity.
+     */
+    public int specificity() {
+        return specificity;
+    }
+
+    /**
+     * Matches the subject of the selector against the given element. For selectors without combinators this is
+     * equivalent to matching the whole selector.
+     *
+     * @param signature the signature of the element.
+     * @return whether the subject matches.
+     */
+    boolean subjectMatches(@NotNull ElementSignature signature) {
+        return subject().matches(signature);
+    }
+
+    @NotNull
+    Compound subject() {
+        return compounds[compounds.length - 1];
+    }
+
+    /**
+     * Matches the selector against the last element of the given path.
+     *
+     * @param path the element followed by its ancestors, starting with the root element.
+     * @param ancestorFilter the union of {@link #ancestorFilterBits(ElementSignature)} of all ancestors.
+     * @return whether the selector matches.
+     */
+    public boolean matches(@NotNull List<@NotNull ElementSignature> path, long ancestorFilter) {
+        if ((ancestorFilter & requiredAncestorFilter) != requiredAncestorFilter) return false;
+        return matches(compounds.length - 1, path, path.size() - 1);
+    }
+
+    private boolean matches(int compoundIndex, @NotNull List<@NotNull ElementSignature> path, int pathIndex) {
+        if (!compounds[compoundIndex].matches(path.get(pathIndex))) return false;
+        if (compoundIndex == 0) return true;
+        if (childCombinator[compoundIndex - 1]) {
+            return pathIndex > 0 && matches(compoundIndex - 1, path, pathIndex - 1);
+        }
+        for (int ancestor = pathIndex - 1; ancestor >= 0; ancestor--) {
+            if (matches(compoundIndex - 1, path, ancestor)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < compounds.length; i++) {
+            if (i > 0) builder.append(childCombinator[i - 1] ? " > " : " ");
+            builder.append(compounds[i]);
+        }
+        return builder.toString();
+    }
+
+    static final class Compound {
+        private final @Nullable String tagName;
+        private final @Nullable String id;
+        private final @NotNull String @NotNull [] classes;
+
+        Compound(@Nullable String tagName, @Nullable String id, @NotNull List<@NotNull String> classes) {
+            this.tagName = "*".equals(tagName) ? null : tagName;
+            this.id = id;
+            this.classes = classes.toArray(new String[0]);
+        }
+
+        @Nullable
+        String tagName() {
+            return tagName;
+        }
+
+        @Nullable
+        String id() {
+            return id;
+        }
+
+        @Nullable
+        String firstClass() {
+            return classes.length > 0 ? classes[0] : null;
+        }
+
+        void addClassesTo(@NotNull Collection<String> collection) {
+            Collections.addAll(collection, classes);
+        }
+
+        boolean isUniversal() {
+            return tagName == null && id == null && classes.length == 0;
+        }
+
+        int partCount() {
+            return (tagName != null ? 1 : 0) + (id != null ? 1 : 0) + classes.length;
+        }
+
+        long filterBits() {
+            long bits = 0;
+            if (tagName != null) bits |= Selector.filterBits(TAG_KEY, tagName);
+            if (id != null) bits |= Selector.filterBits(ID_KEY, id);
+            for (String className : classes) {
+                bits |= Selector.filterBits(CLASS_KEY, className);
+            }
+            return bits;
+        }
+
+        boolean matches(@NotNull ElementSignature signature) {
+            if (tagName != null && !tagName.equals(signature.tagName())) return false;
+            if (id != null && !id.equals(signature.id())) return false;
+            for (String className : classes) {
+                if (!signature.hasClass(className)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(tagName != null ? tagName : "");
+            if (id != null) builder.append('#').append(id);
+            for (String className : classes) {
+                builder.append('.').append(className);
+            }
+            return builder.length() > 0 ? builder.toString() : "*";
+        }
+    }
+}
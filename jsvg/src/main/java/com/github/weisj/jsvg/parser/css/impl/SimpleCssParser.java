@@ -47,6 +47,7 @@ public final class SimpleCssParser implements CssParser {
         private final @NotNull Lexer lexer;
         private final @NotNull SimpleStyleSheet sheet = new SimpleStyleSheet();
         private @NotNull Token current = new Token(TokenType.START);
+        private boolean currentPrecededByWhitespace;
 
 
         private Parser(@NotNull List<char[]> input) {
@@ -55,10 +56,13 @@ public final class SimpleCssParser implements CssParser {
 
         private void next() {
             Token next;
+            boolean whitespace = false;
             do {
                 next = lexer.nextToken();
+                whitespace |= lexer.isPrecededByWhitespace();
             } while (next.type() == TokenType.COMMENT);
             current = next;
+            currentPrecededByWhitespace = whitespace;
         }
 
         private void expected(@NotNull String type) {
@@ -93,19 +97,11 @@ public final class SimpleCssParser implements CssParser {
             return value;
         }
 
-        private @NotNull List<Token> readIdentifierList() {
-            List<Token> list = new ArrayList<>();
+        private @NotNull List<Selector> readSelectorList() {
+            List<Selector> list = new ArrayList<>();
 
             while (current.type() != TokenType.CURLY_OPEN && current.type() != TokenType.EOF) {
-                TokenType type = current.type();
-                if (type != TokenType.IDENTIFIER
-                        && type != TokenType.ID_NAME
-                        && type != TokenType.CLASS_NAME) {
-                    expected("identifier");
-                    throw new ParserException();
-                }
-                list.add(current);
-                next();
+                list.add(readSelector());
 
                 if (current.type() == TokenType.COMMA) {
                     next();
@@ -116,6 +112,58 @@ public final class SimpleCssParser implements CssParser {
             return list;
         }
 
+        private @NotNull Selector readSelector() {
+            List<Selector.Compound> compounds = new ArrayList<>();
+            List<Boolean> childCombinators = new ArrayList<>();
+            compounds.add(readCompound());
+            while (true) {
+                if (current.type() == TokenType.CHILD_COMBINATOR) {
+                    next();
+                    childCombinators.add(true);
+                } else if (currentPrecededByWhitespace && isSelectorStart(current.type())) {
+                    childCombinators.add(false);
+                } else {
+                    break;
+                }
+                compounds.add(readCompound());
+            }
+            return new Selector(compounds, childCombinators);
+        }
+
+        private boolean isSelectorStart(@NotNull TokenType type) {
+            return type == TokenType.IDENTIFIER || type == TokenType.ID_NAME || type == TokenType.CLASS_NAME;
+        }
+
+        private @NotNull Selector.Compound readCompound() {
+            if (!isSelectorStart(current.type())) {
+                expected("selector");
+                throw new ParserException();
+            }
+            String tagName = null;
+            String id = null;
+            List<String> classes = new ArrayList<>();
+            boolean firstPart = true;
+            if (current.type() == TokenType.IDENTIFIER) {
+                tagName = consumeValue(TokenType.IDENTIFIER);
+                firstPart = false;
+            }
+            // Subsequent parts of a compound selector mustn't be separated by whitespace.
+            while ((firstPart || !currentPrecededByWhitespace)
+                    && (current.type() == TokenType.ID_NAME || current.type() == TokenType.CLASS_NAME)) {
+                if (current.type() == TokenType.ID_NAME) {
+                    if (id != null) {
+                        expected("single id");
+                        throw new ParserException();
+                    }
+                    id = consumeValue(TokenType.ID_NAME);
+                } else {
+                    classes.add(consumeValue(TokenType.CLASS_NAME));
+                }
+                firstPart = false;
+            }
+            return new Selector.Compound(tagName, id, classes);
+        }
+
         private @NotNull List<StyleProperty> readProperties() {
             List<StyleProperty> list = new ArrayList<>();
 
@@ -154,23 +202,11 @@ public final class SimpleCssParser implements CssParser {
                         next();
                     }
 
-                    List<Token> identifierList = readIdentifierList();
+                    List<Selector> selectorList = readSelectorList();
                     List<StyleProperty> properties = readProperties();
 
-                    for (Token token : identifierList) {
-                        switch (token.type()) {
-                            case CLASS_NAME:
-                                sheet.addClassRules(Objects.requireNonNull(token.data()), properties);
-                                break;
-                            case ID_NAME:
-                                sheet.addIdRules(Objects.requireNonNull(token.data()), properties);
-                                break;
-                            case IDENTIFIER:
-                                sheet.addTagNameRules(Objects.requireNonNull(token.data()), properties);
-                                break;
-                            default:
-                                throw new IllegalStateException("Toke = " + token);
-                        }
+                    for (Selector selector : selectorList) {
+                        sheet.addRule(selector, properties);
                     }
                 } catch (ParserException e) {
                     skipToNextDefinition();
@@ -22,11 +22,17 @@
 package com.github.weisj.jsvg.parser.css.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg.parser.ParsedElement;
 import com.github.weisj.jsvg.parser.SeparatorMode;
@@ -35,10 +41,30 @@ import com.github.weisj.jsvg.parser.css.StyleSheet;
 
 public final class SimpleStyleSheet implements StyleSheet {
 
+    /**
+     * Orders rules of a single style sheet by precedence, starting with the rule of the highest precedence.
+     */
+    public static final @NotNull Comparator<@NotNull SelectorRule> PRECEDENCE =
+            Comparator.comparingInt((SelectorRule r) -> r.selector().specificity())
+                    .thenComparingInt(SelectorRule::order)
+                    .reversed();
+
     private final @NotNull Map<String, @NotNull List<@NotNull StyleProperty>> classRules = new HashMap<>();
     private final @NotNull Map<String, @NotNull List<@NotNull StyleProperty>> idRules = new HashMap<>();
     private final @NotNull Map<String, @NotNull List<@NotNull StyleProperty>> tagNameRules = new HashMap<>();
 
+    // All rules indexed by the most specific part of their rightmost compound selector, so only a handful of
+    // candidates have to be checked for every element.
+    private final @NotNull List<@NotNull SelectorRule> selectorRules = new ArrayList<>();
+    private final @NotNull Map<String, @NotNull List<@NotNull SelectorRule>> rulesById = new HashMap<>();
+    private final @NotNull Map<String, @NotNull List<@NotNull SelectorRule>> rulesByClass = new HashMap<>();
+    private final @NotNull Map<String, @NotNull List<@NotNull SelectorRule>> rulesByTagName = new HashMap<>();
+    private final @NotNull List<@NotNull SelectorRule> universalRules = new ArrayList<>();
+    private final @NotNull Set<String> subjectIds = new HashSet<>();
+    private final @NotNull Set<String> subjectClasses = new HashSet<>();
+    private int ruleCount;
+    private boolean hasCombinatorRules;
+
     public @NotNull Map<String, @NotNull List<@NotNull StyleProperty>> classRules() {
         return classRules;
     }
@@ -51,29 +77,197 @@ public final class SimpleStyleSheet implements StyleSheet {
         return tagNameRules;
     }
 
-    void addTagNameRules(@NotNull String tagName, @NotNull List<@NotNull StyleProperty> rule) {
+    /**
+     * Rules, whose selector isn't a single tag name, class or id selector, in the order they have been declared.
+     *
+     * @return the list of selector rules.
+     */
+    public @NotNull List<@NotNull SelectorRule> selectorRules() {
+        return Collections.unmodifiableList(selectorRules);
+    }
+
+    /**
+     * Whether the sheet contains rules whose selectors depend on the ancestors of an element.
+     *
+     * @return true if there are rules with combinators.
+     */
+    public boolean hasCombinatorRules() {
+        return hasCombinatorRules;
+    }
+
+    /**
+     * The ids referenced by the subjects of rules without combinators. Ids not contained in this set don't affect
+     * which of these rules match an element.
+     *
+     * @return the set of ids.
+     */
+    public @NotNull Set<String> subjectIds() {
+        return Collections.unmodifiableSet(subjectIds);
+    }
+
+    /**
+     * The classes referenced by the subjects of rules without combinators. Classes not contained in this set don't
+     * affect which of these rules match an element.
+     *
+     * @return the set of classes.
+     */
+    public @NotNull Set<String> subjectClasses() {
+        return Collections.unmodifiableSet(subjectClasses);
+    }
+
+    void addRule(@NotNull Selector selector, @NotNull List<@NotNull StyleProperty> rule) {
+        SelectorRule selectorRule = new SelectorRule(selector, rule, ruleCount++);
+        Selector.Compound subject = selector.subject();
+        String id = subject.id();
+        String className = subject.firstClass();
+        String tagName = subject.tagName();
+        if (!selector.isSimple()) {
+            selectorRules.add(selectorRule);
+        } else if (tagName != null) {
+            addTagNameRules(tagName, rule);
+        } else if (id != null) {
+            addIdRules(id, rule);
+        } else {
+            addClassRules(Objects.requireNonNull(className), rule);
+        }
+        if (id != null) {
+            rulesById.computeIfAbsent(id, k -> new ArrayList<>()).add(selectorRule);
+        } else if (className != null) {
+            rulesByClass.computeIfAbsent(className, k -> new ArrayList<>()).add(selectorRule);
+        } else if (tagName != null) {
+            rulesByTagName.computeIfAbsent(tagName, k -> new ArrayList<>()).add(selectorRule);
+        } else {
+            universalRules.add(selectorRule);
+        }
+        if (selector.hasCombinators()) {
+            hasCombinatorRules = true;
+        } else {
+            if (id != null) subjectIds.add(id);
+            subject.addClassesTo(subjectClasses);
+        }
+    }
+
+    private void addTagNameRules(@NotNull String tagName, @NotNull List<@NotNull StyleProperty> rule) {
         tagNameRules.computeIfAbsent(tagName, k -> new ArrayList<>()).addAll(rule);
     }
 
-    void addClassRules(@NotNull String className, @NotNull List<@NotNull StyleProperty> rule) {
+    private void addClassRules(@NotNull String className, @NotNull List<@NotNull StyleProperty> rule) {
         classRules.computeIfAbsent(className, k -> new ArrayList<>()).addAll(rule);
     }
 
-    void addIdRules(@NotNull String id, @NotNull List<@NotNull StyleProperty> rule) {
+    private void addIdRules(@NotNull String id, @NotNull List<@NotNull StyleProperty> rule) {
         idRules.computeIfAbsent(id, k -> new ArrayList<>()).addAll(rule);
     }
 
+    /**
+     * Collects all rules without combinators matching the given element. Whether these rules match only depends
+     * on the tag name, id and classes of the element.
+     *
+     * @param element the signature of the element.
+     * @param matches the list to add the matching rules to. Rules are added in no particular order.
+     */
+    public void collectMatchingRules(@NotNull ElementSignature element,
+            @NotNull List<@NotNull SelectorRule> matches) {
+        collectMatchingRules(element, null, 0L, matches);
+    }
+
+    /**
+     * Collects all rules with combinators matching the last element of the given path.
+     *
+     * @param path the element preceded by its ancestors, starting with the root element.
+     * @param ancestorFilter the union of {@link Selector#ancestorFilterBits(ElementSignature)} of all ancestors.
+     * @param matches the list to add the matching rules to. Rules are added in no particular order.
+     */
+    public void collectMatchingCombinatorRules(@NotNull List<@NotNull ElementSignature> path, long ancestorFilter,
+            @NotNull List<@NotNull SelectorRule> matches) {
+        if (!hasCombinatorRules) return;
+        collectMatchingRules(path.get(path.size() - 1), path, ancestorFilter, matches);
+    }
+
+    private void collectMatchingRules(@NotNull ElementSignature element,
+            @Nullable List<@NotNull ElementSignature> path, long ancestorFilter,
+            @NotNull List<@NotNull SelectorRule> matches) {
+        String id = element.id();
+        if (id != null) collectMatchingRules(rulesById.get(id), element, path, ancestorFilter, matches);
+        for (int i = 0, count = element.classCount(); i < count; i++) {
+            collectMatchingRules(rulesByClass.get(element.classAt(i)), element, path, ancestorFilter, matches);
+        }
+        collectMatchingRules(rulesByTagName.get(element.tagName()), element, path, ancestorFilter, matches);
+        collectMatchingRules(universalRules, element, path, ancestorFilter, matches);
+    }
+
+    /*
+     * Without a path only rules without combinators are matched, otherwise only rules with combinators.
+     */
+    private static void collectMatchingRules(@Nullable List<@NotNull SelectorRule> candidates,
+            @NotNull ElementSignature element, @Nullable List<@NotNull ElementSignature> path, long ancestorFilter,
+            @NotNull List<@NotNull SelectorRule> matches) {
+        if (candidates == null) return;
+        for (SelectorRule candidate : candidates) {
+            Selector selector = candidate.selector();
+            if (selector.hasCombinators() != (path != null)) continue;
+            boolean matched = path != null
+                    ? selector.matches(path, ancestorFilter)
+                    : selector.subjectMatches(element);
+            if (matched) matches.add(candidate);
+        }
+    }
+
+    /**
+     * Reports the declarations of all rules without combinators matching the element, starting with the rule of
+     * highest precedence. Within a rule later declarations are reported first.
+     */
     @Override
     public void forEachMatchingRule(@NotNull ParsedElement element, @NotNull RuleConsumer ruleConsumer) {
-        List<@NotNull StyleProperty> rules = tagNameRules.get(element.node().tagName());
-        if (rules != null) rules.forEach(ruleConsumer::applyRule);
-        if (element.id() != null) {
-            rules = idRules.get(element.id());
-            if (rules != null) rules.forEach(ruleConsumer::applyRule);
+        ElementSignature signature = new ElementSignature(element.node().tagName(), element.id(),
+                element.attributeNode().getStringList("class", SeparatorMode.WHITESPACE_ONLY));
+        List<SelectorRule> matches = new ArrayList<>();
+        collectMatchingRules(signature, matches);
+        matches.sort(PRECEDENCE);
+        for (SelectorRule rule : matches) {
+            List<StyleProperty> properties = rule.properties();
+            for (int i = properties.size() - 1; i >= 0; i--) {
+                ruleConsumer.applyRule(properties.get(i));
+            }
+        }
+    }
+
+    public static final class SelectorRule {
+        private final @NotNull Selector selector;
+        private final @NotNull List<@NotNull StyleProperty> properties;
+        private final int order;
+
+        private SelectorRule(@NotNull Selector selector, @NotNull List<@NotNull StyleProperty> properties,
+                int order) {
+            this.selector = selector;
+            this.properties = properties;
+            this.order = order;
         }
-        for (String className : element.attributeNode().getStringList("class", SeparatorMode.WHITESPACE_ONLY)) {
-            rules = classRules.get(className);
-            if (rules != null) rules.forEach(ruleConsumer::applyRule);
+
+        public @NotNull Selector selector() {
+            return selector;
+        }
+
+        public @NotNull List<@NotNull StyleProperty> properties() {
+            return properties;
+        }
+
+        /**
+         * The position of the rule in the style sheet. Rules declared later take precedence over rules with the
+         * same specificity.
+         *
+         * @return the declaration order of the rule.
+         */
+        public int order() {
+            return order;
+        }
+
+        @Override
+        public String toString() {
+            return "SelectorRule{" +
+                    "selector=" + selector +
+                    ", properties=" + properties +
+                    '}';
         }
     }
 }
@@ -28,6 +28,7 @@ public enum TokenType {
     COMMENT,
     COLON,
     COMMA,
+    CHILD_COMBINATOR,
     SEMICOLON,
     RAW_DATA,
     CLASS_NAME,
@@ -39,6 +39,10 @@ public class ImageResource implements RenderableResource {
         this.image = image;
     }
 
+    public @NotNull BufferedImage image() {
+        return image;
+    }
+
     @Override
     public @NotNull FloatSize intrinsicSize(@NotNull RenderContext context) {
         return new FloatSize(
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser.resources;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.stream.ImageInputStream;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.geometry.size.FloatSize;
+import com.github.weisj.jsvg.renderer.Output;
+import com.github.weisj.jsvg.renderer.RenderContext;
+import com.github.weisj.jsvg.util.ResourceUtil;
+
+/**
+ * An image resource, which only keeps the encoded image around and decodes it once it is needed for the first time.
+ * <p>
+ * The image is decoded at the resolution it is painted at on the device. If it is drawn smaller than its intrinsic
+ * size only every n-th pixel is decoded, where n is a power of two. The last few decoded resolutions are cached and
+ * are reused for smaller resolutions. Decoding happens on the rendering thread, hence asynchronous resource loaders
+ * decode images eagerly instead, see {@link ResourceUtil#loadImage(java.net.URI, boolean)}.
+ * <p>
+ * If the image can't be decoded the resource behaves like a {@link MissingImageResource}.
+ */
+public final class LazyImageResource implements RenderableResource {
+    private static final Logger LOGGER = Logger.getLogger(LazyImageResource.class.getName());
+    private static final int MAX_CACHED_RESOLUTIONS = 2;
+    private static final int MAX_SUBSAMPLING = 1 << 10;
+    private static final MissingImageResource MISSING_IMAGE = new MissingImageResource();
+
+    @FunctionalInterface
+    public interface ImageSource {
+        /**
+         * Opens a new stream of the encoded image data. The stream will be closed by the caller.
+         *
+         * @return the image stream.
+         * @throws IOException if the data can't be read.
+         */
+        @NotNull
+        ImageInputStream open() throws IOException;
+    }
+
+    private final @NotNull ImageSource source;
+    private boolean failed;
+    private @Nullable Dimension size;
+    // Decoded images by their subsampling factor in access order.
+    private final @NotNull Map<Integer, ImageResource> decoded =
+            new LinkedHashMap<Integer, ImageResource>(4, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ImageResource> eldest) {
+                    return size() > MAX_CACHED_RESOLUTIONS;
+                }
+            };
+
+    public LazyImageResource(@NotNull ImageSource source) {
+        this.source = source;
+    }
+
+    private synchronized @Nullable Dimension size() {
+        if (size == null && !failed) {
+            try (ImageInputStream input = source.open()) {
+                size = ResourceUtil.readImageSize(input);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not read image", e);
+            }
+            failed = size == null;
+        }
+        return size;
+    }
+
+    private @Nullable ImageResource image(int subsampling) {
+        synchronized (this) {
+            if (failed) return null;
+            ImageResource resource = cachedImage(subsampling);
+            if (resource != null) return resource;
+        }
+        // Decode outside the lock, such that other threads can keep painting the cached resolutions. Concurrent
+        // requests for the same resolution may decode it more than once.
+        ImageResource resource = null;
+        try (ImageInputStream input = source.open()) {
+            BufferedImage image = ResourceUtil.readImage(input, subsampling);
+            if (image != null) resource = new ImageResource(image);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not decode image", e);
+        }
+        synchronized (this) {
+            if (resource == null) {
+                failed = true;
+                decoded.clear();
+                return null;
+            }
+            ImageResource existing = decoded.putIfAbsent(subsampling, resource);
+            return existing != null ? existing : resource;
+        }
+    }
+
+    /*
+     * A cached image with at least the requested resolution. If there is no exact match the closest finer
+     * resolution is used, such that zooming out doesn't require the source to be read again.
+     */
+    private @Nullable ImageResource cachedImage(int subsampling) {
+        ImageResource resource = decoded.get(subsampling);
+        if (resource != null) return resource;
+        int best = 0;
+        for (int cached : decoded.keySet()) {
+            if (cached < subsampling && cached > best) best = cached;
+        }
+        return best != 0 ? decoded.get(best) : null;
+    }
+
+    /**
+     * @return the sizes of the currently cached decoded images.
+     */
+    @ApiStatus.Internal
+    public synchronized @NotNull List<Dimension> decodedSizes() {
+        List<Dimension> sizes = new ArrayList<>(decoded.size());
+        for (ImageResource resource : decoded.values()) {
+            sizes.add(new Dimension(resource.image().getWidth(), resource.image().getHeight()));
+        }
+        return sizes;
+    }
+
+    /**
+     * An estimate of the memory needed to hold the decoded image at full resolution. Reading the size of the image
+     * only requires the image header to be decoded.
+     *
+     * @return the estimated size in bytes or 0 if the image can't be read.
+     */
+    public long decodedByteSize() {
+        Dimension s = size();
+        if (s == null) return 0;
+        // Decoded images are stored with 4 bytes per pixel at most.
+        return 4L * s.width * s.height;
+    }
+
+    /*
+     * The largest power of two, such that subsampling the image by it still provides at least one image pixel per
+     * device pixel.
+     */
+    private static int subsampling(@NotNull AffineTransform deviceTransform, @NotNull AffineTransform transform) {
+        AffineTransform at = new AffineTransform(deviceTransform);
+        at.concatenate(transform);
+        // Number of device pixels per image pixel along each image axis.
+        double scaleX = Math.hypot(at.getScaleX(), at.getShearY());
+        double scaleY = Math.hypot(at.getShearX(), at.getScaleY());
+        double imagePixelsPerDevicePixel = 1 / Math.max(scaleX, scaleY);
+        if (!(imagePixelsPerDevicePixel >= 2)) return 1;
+        return Integer.highestOneBit((int) Math.min(imagePixelsPerDevicePixel, MAX_SUBSAMPLING));
+    }
+
+    @Override
+    public @NotNull FloatSize intrinsicSize(@NotNull RenderContext context) {
+        Dimension s = size();
+        if (s == null) return MISSING_IMAGE.intrinsicSize(context);
+        return new FloatSize(s.width, s.height);
+    }
+
+    @Override
+    public void render(@NotNull Output output, @NotNull RenderContext context, @NotNull AffineTransform transform) {
+        Dimension s = size();
+        ImageResource resource = s != null ? image(subsampling(output.transform(), transform)) : null;
+        if (s == null || resource == null) {
+            MISSING_IMAGE.render(output, context, transform);
+            return;
+        }
+        BufferedImage image = resource.image();
+        if (image.getWidth() == s.width && image.getHeight() == s.height) {
+            resource.render(output, context, transform);
+        } else {
+            // Stretch the subsampled image to cover the intrinsic size again.
+            AffineTransform imageTransform = new AffineTransform(transform);
+            imageTransform.scale(s.width / (double) image.getWidth(), s.height / (double) image.getHeight());
+            resource.render(output, context, imageTransform);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.renderer;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.attributes.font.MeasurableFontSpec;
+import com.github.weisj.jsvg.geometry.size.MeasureContext;
+import com.github.weisj.jsvg.geometry.util.GeometryUtil;
+import com.github.weisj.jsvg.nodes.SVGNode;
+import com.github.weisj.jsvg.nodes.prototype.HasCullingBounds;
+import com.github.weisj.jsvg.nodes.prototype.Renderable;
+
+/**
+ * A bounding volume hierarchy over the children of a container. Only children intersecting the clip need to be
+ * visited, hence rendering a small part of a large document doesn't cost more than the visible part.
+ * <p>
+ * The bounds of the children are computed for the render context of the container. The index can only be used for
+ * contexts which result in the same bounds, see {@link #isValidFor(RenderContext)}.
+ */
+@ApiStatus.Internal
+public final class CullingIndex {
+    /**
+     * Containers with fewer children render them without consulting an index.
+     */
+    public static final int MIN_CHILD_COUNT = 8;
+    private static final int LEAF_SIZE = 4;
+
+    private final @NotNull MeasureContext measureContext;
+    private final @NotNull StrokeContext strokeContext;
+    private final @NotNull MeasurableFontSpec fontSpec;
+
+    private final @NotNull SVGNode @NotNull [] children;
+    // Children whose bounds aren't known. These are always rendered.
+    private final int @NotNull [] uncullable;
+    private final @Nullable Rectangle2D bounds;
+
+    // Bounds of the entries as minX, minY, maxX, maxY.
+    private final double @NotNull [] entryBounds;
+    // The child index of the entries in the order they are referenced by the leaves.
+    private final int @NotNull [] entryOrder;
+    // Bounds of the tree nodes as minX, minY, maxX, maxY. The left child of an inner node directly follows it.
+    private final double @NotNull [] nodeBounds;
+    // For leaves the first entry. For inner nodes the index of the right child.
+    private final int @NotNull [] nodeStart;
+    // For leaves the number of entries. Zero for inner nodes.
+    private final int @NotNull [] nodeCount;
+    private int nodeSize;
+
+    private CullingIndex(@NotNull RenderContext context, @NotNull SVGNode @NotNull [] children,
+            int @NotNull [] uncullable, double @NotNull [] entryBounds, int @NotNull [] entryOrder) {
+        this.measureContext = context.measureContext();
+        this.strokeContext = context.strokeContext();
+        this.fontSpec = context.fontSpec();
+        this.children = children;
+        this.uncullable = uncullable;
+        this.entryBounds = entryBounds;
+        this.entryOrder = entryOrder;
+        int entryCount = entryOrder.length;
+        this.nodeBounds = new double[4 * Math.max(1, 2 * entryCount - 1)];
+        this.nodeStart = new int[nodeBounds.length / 4];
+        this.nodeCount = new int[nodeBounds.length / 4];
+        if (entryCount > 0) build(0, entryCount);
+        this.bounds = uncullable.length == 0 ? computeBounds() : null;
+    }
+
+    public static @NotNull CullingIndex create(@NotNull List<? extends @NotNull SVGNode> nodes,
+            @NotNull RenderContext context) {
+        SVGNode[] children = new SVGNode[nodes.size()];
+        int[] uncullable = new int[nodes.size()];
+        int uncullableCount = 0;
+        double[] entryBounds = new double[4 * nodes.size()];
+        int[] entryOrder = new int[nodes.size()];
+        int entryCount = 0;
+        for (int i = 0; i < children.length; i++) {
+            SVGNode child = nodes.get(i);
+            children[i] = child;
+            // Definitions like symbols only paint where they are instantiated.
+            if (!(child instanceof Renderable) || ((Renderable) child).requiresInstantiation()) continue;
+            Rectangle2D childBounds = null;
+            if (child instanceof HasCullingBounds) {
+                RenderContext childContext = NodeRenderer.setupRenderContext(child, context);
+                childBounds = ((HasCullingBounds) child).cullingBounds(childContext);
+            }
+            if (childBounds == null || !isFinite(childBounds)) {
+                uncullable[uncullableCount++] = i;
+            } else {
+                entryBounds[4 * entryCount] = childBounds.getMinX();
+                entryBounds[4 * entryCount + 1] = childBounds.getMinY();
+                entryBounds[4 * entryCount + 2] = childBounds.getMaxX();
+                entryBounds[4 * entryCount + 3] = childBounds.getMaxY();
+                entryOrder[entryCount] = i;
+                entryCount++;
+            }
+        }
+        return new CullingIndex(context, children, Arrays.copyOf(uncullable, uncullableCount),
+                Arrays.copyOf(entryBounds, 4 * entryCount), Arrays.copyOf(entryOrder, entryCount));
+    }
+
+    /**
+     * Computes the area painting on the output has an effect on.
+     *
+     * @param output the output.
+     * @return the area in user space or null if it isn't bounded.
+     */
+    public static @Nullable Rectangle2D cullingArea(@NotNull Output output) {
+        // Note: Graphics2D#getClipBounds returns null if no clip is set.
+        Rectangle2D clip = output.clipBounds();
+        // noinspection ConstantValue
+        if (clip == null) return null;
+        AffineTransform at = output.transform();
+        double det = at.getDeterminant();
+        if (det == 0 || !Double.isFinite(det)) return null;
+        // Grow the area by at least a device pixel to account for antialiasing. The norm of the inverse transform
+        // bounds the length of a device pixel in user space.
+        double a = at.getScaleX();
+        double b = at.getShearY();
+        double c = at.getShearX();
+        double d = at.getScaleY();
+        return GeometryUtil.grow(clip, Math.sqrt(a * a + b * b + c * c + d * d) / Math.abs(det));
+    }
+
+    /**
+     * @param context the render context of the container.
+     * @return whether the bounds of the children are the same for the given context.
+     */
+    public boolean isValidFor(@NotNull RenderContext context) {
+        return measureContext.equals(context.measureContext())
+                && strokeContext.equals(context.strokeContext())
+                && fontSpec.equals(context.fontSpec());
+    }
+
+    /**
+     * @return bounds containing everything the children paint or null if some children don't have culling bounds.
+     */
+    public @Nullable Rectangle2D bounds() {
+        return bounds;
+    }
+
+    /**
+     * Renders the children intersecting the given area in document order.
+     *
+     * @param context the render context of the container.
+     * @param output the output to render to.
+     * @param area the area to render as returned by {@link #cullingArea(Output)}.
+     */
+    public void render(@NotNull RenderContext context, @NotNull Output output, @NotNull Rectangle2D area) {
+        VisibleChildren visible = new VisibleChildren(uncullable);
+        if (entryOrder.length > 0) {
+            collect(0, area.getMinX(), area.getMinY(), area.getMaxX(), area.getMaxY(), visible);
+        }
+        int[] indices = visible.indices;
+        Arrays.sort(indices, 0, visible.size);
+        for (int i = 0; i < visible.size; i++) {
+            NodeRenderer.renderNode(children[indices[i]], context, output);
+        }
+    }
+
+    private void collect(int node, double minX, double minY, double maxX, double maxY,
+            @NotNull VisibleChildren visible) {
+        if (!intersects(nodeBounds, node, minX, minY, maxX, maxY)) return;
+        int count = nodeCount[node];
+        if (count == 0) {
+            collect(node + 1, minX, minY, maxX, maxY, visible);
+            collect(nodeStart[node], minX, minY, maxX, maxY, visible);
+            return;
+        }
+        int start = nodeStart[node];
+        for (int entry = start; entry < start + count; entry++) {
+            if (intersects(entryBounds, entry, minX, minY, maxX, maxY)) visible.add(entryOrder[entry]);
+        }
+    }
+
+    private static boolean intersects(double @NotNull [] bounds, int index, double minX, double minY, double maxX,
+            double maxY) {
+        int i = 4 * index;
+        return bounds[i] <= maxX && bounds[i + 1] <= maxY && bounds[i + 2] >= minX && bounds[i + 3] >= minY;
+    }
+
+    private int build(int from, int to) {
+        int node = nodeSize++;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int entry = from; entry < to; entry++) {
+            minX = Math.min(minX, entryBounds[4 * entry]);
+            minY = Math.min(minY, entryBounds[4 * entry + 1]);
+            maxX = Math.max(maxX, entryBounds[4 * entry + 2]);
+            maxY = Math.max(maxY, entryBounds[4 * entry + 3]);
+        }
+        nodeBounds[4 * node] = minX;
+        nodeBounds[4 * node + 1] = minY;
+        nodeBounds[4 * node + 2] = maxX;
+        nodeBounds[4 * node + 3] = maxY;
+
+        if (to - from <= LEAF_SIZE) {
+            nodeStart[node] = from;
+            nodeCount[node] = to - from;
+            return node;
+        }
+        // Split at the median along the longer side.
+        sortEntries(from, to, maxX - minX >= maxY - minY ? 0 : 1);
+        int mid = (from + to) >>> 1;
+        build(from, mid);
+        nodeStart[node] = build(mid, to);
+        return node;
+    }
+
+    private void sortEntries(int from, int to, int axis) {
+        Integer[] entries = new Integer[to - from];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = from + i;
+        }
+        // Sorting by the sum of min and max is the same as sorting by the center.
+        Arrays.sort(entries,
+                Comparator.comparingDouble(e -> entryBounds[4 * e + axis] + entryBounds[4 * e + axis + 2]));
+        double[] sortedBounds = new double[4 * entries.length];
+        int[] sortedOrder = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            System.arraycopy(entryBounds, 4 * entries[i], sortedBounds, 4 * i, 4);
+            sortedOrder[i] = entryOrder[entries[i]];
+        }
+        System.arraycopy(sortedBounds, 0, entryBounds, 4 * from, sortedBounds.length);
+        System.arraycopy(sortedOrder, 0, entryOrder, from, sortedOrder.length);
+    }
+
+    private @NotNull Rectangle2D computeBounds() {
+        if (entryOrder.length == 0) return new Rectangle2D.Double();
+        return new Rectangle2D.Double(nodeBounds[0], nodeBounds[1],
+                nodeBounds[2] - nodeBounds[0], nodeBounds[3] - nodeBounds[1]);
+    }
+
+    private static boolean isFinite(@NotNull Rectangle2D r) {
+        return Double.isFinite(r.getX()) && Double.isFinite(r.getY())
+                && Double.isFinite(r.getWidth()) && Double.isFinite(r.getHeight());
+    }
+
+    private static final class VisibleChildren {
+        private int @NotNull [] indices;
+        private int size;
+
+        private VisibleChildren(int @NotNull [] uncullable) {
+            indices = Arrays.copyOf(uncullable, uncullable.length + 16);
+            size = uncullable.length;
+        }
+
+        void add(int index) {
+            if (size == indices.length) indices = Arrays.copyOf(indices, 2 * indices.length);
+            indices[size++] = index;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.renderer;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.SVGRenderingHints;
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
+
+/**
+ * An immutable list of the draw operations needed to render a document, see
+ * {@link com.github.weisj.jsvg.SVGDocument#compile(PlatformSupport, ViewBox)}. Transforms, shapes, paints, strokes
+ * and clips of all operations are resolved when the list is created, such that replaying it doesn't need to traverse
+ * the document again.
+ * <p>
+ * Offscreen content like masks and filters is rendered when the list is created, at the resolution of the device
+ * transform the list was compiled for and with antialiasing enabled. Replaying the list with a different scale will
+ * scale these images.
+ * <p>
+ * The list has to be recompiled if the viewport or the font size of the platform changes, see
+ * {@link #isValidFor(PlatformSupport, ViewBox)}.
+ */
+@ApiStatus.Experimental
+public final class DisplayList {
+    private final @NotNull Op @NotNull [] ops;
+    private final @Nullable ViewBox bounds;
+    private final float fontSize;
+
+    private DisplayList(@NotNull Op @NotNull [] ops, @Nullable ViewBox bounds, float fontSize) {
+        this.ops = ops;
+        this.bounds = bounds;
+        this.fontSize = fontSize;
+    }
+
+    /**
+     * Records the draw operations issued by the given painter.
+     *
+     * @param platformSupport the platform the operations are recorded for.
+     * @param bounds the viewport the operations are recorded for.
+     * @param deviceTransform the transform from user space to device space.
+     * @param painter the painter issuing the draw operations.
+     * @return the display list.
+     */
+    @ApiStatus.Internal
+    public static @NotNull DisplayList record(@NotNull PlatformSupport platformSupport, @Nullable ViewBox bounds,
+            @NotNull AffineTransform deviceTransform, @NotNull Consumer<@NotNull Output> painter) {
+        List<Op> ops = new ArrayList<>();
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        GraphicsUtil.setupSVGRenderingHints(g);
+        // Offscreen surfaces have to be owned by the display list and can't be reused.
+        g.setRenderingHint(SVGRenderingHints.KEY_CACHE_OFFSCREEN_IMAGE, SVGRenderingHints.VALUE_NO_CACHE);
+        g.transform(deviceTransform);
+        RecordingOutput output = new RecordingOutput(g,
+                new RecordingOutput.Recording(ops, deviceTransform), new ClipState(null), null);
+        try {
+            painter.accept(output);
+        } finally {
+            output.dispose();
+        }
+        return new DisplayList(ops.toArray(new Op[0]), bounds != null ? new ViewBox(bounds) : null,
+                platformSupport.fontSize());
+    }
+
+    /**
+     * @param platformSupport the platform to render on.
+     * @param bounds the viewport to render.
+     * @return whether the list renders the same as the document would for the given platform and viewport.
+     */
+    public boolean isValidFor(@NotNull PlatformSupport platformSupport, @Nullable ViewBox bounds) {
+        return Objects.equals(this.bounds, bounds) && fontSize == platformSupport.fontSize();
+    }
+
+    /**
+     * @return the number of draw operations.
+     */
+    public int size() {
+        return ops.length;
+    }
+
+    /**
+     * Replays the draw operations on the given graphics.
+     *
+     * @param graphics the graphics to paint on.
+     */
+    public void render(@NotNull Graphics2D graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        GraphicsUtil.setupSVGRenderingHints(g);
+        Output output = new Graphics2DOutput(g);
+        replay(output);
+        output.dispose();
+    }
+
+    /**
+     * Replays the draw operations on the given output. The operations are drawn relative to the current transform
+     * of the output and are clipped by its current clip. The state of the output isn't modified.
+     *
+     * @param output the output to draw on.
+     */
+    public void replay(@NotNull Output output) {
+        Output segment = null;
+        Output.SafeState segmentState = null;
+        ClipState clip = null;
+        try {
+            for (Op op : ops) {
+                if (segment == null || op.clip != clip) {
+                    // Outputs don't support resetting the clip. Hence, every distinct clip gets its own output.
+                    if (segment != null) segment.dispose();
+                    segment = output.createChild();
+                    clip = op.clip;
+                    if (clip.shape != null) segment.applyClip(clip.shape);
+                    segmentState = segment.safeState();
+                } else {
+                    segmentState.restore();
+                }
+                if (op.changedHints != null) {
+                    Output hintOutput = segment.createChild();
+                    op.changedHints.forEach(hintOutput::setRenderingHint);
+                    op.paint(hintOutput);
+                    hintOutput.dispose();
+                } else {
+                    op.paint(segment);
+                }
+            }
+        } finally {
+            if (segment != null) segment.dispose();
+        }
+    }
+
+    static final class ClipState {
+        // The clip relative to the base transform or null if unclipped.
+        private final @Nullable Shape shape;
+
+        ClipState(@Nullable Shape shape) {
+            this.shape = shape;
+        }
+    }
+
+    static final class Op {
+        static final int FILL = 0;
+        static final int DRAW = 1;
+        static final int DRAW_BUFFERED_IMAGE = 2;
+        static final int DRAW_IMAGE = 3;
+
+        private final int kind;
+        private final @NotNull AffineTransform transform;
+        private final @NotNull ClipState clip;
+        private final float opacity;
+        private final @Nullable Map<RenderingHints.Key, Object> changedHints;
+        private final @Nullable Shape shape;
+        private final @Nullable Paint paint;
+        private final @Nullable Stroke stroke;
+        private final @Nullable Image image;
+        private final @Nullable AffineTransform imageTransform;
+        private final @Nullable ImageObserver observer;
+
+        Op(int kind, @NotNull AffineTransform transform, @NotNull ClipState clip, float opacity,
+                @Nullable Map<RenderingHints.Key, Object> changedHints, @Nullable Shape shape,
+                @Nullable Paint paint, @Nullable Stroke stroke, @Nullable Image image,
+                @Nullable AffineTransform imageTransform, @Nullable ImageObserver observer) {
+            this.kind = kind;
+            this.transform = transform;
+            this.clip = clip;
+            this.opacity = opacity;
+            this.changedHints = changedHints;
+            this.shape = shape;
+            this.paint = paint;
+            this.stroke = stroke;
+            this.image = image;
+            this.imageTransform = imageTransform;
+            this.observer = observer;
+        }
+
+        private void paint(@NotNull Output output) {
+            output.applyTransform(transform);
+            if (opacity != 1) output.applyOpacity(opacity);
+            switch (kind) {
+                case FILL:
+                    output.setPaint(Objects.requireNonNull(paint));
+                    output.fillShape(Objects.requireNonNull(shape));
+                    break;
+                case DRAW:
+                    output.setPaint(Objects.requireNonNull(paint));
+                    output.setStroke(Objects.requireNonNull(stroke));
+                    output.drawShape(Objects.requireNonNull(shape));
+                    break;
+                case DRAW_BUFFERED_IMAGE:
+                    output.drawImage((BufferedImage) Objects.requireNonNull(image));
+                    break;
+                case DRAW_IMAGE:
+                    if (imageTransform != null) {
+                        output.drawImage(Objects.requireNonNull(image), imageTransform, observer);
+                    } else {
+                        output.drawImage(Objects.requireNonNull(image), observer);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + kind);
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.weisj.jsvg.SVGRenderingHints;
 import com.github.weisj.jsvg.util.ImageUtil;
 
 
@@ -86,6 +87,37 @@ public final class GraphicsUtil {
         return g;
     }
 
+    /**
+     * Sets up the rendering hints used for rendering svg documents, which haven't been specified explicitly.
+     *
+     * @param g the graphics to configure.
+     */
+    public static void setupSVGRenderingHints(@NotNull Graphics2D g) {
+        Object aaHint = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        if (aaHint != RenderingHints.VALUE_ANTIALIAS_DEFAULT) {
+            setSVGRenderingHint(g,
+                    SVGRenderingHints.KEY_IMAGE_ANTIALIASING,
+                    aaHint == RenderingHints.VALUE_ANTIALIAS_ON
+                            ? SVGRenderingHints.VALUE_IMAGE_ANTIALIASING_ON
+                            : SVGRenderingHints.VALUE_IMAGE_ANTIALIASING_OFF);
+        } else {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        if (g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL) == RenderingHints.VALUE_STROKE_DEFAULT) {
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        }
+        setSVGRenderingHint(g,
+                SVGRenderingHints.KEY_MASK_CLIP_RENDERING,
+                SVGRenderingHints.VALUE_MASK_CLIP_RENDERING_DEFAULT);
+    }
+
+    private static void setSVGRenderingHint(@NotNull Graphics2D g, @NotNull RenderingHints.Key key,
+            @NotNull Object o) {
+        if (g.getRenderingHint(key) == null) {
+            g.setRenderingHint(key, o);
+        }
+    }
+
     public static @NotNull Composite deriveComposite(@NotNull Graphics2D g, float opacity) {
         Composite composite = g.getComposite();
         if (composite instanceof AlphaComposite) {
@@ -64,6 +64,22 @@ class Info implements AutoCloseable {
         output.dispose();
     }
 
+    static final class InPlaceInfo extends Info {
+        private final @NotNull Output.SafeState safeState;
+
+        InPlaceInfo(@NotNull Renderable renderable, @NotNull RenderContext context, @NotNull Output output,
+                @NotNull Output.SafeState safeState) {
+            super(renderable, context, output);
+            this.safeState = safeState;
+        }
+
+        @Override
+        public void close() {
+            // The output belongs to the parent, hence it only gets restored.
+            safeState.restore();
+        }
+    }
+
     static final class InfoWithIsolation extends Info {
 
         private final @NotNull BlittableImage blittableImage;
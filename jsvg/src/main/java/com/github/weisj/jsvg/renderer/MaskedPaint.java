@@ -65,6 +65,18 @@ public final class MaskedPaint implements Paint, GraphicsUtil.WrappingPaint, Gra
         return paint;
     }
 
+    /**
+     * Creates a copy of this paint, which isn't affected by changes to the paint of this instance.
+     * The copy doesn't hold on to the mask surface i.e. it doesn't need to be cleaned up.
+     *
+     * @return the copy.
+     */
+    @NotNull
+    MaskedPaint copy() {
+        Paint innerPaint = paint instanceof MaskedPaint ? ((MaskedPaint) paint).copy() : paint;
+        return new MaskedPaint(innerPaint, maskRaster, maskOffset, null);
+    }
+
     @Override
     public PaintContext createContext(ColorModel cm, Rectangle deviceBounds, Rectangle2D userBounds,
             AffineTransform xform, RenderingHints hints) {
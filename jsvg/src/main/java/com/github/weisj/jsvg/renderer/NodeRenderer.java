@@ -35,9 +35,12 @@ import com.github.weisj.jsvg.attributes.font.MeasurableFontSpec;
 import com.github.weisj.jsvg.geometry.size.FloatSize;
 import com.github.weisj.jsvg.geometry.size.Length;
 import com.github.weisj.jsvg.geometry.size.MeasureContext;
+import com.github.weisj.jsvg.nodes.Anchor;
 import com.github.weisj.jsvg.nodes.ClipPath;
+import com.github.weisj.jsvg.nodes.Group;
 import com.github.weisj.jsvg.nodes.Mask;
 import com.github.weisj.jsvg.nodes.SVGNode;
+import com.github.weisj.jsvg.nodes.ShapeNode;
 import com.github.weisj.jsvg.nodes.container.BaseInnerViewContainer;
 import com.github.weisj.jsvg.nodes.filter.Filter;
 import com.github.weisj.jsvg.nodes.prototype.*;
@@ -80,6 +83,12 @@ public final class NodeRenderer {
         if (!renderable.isVisible(context)) return null;
 
         RenderContext childContext = createChildContext(renderable, context, instantiator);
+        if (canRenderInPlace(renderable, output)) {
+            Info info = new Info.InPlaceInfo(renderable, childContext, output, output.safeState());
+            applyTransform(renderable, output, childContext);
+            return info;
+        }
+
         Output childOutput = output.createChild();
         ElementBounds elementBounds = new ElementBounds(renderable, childContext);
 
@@ -104,13 +113,29 @@ public final class NodeRenderer {
             filter = setupFilter((HasFilter) renderable, childOutput);
         }
 
-        Info info = Info.InfoWithIsolation.create(renderable, childContext, childOutput, elementBounds,
-                new IsolationEffects(filter, maskForIsolation, clipPathForIsolation));
-        if (info != null) return info;
+        if (filter != null || maskForIsolation != null || clipPathForIsolation != null) {
+            Info info = Info.InfoWithIsolation.create(renderable, childContext, childOutput, elementBounds,
+                    new IsolationEffects(filter, maskForIsolation, clipPathForIsolation));
+            if (info != null) return info;
+        }
 
         return new Info(renderable, childContext, childOutput);
     }
 
+    /*
+     * Shapes and plain groups without clip, mask or filter only change the transform, paint, composite and stroke
+     * of the output. These are restored by a SafeState, which is a lot cheaper than creating a child output.
+     */
+    private static boolean canRenderInPlace(@NotNull Renderable renderable, @NotNull Output output) {
+        if (!(renderable instanceof ShapeNode || renderable instanceof Group || renderable instanceof Anchor)) {
+            return false;
+        }
+        HasGeometryContext geometryContext = (HasGeometryContext) renderable;
+        return geometryContext.clipPath() == null
+                && geometryContext.mask() == null
+                && setupFilter(geometryContext, output) == null;
+    }
+
     private static void applyTransform(@NotNull Renderable renderable, @NotNull Output childOutput,
             @NotNull RenderContext childContext) {
         if (renderable instanceof Transformable && ((Transformable) renderable).shouldTransform()) {
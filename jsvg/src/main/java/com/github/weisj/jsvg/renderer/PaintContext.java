@@ -36,6 +36,13 @@ import com.github.weisj.jsvg.parser.AttributeNode;
 
 public final class PaintContext implements Mutator<PaintContext> {
 
+    private static final PaintContext DEFAULT = new PaintContext(
+            SVGPaint.DEFAULT_PAINT,
+            SVGPaint.DEFAULT_PAINT, 1,
+            SVGPaint.NONE, 1, 1,
+            PaintOrder.NORMAL,
+            StrokeContext.createDefault());
+
     public final @Nullable AwtSVGPaint color;
     public final @Nullable SVGPaint fillPaint;
     public final @Nullable SVGPaint strokePaint;
@@ -48,6 +55,9 @@ public final class PaintContext implements Mutator<PaintContext> {
 
     public final @Nullable StrokeContext strokeContext;
 
+    // Nodes are usually rendered with the same parent context each time, in which case the result is reused.
+    private @Nullable DerivedContext lastDerived;
+
     public PaintContext(@Nullable AwtSVGPaint color, @Nullable SVGPaint fillPaint, float fillOpacity,
             @Nullable SVGPaint strokePaint, float strokeOpacity, float opacity,
             @Nullable PaintOrder paintOrder,
@@ -64,12 +74,8 @@ public final class PaintContext implements Mutator<PaintContext> {
     }
 
     public static @NotNull PaintContext createDefault() {
-        return new PaintContext(
-                SVGPaint.DEFAULT_PAINT,
-                SVGPaint.DEFAULT_PAINT, 1,
-                SVGPaint.NONE, 1, 1,
-                PaintOrder.NORMAL,
-                StrokeContext.createDefault());
+        // Paint contexts are immutable. Sharing the default lets derived contexts be reused across renders.
+        return DEFAULT;
     }
 
     public static @NotNull PaintContext parse(@NotNull AttributeNode attributeNode) {
@@ -91,6 +97,7 @@ public final class PaintContext implements Mutator<PaintContext> {
     }
 
     public @NotNull PaintContext derive(@NotNull PaintContext context) {
+        if (context.isTrivial()) return this;
         return new PaintContext(
                 context.color != null ? context.color : color,
                 context.fillPaint != null ? context.fillPaint : fillPaint,
@@ -104,9 +111,24 @@ public final class PaintContext implements Mutator<PaintContext> {
                         : context.strokeContext);
     }
 
+    private boolean isTrivial() {
+        return color == null
+                && fillPaint == null
+                && strokePaint == null
+                && fillOpacity == 1
+                && strokeOpacity == 1
+                && opacity == 1
+                && paintOrder == null
+                && strokeContext == null;
+    }
+
     @Override
     public @NotNull PaintContext mutate(@NotNull PaintContext element) {
-        return element.derive(this);
+        DerivedContext derived = lastDerived;
+        if (derived != null && derived.parent == element) return derived.result;
+        PaintContext result = element.derive(this);
+        lastDerived = new DerivedContext(element, result);
+        return result;
     }
 
     @Override
@@ -122,4 +144,14 @@ public final class PaintContext implements Mutator<PaintContext> {
                 ", paintOrder=" + paintOrder +
                 '}';
     }
+
+    private static final class DerivedContext {
+        private final @NotNull PaintContext parent;
+        private final @NotNull PaintContext result;
+
+        private DerivedContext(@NotNull PaintContext parent, @NotNull PaintContext result) {
+            this.parent = parent;
+            this.result = result;
+        }
+    }
 }
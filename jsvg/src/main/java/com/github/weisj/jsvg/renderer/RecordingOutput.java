@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.renderer;
+
+import java.awt.*;
+import java.awt.PaintContext;
+import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg.util.ImageUtil;
+
+/**
+ * An output which records the draw operations issued to it, together with the state they are drawn with, instead of
+ * painting them. The state is tracked by a graphics object, which is never painted to.
+ */
+final class RecordingOutput extends Graphics2DOutput {
+    private final @NotNull Recording recording;
+    private @NotNull DisplayList.ClipState clip;
+    // Rendering hints which have been changed compared to the initial ones.
+    private @Nullable Map<RenderingHints.Key, Object> changedHints;
+
+    static final class Recording {
+        private final @NotNull List<DisplayList.Op> ops;
+        private final @NotNull AffineTransform inverseBaseTransform;
+
+        Recording(@NotNull List<DisplayList.Op> ops, @NotNull AffineTransform baseTransform) {
+            this.ops = ops;
+            try {
+                this.inverseBaseTransform = baseTransform.createInverse();
+            } catch (NoninvertibleTransformException e) {
+                throw new IllegalArgumentException("Non invertible base transform " + baseTransform, e);
+            }
+        }
+    }
+
+    RecordingOutput(@NotNull Graphics2D g, @NotNull Recording recording, @NotNull DisplayList.ClipState clip,
+            @Nullable Map<RenderingHints.Key, Object> changedHints) {
+        super(g);
+        this.recording = recording;
+        this.clip = clip;
+        this.changedHints = changedHints;
+    }
+
+    private @NotNull AffineTransform relativeTransform() {
+        AffineTransform at = new AffineTransform(recording.inverseBaseTransform);
+        at.concatenate(graphics().getTransform());
+        return at;
+    }
+
+    private void record(int kind, @Nullable Shape shape, @Nullable Paint paint, @Nullable Stroke stroke,
+            @Nullable Image image, @Nullable AffineTransform imageTransform, @Nullable ImageObserver observer) {
+        recording.ops.add(new DisplayList.Op(kind, relativeTransform(), clip, currentOpacity(), changedHints,
+                shape, paint, stroke, image, imageTransform, observer));
+    }
+
+    private @NotNull Paint currentPaint() {
+        Paint paint = graphics().getPaint();
+        // Masked paints are modified when the paint is changed. Hence, we have to record the current state.
+        if (paint instanceof MaskedPaint) return new FrozenPaint(((MaskedPaint) paint).copy());
+        return paint;
+    }
+
+    @Override
+    public void fillShape(@NotNull Shape shape) {
+        record(DisplayList.Op.FILL, copyShape(shape), currentPaint(), null, null, null, null);
+    }
+
+    @Override
+    public void drawShape(@NotNull Shape shape) {
+        record(DisplayList.Op.DRAW, copyShape(shape), currentPaint(), stroke(), null, null, null);
+    }
+
+    @Override
+    public void drawImage(@NotNull BufferedImage image) {
+        record(DisplayList.Op.DRAW_BUFFERED_IMAGE, null, null, null, image, null, null);
+    }
+
+    @Override
+    public void drawImage(@NotNull Image image, @Nullable ImageObserver observer) {
+        Paint paint = graphics().getPaint();
+        if (paint instanceof MaskedPaint) {
+            // Mirrors GraphicsUtil#safelyDrawImage
+            MaskedPaint maskedPaint = ((MaskedPaint) paint).copy();
+            Rectangle r = new Rectangle(0, 0, image.getWidth(observer), image.getHeight(observer));
+            BufferedImage img = image instanceof BufferedImage
+                    ? (BufferedImage) image
+                    : ImageUtil.toBufferedImage(image);
+            maskedPaint.setPaint(new TexturePaint(img, r));
+            record(DisplayList.Op.FILL, r, new FrozenPaint(maskedPaint), null, null, null, null);
+        } else {
+            record(DisplayList.Op.DRAW_IMAGE, null, null, null, image, null, observer);
+        }
+    }
+
+    @Override
+    public void drawImage(@NotNull Image image, @NotNull AffineTransform at, @Nullable ImageObserver observer) {
+        record(DisplayList.Op.DRAW_IMAGE, null, null, null, image, new AffineTransform(at), observer);
+    }
+
+    @Override
+    public void applyClip(@NotNull Shape clipShape) {
+        super.applyClip(clipShape);
+        updateClip();
+    }
+
+    @Override
+    public void setClip(@Nullable Shape shape) {
+        super.setClip(shape);
+        updateClip();
+    }
+
+    private void updateClip() {
+        Shape userClip = graphics().getClip();
+        clip = new DisplayList.ClipState(userClip != null
+                ? transformShape(relativeTransform(), userClip)
+                : null);
+    }
+
+    private static @NotNull Shape transformShape(@NotNull AffineTransform at, @NotNull Shape shape) {
+        // Rectangular clips are cheaper and rasterized differently than general shapes. Hence, keep them rectangular
+        // if possible. This mirrors what Graphics2D does.
+        int nonRectilinear = AffineTransform.TYPE_GENERAL_TRANSFORM | AffineTransform.TYPE_GENERAL_ROTATION
+                | AffineTransform.TYPE_QUADRANT_ROTATION;
+        if (shape instanceof Rectangle2D && (at.getType() & nonRectilinear) == 0) {
+            Rectangle2D r = (Rectangle2D) shape;
+            double[] corners = {r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY()};
+            at.transform(corners, 0, corners, 0, 2);
+            Rectangle2D.Double result = new Rectangle2D.Double();
+            result.setFrameFromDiagonal(corners[0], corners[1], corners[2], corners[3]);
+            return result;
+        }
+        return at.createTransformedShape(shape);
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.@NotNull Key key, @Nullable Object value) {
+        super.setRenderingHint(key, value);
+        Map<RenderingHints.Key, Object> hints = changedHints != null
+                ? new HashMap<>(changedHints)
+                : new HashMap<>();
+        hints.put(key, value);
+        changedHints = hints;
+    }
+
+    @Override
+    public Optional<Float> contextFontSize() {
+        // The font size of the platform is used.
+        return Optional.empty();
+    }
+
+    @Override
+    public @NotNull Output createChild() {
+        return new RecordingOutput((Graphics2D) graphics().create(), recording, clip, changedHints);
+    }
+
+    private static @NotNull Shape copyShape(@NotNull Shape shape) {
+        // Shapes may be mutable, hence we take a copy.
+        if (shape instanceof RectangularShape) return (Shape) ((RectangularShape) shape).clone();
+        if (shape instanceof Path2D) return (Shape) ((Path2D) shape).clone();
+        if (shape instanceof Area) return (Shape) ((Area) shape).clone();
+        if (shape instanceof Line2D) return (Shape) ((Line2D) shape).clone();
+        if (shape instanceof QuadCurve2D) return (Shape) ((QuadCurve2D) shape).clone();
+        if (shape instanceof CubicCurve2D) return (Shape) ((CubicCurve2D) shape).clone();
+        if (shape instanceof Polygon) {
+            Polygon p = (Polygon) shape;
+            return new Polygon(p.xpoints, p.ypoints, p.npoints);
+        }
+        return shape;
+    }
+
+    /*
+     * A masked paint which is treated like any other paint, i.e. isn't combined with paints set after it.
+     */
+    private static final class FrozenPaint implements Paint {
+        private final @NotNull MaskedPaint paint;
+
+        private FrozenPaint(@NotNull MaskedPaint paint) {
+            this.paint = paint;
+        }
+
+        @Override
+        public PaintContext createContext(ColorModel cm, Rectangle deviceBounds, Rectangle2D userBounds,
+                AffineTransform xform, RenderingHints hints) {
+            return paint.createContext(cm, deviceBounds, userBounds, xform, hints);
+        }
+
+        @Override
+        public int getTransparency() {
+            return paint.getTransparency();
+        }
+    }
+}
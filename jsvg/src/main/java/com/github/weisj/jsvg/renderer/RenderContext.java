@@ -55,7 +55,10 @@ public final class RenderContext {
     private final @Nullable ContextElementAttributes contextElementAttributes;
 
     private final @NotNull AffineTransform rootTransform;
-    private final @NotNull AffineTransform userSpaceTransform;
+    // The user space transform is copied on write. Derived contexts share the transform of their parent until
+    // either of them modifies it.
+    private @NotNull AffineTransform userSpaceTransform;
+    private boolean userSpaceTransformShared;
 
 
     public static @NotNull RenderContext createInitial(@NotNull PlatformSupport awtSupport,
@@ -123,18 +126,34 @@ public final class RenderContext {
         FontRenderContext effectiveFrc = fontRenderContext.derive(frc);
         AffineTransform newRootTransform = rootTransform != null ? rootTransform : this.rootTransform;
 
-        return new RenderContext(awtSupport, newRootTransform, new AffineTransform(userSpaceTransform),
-                newPaintContext, newMeasureContext, effectiveFrc, newFontSpec, newFillRule, newContextAttributes);
+        return withSharedUserSpaceTransform(new RenderContext(awtSupport, newRootTransform, userSpaceTransform,
+                newPaintContext, newMeasureContext, effectiveFrc, newFontSpec, newFillRule, newContextAttributes));
     }
 
     public @NotNull RenderContext deriveForChildGraphics() {
-        // Pass non-trivial context mutator to ensure userSpaceTransform gets created a different copy.
-        return derive(t -> t, null, null, null, null, null);
+        // The derived context needs its own userSpaceTransform, which is taken care of by copy on write.
+        return withSharedUserSpaceTransform(new RenderContext(awtSupport, rootTransform, userSpaceTransform,
+                paintContext, measureContext, fontRenderContext, fontSpec, fillRule, contextElementAttributes));
     }
 
     public @NotNull RenderContext deriveForSurface() {
-        return derive(t -> t, null, null, null, null, null,
-                new AffineTransform(rootTransform));
+        return withSharedUserSpaceTransform(new RenderContext(awtSupport, new AffineTransform(rootTransform),
+                userSpaceTransform, paintContext, measureContext, fontRenderContext, fontSpec, fillRule,
+                contextElementAttributes));
+    }
+
+    private @NotNull RenderContext withSharedUserSpaceTransform(@NotNull RenderContext derived) {
+        this.userSpaceTransformShared = true;
+        derived.userSpaceTransformShared = true;
+        return derived;
+    }
+
+    private @NotNull AffineTransform mutableUserSpaceTransform() {
+        if (userSpaceTransformShared) {
+            userSpaceTransform = new AffineTransform(userSpaceTransform);
+            userSpaceTransformShared = false;
+        }
+        return userSpaceTransform;
     }
 
     public @NotNull StrokeContext strokeContext() {
@@ -153,18 +172,34 @@ public final class RenderContext {
         return rootTransform;
     }
 
+    /**
+     * Returns the user space transform of this context. The returned transform may be modified and changes are
+     * reflected by this context only.
+     *
+     * @return the user space transform.
+     */
     public @NotNull AffineTransform userSpaceTransform() {
+        return mutableUserSpaceTransform();
+    }
+
+    /**
+     * Returns the user space transform of this context without copying it. The returned transform may be shared with
+     * other contexts and must not be modified. Use {@link #userSpaceTransform()} to modify it.
+     *
+     * @return the user space transform.
+     */
+    public @NotNull AffineTransform readOnlyUserSpaceTransform() {
         return userSpaceTransform;
     }
 
     public void setRootTransform(@NotNull AffineTransform rootTransform) {
         this.rootTransform.setTransform(rootTransform);
-        this.userSpaceTransform.setToIdentity();
+        mutableUserSpaceTransform().setToIdentity();
     }
 
     public void setRootTransform(@NotNull AffineTransform rootTransform, @NotNull AffineTransform userSpaceTransform) {
         this.rootTransform.setTransform(rootTransform);
-        this.userSpaceTransform.setTransform(userSpaceTransform);
+        mutableUserSpaceTransform().setTransform(userSpaceTransform);
     }
 
     public void translate(@NotNull Output output, @NotNull Point2D dp) {
@@ -174,22 +209,22 @@ public final class RenderContext {
     public void translate(@NotNull Output output, double dx, double dy) {
         // TODO: Do this for remaining calls to translate/transform/scale etc.
         output.translate(dx, dy);
-        userSpaceTransform.translate(dx, dy);
+        mutableUserSpaceTransform().translate(dx, dy);
     }
 
     public void scale(@NotNull Output output, double sx, double sy) {
         output.scale(sx, sy);
-        userSpaceTransform.scale(sx, sy);
+        mutableUserSpaceTransform().scale(sx, sy);
     }
 
     public void rotate(@NotNull Output output, double angle) {
         output.rotate(angle);
-        userSpaceTransform.rotate(angle);
+        mutableUserSpaceTransform().rotate(angle);
     }
 
     public void transform(@NotNull Output output, @NotNull AffineTransform at) {
         output.applyTransform(at);
-        userSpaceTransform.concatenate(at);
+        mutableUserSpaceTransform().concatenate(at);
     }
 
     public @NotNull PlatformSupport platformSupport() {
@@ -200,6 +235,11 @@ public final class RenderContext {
         return measureContext;
     }
 
+    @NotNull
+    MeasurableFontSpec fontSpec() {
+        return fontSpec;
+    }
+
     public @NotNull FontRenderContext fontRenderContext() {
         return fontRenderContext;
     }
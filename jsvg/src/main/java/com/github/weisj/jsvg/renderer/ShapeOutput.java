@@ -24,6 +24,7 @@ package com.github.weisj.jsvg.renderer;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
+import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
@@ -33,6 +34,7 @@ import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.weisj.jsvg.geometry.util.GeometryUtil;
 import com.github.weisj.jsvg.util.Provider;
 import com.github.weisj.jsvg.util.ShapeUtil;
 
@@ -162,8 +164,17 @@ public class ShapeOutput implements Output {
     @Override
     public @NotNull Rectangle2D clipBounds() {
         float veryLargeNumber = Float.MAX_VALUE / 4;
-        return currentClip != null ? currentClip.getBounds2D()
-                : new Rectangle2D.Float(-veryLargeNumber, -veryLargeNumber, 2 * veryLargeNumber, 2 * veryLargeNumber);
+        Rectangle2D unclipped =
+                new Rectangle2D.Float(-veryLargeNumber, -veryLargeNumber, 2 * veryLargeNumber, 2 * veryLargeNumber);
+        if (currentClip == null) return unclipped;
+        // The clip is stored in the space of the accumulated shape. Like Graphics#getClipBounds the bounds are
+        // reported in user space.
+        try {
+            return GeometryUtil.containingBoundsAfterTransform(currentTransform.createInverse(),
+                    currentClip.getBounds2D());
+        } catch (NoninvertibleTransformException e) {
+            return unclipped;
+        }
     }
 
     @Override
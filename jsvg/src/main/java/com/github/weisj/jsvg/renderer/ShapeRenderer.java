@@ -105,10 +105,11 @@ public final class ShapeRenderer {
         VectorEffect.applyEffects(shapePaintContext.vectorEffects, output,
                 shapePaintContext.context, shapePaintContext.transform);
         Output.SafeState safeState = output.safeState();
+        // Painting the phases doesn't modify the context. Markers derive their own context.
+        RenderContext phaseContext = shapePaintContext.context;
 
         boolean fillPainted = false;
         for (PaintOrder.Phase phase : paintOrder.phases()) {
-            RenderContext phaseContext = shapePaintContext.context.deriveForChildGraphics();
             switch (phase) {
                 case FILL:
                     if (canBeFilledHint) {
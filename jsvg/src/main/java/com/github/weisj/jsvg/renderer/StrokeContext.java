@@ -22,6 +22,7 @@
 package com.github.weisj.jsvg.renderer;
 
 import java.util.Arrays;
+import java.util.Objects;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -106,6 +107,26 @@ public final class StrokeContext {
                 attributeNode.getLength("stroke-dashoffset"));
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StrokeContext)) return false;
+        StrokeContext that = (StrokeContext) o;
+        return Float.compare(that.miterLimit, miterLimit) == 0
+                && Objects.equals(strokeWidth, that.strokeWidth)
+                && lineCap == that.lineCap
+                && lineJoin == that.lineJoin
+                && Arrays.equals(dashPattern, that.dashPattern)
+                && Objects.equals(dashOffset, that.dashOffset);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(strokeWidth, lineCap, lineJoin, miterLimit, dashOffset);
+        result = 31 * result + Arrays.hashCode(dashPattern);
+        return result;
+    }
+
     @Override
     public String toString() {
         return "StrokeContext{" +
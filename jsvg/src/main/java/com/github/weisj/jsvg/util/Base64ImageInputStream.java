@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link javax.imageio.stream.ImageInputStream} which decodes the base64 (percent encoded) data of a data uri
+ * directly from the uri string. Characters outside the base64 alphabet are ignored and '=' marks the end of the
+ * data, matching {@link java.util.Base64#getMimeDecoder()}.
+ * <p>
+ * Only a few bytes are decoded ahead of the current position. To support seeking backwards the character index of
+ * every {@link #CHECKPOINT_INTERVAL} bytes is remembered, from where decoding can be restarted.
+ */
+final class Base64ImageInputStream extends ImageInputStreamImpl {
+    // Multiple of 3 such that checkpoints fall onto the boundaries of 4 character groups.
+    private static final int CHECKPOINT_INTERVAL = 3 * 4096;
+    private static final byte[] DECODE_TABLE = createDecodeTable();
+
+    private final @NotNull String data;
+    private final int endIndex;
+
+    private int[] checkpoints = new int[16];
+    private int checkpointCount;
+
+    // Decoder state: group holds the bytes [groupPosition, groupPosition + groupLength) of the stream and
+    // charIndex points to the first character of the next group.
+    private final byte[] group = new byte[3];
+    private int groupLength;
+    private long groupPosition;
+    private int charIndex;
+    private boolean endOfData;
+
+    Base64ImageInputStream(@NotNull String data, int startIndex, int endIndex) {
+        this.data = data;
+        this.endIndex = endIndex;
+        checkpoints[0] = startIndex;
+        checkpointCount = 1;
+        restart(0);
+    }
+
+    private static byte @NotNull [] createDecodeTable() {
+        byte[] table = new byte[128];
+        Arrays.fill(table, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            table[alphabet.charAt(i)] = (byte) i;
+        }
+        table['='] = -2;
+        return table;
+    }
+
+    private void restart(int checkpoint) {
+        charIndex = checkpoints[checkpoint];
+        groupPosition = (long) checkpoint * CHECKPOINT_INTERVAL;
+        groupLength = 0;
+        endOfData = false;
+    }
+
+    /*
+     * Positions the decoder such that the group contains the current stream position.
+     * Returns false if the position is beyond the end of the data.
+     */
+    private boolean prepareRead() {
+        long position = streamPos;
+        if (position < groupPosition) {
+            restart((int) Math.min(position / CHECKPOINT_INTERVAL, checkpointCount - 1));
+        }
+        while (position >= groupPosition + groupLength) {
+            if (endOfData) return false;
+            groupPosition += groupLength;
+            decodeGroup();
+        }
+        return true;
+    }
+
+    private void decodeGroup() {
+        if (groupPosition % CHECKPOINT_INTERVAL == 0) {
+            int checkpoint = (int) (groupPosition / CHECKPOINT_INTERVAL);
+            if (checkpoint == checkpointCount) {
+                if (checkpointCount == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, 2 * checkpointCount);
+                }
+                checkpoints[checkpointCount++] = charIndex;
+            }
+        }
+        int bits = 0;
+        int sextets = 0;
+        while (sextets < 4 && charIndex < endIndex) {
+            int c = data.charAt(charIndex++);
+            if (c == '%' && charIndex + 1 < endIndex) {
+                int high = Character.digit(data.charAt(charIndex), 16);
+                int low = Character.digit(data.charAt(charIndex + 1), 16);
+                if (high >= 0 && low >= 0) {
+                    c = high << 4 | low;
+                    charIndex += 2;
+                }
+            }
+            int value = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if (value == -2) {
+                charIndex = endIndex;
+                break;
+            }
+            if (value < 0) continue;
+            bits = bits << 6 | value;
+            sextets++;
+        }
+        if (charIndex >= endIndex) endOfData = true;
+        switch (sextets) {
+            case 4:
+                group[0] = (byte) (bits >> 16);
+                group[1] = (byte) (bits >> 8);
+                group[2] = (byte) bits;
+                groupLength = 3;
+                break;
+            case 3:
+                group[0] = (byte) (bits >> 10);
+                group[1] = (byte) (bits >> 2);
+                groupLength = 2;
+                break;
+            case 2:
+                group[0] = (byte) (bits >> 4);
+                groupLength = 1;
+                break;
+            default:
+                // A single trailing character doesn't carry a full byte.
+                groupLength = 0;
+                break;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        if (!prepareRead()) return -1;
+        return group[(int) (streamPos++ - groupPosition)] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NotNull [] b, int off, int len) throws IOException {
+        checkClosed();
+        if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+            throw new IndexOutOfBoundsException("off=" + off + " len=" + len + " length=" + b.length);
+        }
+        bitOffset = 0;
+        if (len == 0) return 0;
+        int count = 0;
+        while (count < len && prepareRead()) {
+            int offsetInGroup = (int) (streamPos - groupPosition);
+            int n = Math.min(len - count, groupLength - offsetInGroup);
+            System.arraycopy(group, offsetInGroup, b, off + count, n);
+            count += n;
+            streamPos += n;
+        }
+        return count == 0 ? -1 : count;
+    }
+}
@@ -100,7 +100,7 @@ public final class BlittableImage {
         rootTransform.translate(-boundsInDeviceSpace.getX(), -boundsInDeviceSpace.getY());
         rootTransform.concatenate(context.rootTransform());
 
-        AffineTransform userSpaceTransform = new AffineTransform(context.userSpaceTransform());
+        AffineTransform userSpaceTransform = context.readOnlyUserSpaceTransform();
         if (contentUnits == UnitType.ObjectBoundingBox) {
             userSpaceTransform = new AffineTransform(userSpaceTransform);
             userSpaceTransform.translate(objectBounds.getX(), objectBounds.getY());
@@ -133,7 +133,7 @@ public final class BlittableImage {
     public @NotNull Graphics2D createGraphics() {
         Graphics2D g = GraphicsUtil.createGraphics(image);
         g.transform(context.rootTransform());
-        g.transform(context.userSpaceTransform());
+        g.transform(context.readOnlyUserSpaceTransform());
         return g;
     }
 
@@ -129,6 +129,44 @@ final class DataUri {
         }
     }
 
+    /**
+     * The part of a data URI in front of the data.
+     */
+    static final class Header {
+        private final @NotNull String mime;
+        private final @Nullable Charset charset;
+        private final @Nullable String filename;
+        private final @Nullable String contentDisposition;
+        private final boolean base64;
+        private final int dataStart;
+
+        private Header(@NotNull String mime, @Nullable Charset charset, @Nullable String filename,
+                @Nullable String contentDisposition, boolean base64, int dataStart) {
+            this.mime = mime;
+            this.charset = charset;
+            this.filename = filename;
+            this.contentDisposition = contentDisposition;
+            this.base64 = base64;
+            this.dataStart = dataStart;
+        }
+
+        @NotNull
+        String mime() {
+            return mime;
+        }
+
+        boolean isBase64() {
+            return base64;
+        }
+
+        /**
+         * @return the index of the first character of the (percent encoded) data in the uri.
+         */
+        int dataStart() {
+            return dataStart;
+        }
+    }
+
     /**
      * Tries to parse a data URI described in RFC2397
      *
@@ -141,9 +179,45 @@ final class DataUri {
      *     process
      */
     public static DataUri parse(@NotNull String uri, Charset charset) throws MalformedDataUriException {
+        Header header = parseHeader(uri, charset);
+
+        // Let data be the substring of URI from position comma + 1 to the end of URI.
+        String data = uri.substring(header.dataStart);
+
+        // Let data be the result of percent-decoding data.
+        data = percentDecode(data, charset);
+
+        final byte[] finalData;
+        try {
+            finalData = header.base64
+                    ? Base64.getMimeDecoder().decode(data)
+                    : data.getBytes(charset);
+        } catch (RuntimeException e) {
+            throw new MalformedDataUriException(e);
+        }
+
+        // return dataURIObject.
+        return new DataUri(
+                header.mime,
+                header.charset,
+                header.filename,
+                header.contentDisposition,
+                finalData);
+    }
+
+    /**
+     * Parses the mime type and options of a data URI described in RFC2397 without touching the data itself.
+     *
+     * @param uri A string representing the data URI
+     * @param charset Charset to use when decoding percent encoded options
+     *     like filename
+     *
+     * @return Parsed header
+     */
+    static @NotNull Header parseHeader(@NotNull String uri, Charset charset) throws MalformedDataUriException {
 
         // If URI does not start with a case-insensitive "data:": Throw a MALFORMED_URI exception.
-        if (!uri.toLowerCase(Locale.ENGLISH).startsWith("data:"))
+        if (!uri.regionMatches(true, 0, "data:", 0, "data:".length()))
             throw new MalformedDataUriException("URI must start with a case-insensitive `data:'");
 
         // If URI does not contain a ",": Throw a MALFORMED_URI exception.
@@ -295,12 +369,6 @@ final class DataUri {
 
         }
 
-        // Let data be the substring of URI from position comma + 1 to the end of URI.
-        String data = uri.substring(comma + 1);
-
-        // Let data be the result of percent-decoding data.
-        data = percentDecode(data, charset);
-
         // Let dataURIObject be an object consisting of the mimeType,
         // contentEncoding, data and supportedValues objects.
         final String finalMimeType = mimeType;
@@ -314,22 +382,13 @@ final class DataUri {
                 ? null
                 : supportedValues.get(CONTENT_DISPOSITION_OPTION_NAME);
 
-        final byte[] finalData;
-        try {
-            finalData = "base64".equalsIgnoreCase(contentEncoding)
-                    ? Base64.getMimeDecoder().decode(data)
-                    : data.getBytes(charset);
-        } catch (RuntimeException e) {
-            throw new MalformedDataUriException(e);
-        }
-
-        // return dataURIObject.
-        return new DataUri(
+        return new Header(
                 finalMimeType,
                 finalCharset,
                 finalFilename,
                 finalContentDisposition,
-                finalData);
+                "base64".equalsIgnoreCase(contentEncoding),
+                comma + 1);
     }
 
     @Override
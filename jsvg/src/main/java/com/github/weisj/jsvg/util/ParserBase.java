@@ -31,8 +31,19 @@ public class ParserBase {
     private int index;
 
     public ParserBase(@NotNull String input, int startIndex) {
+        this(input, startIndex, input.length());
+    }
+
+    /**
+     * Creates a parser for the range {@code [startIndex, endIndex)} of the input.
+     *
+     * @param input the input string.
+     * @param startIndex the index of the first character to parse.
+     * @param endIndex the index after the last character to parse.
+     */
+    public ParserBase(@NotNull String input, int startIndex, int endIndex) {
         this.input = input;
-        this.inputLength = input.length();
+        this.inputLength = endIndex;
         this.index = startIndex;
     }
 
@@ -58,14 +69,129 @@ public class ParserBase {
         return c == ',' || Character.isWhitespace(c);
     }
 
-    private String nextNumberString() {
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final long MAX_MANTISSA = 100_000_000_000_000_000L;
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private int nextNumberEnd() {
         int start = index;
-        NumberCharState state = new NumberCharState();
-        while (hasNext() && isValidNumberChar(peek(), state)) {
+        int iteration = 0;
+        boolean dotAllowed = true;
+        boolean signAllowed = true;
+        boolean exponentAllowed = true;
+        // This only checks for the rough structure of a number as we need to know
+        // when to separate the next token.
+        // Explicit parsing is done by parseExactDecimal or Float#parseFloat.
+        while (hasNext()) {
+            char c = peek();
+            boolean valid = '0' <= c && c <= '9';
+            if (valid && iteration == 1 && input.charAt(start) == '0') {
+                // Break up combined zeros into multiple numbers.
+                break;
+            }
+            signAllowed = signAllowed && !valid;
+            if (dotAllowed && !valid) {
+                valid = c == '.';
+                dotAllowed = !valid;
+            }
+            if (signAllowed && !valid) {
+                valid = c == '+' || c == '-';
+                signAllowed = valid;
+            }
+            if (exponentAllowed && !valid) {
+                // Possible exponent notation. Needs at least one preceding number
+                valid = c == 'e' || c == 'E';
+                exponentAllowed = !valid;
+                signAllowed = valid;
+                dotAllowed = !valid;
+            }
+            if (!valid) break;
+            iteration++;
             consume();
         }
-        int end = index;
-        return input.substring(start, end);
+        return index;
+    }
+
+    /*
+     * Parses the plain decimal number in [start, end) without allocating. If both the mantissa and the power of ten
+     * are exactly representable the result of a single multiplication/division is correctly rounded i.e. equal to
+     * the one of Float#parseFloat (resp. Double#parseDouble). Returns NaN if the token isn't a plain decimal number
+     * or can't be converted exactly, in which case the caller should fall back to the JDK implementation.
+     */
+    private static double parseExactDecimal(@NotNull String input, int start, int end, boolean singlePrecision) {
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char c = input.charAt(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        while (i < end) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') break;
+            hasDigits = true;
+            if (mantissa >= MAX_MANTISSA) return Double.NaN;
+            mantissa = mantissa * 10 + (c - '0');
+            i++;
+        }
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            while (i < end) {
+                char c = input.charAt(i);
+                if (c < '0' || c > '9') break;
+                hasDigits = true;
+                if (mantissa >= MAX_MANTISSA) return Double.NaN;
+                mantissa = mantissa * 10 + (c - '0');
+                exponent--;
+                i++;
+            }
+        }
+        if (!hasDigits) return Double.NaN;
+        if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+                negativeExponent = input.charAt(i) == '-';
+                i++;
+            }
+            if (i >= end) return Double.NaN;
+            int explicitExponent = 0;
+            while (i < end) {
+                char c = input.charAt(i);
+                if (c < '0' || c > '9') return Double.NaN;
+                if (explicitExponent > 1000) return Double.NaN;
+                explicitExponent = explicitExponent * 10 + (c - '0');
+                i++;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != end) return Double.NaN;
+        if (mantissa == 0) return negative ? -0d : 0d;
+        double value;
+        if (singlePrecision) {
+            if (mantissa > MAX_EXACT_FLOAT_MANTISSA || exponent < -10 || exponent > 10) return Double.NaN;
+            value = exponent < 0
+                    ? mantissa / FLOAT_POWERS_OF_TEN[-exponent]
+                    : mantissa * FLOAT_POWERS_OF_TEN[exponent];
+        } else {
+            if (mantissa > MAX_EXACT_DOUBLE_MANTISSA || exponent < -22 || exponent > 22) return Double.NaN;
+            value = exponent < 0
+                    ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent]
+                    : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+        }
+        return negative ? -value : value;
     }
 
     protected float nextFloatOrUnspecified() {
@@ -75,67 +201,78 @@ public class ParserBase {
 
     public float nextFloat() throws NumberFormatException {
         int start = index;
-        String token = nextNumberString();
+        int end = nextNumberEnd();
+        double value = parseExactDecimal(input, start, end, true);
+        if (!Double.isNaN(value)) return (float) value;
+        String token = input.substring(start, end);
         try {
             return Float.parseFloat(token);
         } catch (NumberFormatException e) {
-            String msg = "Unexpected token '" + token + "' rest="
-                    + input.substring(start, Math.min(input.length(), start + 10))
-                    + currentLocation();
-            throw new IllegalStateException(msg, e);
+            throw unexpectedToken(token, start, e);
         }
     }
 
+    /**
+     * Parses the range {@code [start, end)} of the given string as float. The result is the same as the one of
+     * {@code Float.parseFloat(value.substring(start, end))}, but plain decimal numbers are parsed without
+     * allocating.
+     *
+     * @param value the string
+     * @param start the start index (inclusive).
+     * @param end the end index (exclusive).
+     * @return the parsed value.
+     * @throws NumberFormatException if the range doesn't contain a valid number.
+     */
+    public static float parseFloat(@NotNull String value, int start, int end) throws NumberFormatException {
+        // Float#parseFloat ignores leading and trailing whitespace.
+        while (start < end && value.charAt(start) <= ' ') start++;
+        while (end > start && value.charAt(end - 1) <= ' ') end--;
+        double result = parseExactDecimal(value, start, end, true);
+        if (!Double.isNaN(result)) return (float) result;
+        return Float.parseFloat(value.substring(start, end));
+    }
+
+    /**
+     * Parses the range {@code [start, end)} of the given string as double. The result is the same as the one of
+     * {@code Double.parseDouble(value.substring(start, end))}, but plain decimal numbers are parsed without
+     * allocating.
+     *
+     * @param value the string
+     * @param start the start index (inclusive).
+     * @param end the end index (exclusive).
+     * @return the parsed value.
+     * @throws NumberFormatException if the range doesn't contain a valid number.
+     */
+    public static double parseDouble(@NotNull String value, int start, int end) throws NumberFormatException {
+        while (start < end && value.charAt(start) <= ' ') start++;
+        while (end > start && value.charAt(end - 1) <= ' ') end--;
+        double result = parseExactDecimal(value, start, end, false);
+        if (!Double.isNaN(result)) return result;
+        return Double.parseDouble(value.substring(start, end));
+    }
+
     public double nextDouble() throws NumberFormatException {
         int start = index;
-        String token = nextNumberString();
+        int end = nextNumberEnd();
+        double value = parseExactDecimal(input, start, end, false);
+        if (!Double.isNaN(value)) return value;
+        String token = input.substring(start, end);
         try {
             return Double.parseDouble(token);
         } catch (NumberFormatException e) {
-            String msg = "Unexpected token '" + token + "' rest="
-                    + input.substring(start, Math.min(input.length(), start + 10))
-                    + currentLocation();
-            throw new IllegalStateException(msg, e);
+            throw unexpectedToken(token, start, e);
         }
     }
 
-    protected @NotNull String currentLocation() {
-        return "(index=" + index + " in input=" + input + ")";
-    }
-
-    // This only checks for the rough structure of a number as we need to know
-    // when to separate the next token.
-    // Explicit parsing is done by Float#parseFloat.
-    private boolean isValidNumberChar(char c, NumberCharState state) {
-        boolean valid = '0' <= c && c <= '9';
-        if (valid && state.iteration == 1 && input.charAt(index - 1) == '0') {
-            // Break up combined zeros into multiple numbers.
-            return false;
-        }
-        state.signAllowed = state.signAllowed && !valid;
-        if (state.dotAllowed && !valid) {
-            valid = c == '.';
-            state.dotAllowed = !valid;
-        }
-        if (state.signAllowed && !valid) {
-            valid = c == '+' || c == '-';
-            state.signAllowed = valid;
-        }
-        if (state.exponentAllowed && !valid) {
-            // Possible exponent notation. Needs at least one preceding number
-            valid = c == 'e' || c == 'E';
-            state.exponentAllowed = !valid;
-            state.signAllowed = valid;
-            state.dotAllowed = !valid;
-        }
-        state.iteration++;
-        return valid;
+    private @NotNull IllegalStateException unexpectedToken(@NotNull String token, int start,
+            @NotNull NumberFormatException e) {
+        String msg = "Unexpected token '" + token + "' rest="
+                + input.substring(start, Math.min(input.length(), start + 10))
+                + currentLocation();
+        return new IllegalStateException(msg, e);
     }
 
-    private static final class NumberCharState {
-        int iteration = 0;
-        boolean dotAllowed = true;
-        boolean signAllowed = true;
-        boolean exponentAllowed = true;
+    protected @NotNull String currentLocation() {
+        return "(index=" + index + " in input=" + input + ")";
     }
 }
@@ -32,8 +32,6 @@ import org.jetbrains.annotations.Nullable;
 import com.github.weisj.jsvg.attributes.FillRule;
 import com.github.weisj.jsvg.geometry.FillRuleAwareAWTSVGShape;
 import com.github.weisj.jsvg.geometry.MeasurableShape;
-import com.github.weisj.jsvg.geometry.path.BuildHistory;
-import com.github.weisj.jsvg.geometry.path.PathCommand;
 import com.github.weisj.jsvg.geometry.path.PathParser;
 
 public final class PathUtil {
@@ -53,20 +51,11 @@ public final class PathUtil {
     private PathUtil() {}
 
     public static @NotNull MeasurableShape parseFromPathData(@NotNull String data, @NotNull FillRule fillRule) {
-        PathCommand[] pathCommands = new PathParser(data).parsePathCommand();
-
-        int nodeCount = 2;
-        for (PathCommand pathCommand : pathCommands) {
-            nodeCount += pathCommand.nodeCount() - 1;
-        }
-
+        // Rough estimate of the number of segments. Every segment needs at least two characters.
+        // The path is trimmed afterward anyway.
+        int nodeCount = Math.max(2, data.length() / 8);
         Path2D path = new Path2D.Float(fillRule.awtWindingRule, nodeCount);
-        BuildHistory hist = new BuildHistory();
-
-        for (PathCommand pathCommand : pathCommands) {
-            pathCommand.appendPath(path, hist);
-        }
-
+        new PathParser(data).parsePathInto(path);
         trimPathToSize(path);
 
         return new FillRuleAwareAWTSVGShape(path);
@@ -21,10 +21,9 @@
  */
 package com.github.weisj.jsvg.util;
 
+import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -35,7 +34,9 @@ import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -43,6 +44,7 @@ import org.jetbrains.annotations.Nullable;
 import com.github.weisj.jsvg.SVGDocument;
 import com.github.weisj.jsvg.parser.SVGLoader;
 import com.github.weisj.jsvg.parser.resources.ImageResource;
+import com.github.weisj.jsvg.parser.resources.LazyImageResource;
 import com.github.weisj.jsvg.parser.resources.RenderableResource;
 import com.github.weisj.jsvg.parser.resources.SVGResource;
 
@@ -58,6 +60,24 @@ public final class ResourceUtil {
             .collect(Collectors.toSet());
 
     public static @Nullable RenderableResource loadImage(@NotNull URI uri) throws IOException {
+        return loadImage(uri, false);
+    }
+
+    /**
+     * Loads the image referenced by the given uri.
+     * <p>
+     * Raster images are decoded lazily once they are rendered, which allows them to be decoded at the resolution
+     * they are painted at. Loaders running off the rendering thread should decode eagerly instead, such that the
+     * load has finished once the image is available. Images embedded using {@code data:} uris are always decoded
+     * lazily, as their encoded data is part of the document anyway.
+     *
+     * @param uri the uri of the image.
+     * @param decodeEagerly whether raster images should be decoded at full resolution right away.
+     * @return the image or null if it can't be loaded.
+     * @throws IOException if the image data can't be read.
+     */
+    public static @Nullable RenderableResource loadImage(@NotNull URI uri, boolean decodeEagerly)
+            throws IOException {
         String path = uri.getPath();
         if (path != null && path.endsWith(".svg")) {
             SVGLoader loader = new SVGLoader();
@@ -71,50 +91,112 @@ public final class ResourceUtil {
             }
         }
 
-        BufferedImage img = loadToBufferedImage(uri);
-        if (img == null) return null;
-        return new ImageResource(img);
+        if ("data".equals(uri.getScheme())) return loadDataUriImage(uri.toString());
+        LazyImageResource.ImageSource source = imageSource(uri);
+        if (!decodeEagerly) return new LazyImageResource(source);
+        try (ImageInputStream input = source.open()) {
+            BufferedImage image = readImage(input, 1);
+            return image != null ? new ImageResource(image) : null;
+        }
+    }
+
+    /*
+     * Only the header of the uri is parsed eagerly. The image data is decoded once the image is rendered.
+     * Base64 encoded data is decoded while reading it, without creating intermediate copies.
+     */
+    private static @NotNull RenderableResource loadDataUriImage(@NotNull String uri) throws IOException {
+        DataUri.Header header = DataUri.parseHeader(uri, StandardCharsets.UTF_8);
+        if (!isSupportedMimeType(header.mime())) throw new IOException("Unsupported Mime type " + header.mime());
+        if (header.isBase64()) {
+            return new LazyImageResource(() -> new Base64ImageInputStream(uri, header.dataStart(), uri.length()));
+        }
+        byte[] data = DataUri.parse(uri, StandardCharsets.UTF_8).data();
+        return new LazyImageResource(() -> new MemoryCacheImageInputStream(new ByteArrayInputStream(data)));
     }
 
-    private static @Nullable BufferedImage loadToBufferedImage(@NotNull URI uri) throws IOException {
-        String scheme = uri.getScheme();
-        if ("data".equals(scheme)) {
-            DataUri dataUri = DataUri.parse(uri.toString(), StandardCharsets.UTF_8);
-            if (!isSupportedMimeType(dataUri.mime())) throw new IOException("Unsupported Mime type " + dataUri.mime());
-            try (ByteArrayInputStream in = new ByteArrayInputStream(dataUri.data())) {
-                return readPossiblyCorruptedFile(in);
+    /*
+     * Local files are read directly whenever the image is decoded. Other resources are fetched once and kept in
+     * their encoded form.
+     */
+    private static @NotNull LazyImageResource.ImageSource imageSource(@NotNull URI uri) throws IOException {
+        if ("file".equals(uri.getScheme()) && uri.getAuthority() == null && uri.getQuery() == null
+                && uri.getFragment() == null) {
+            File file = new File(uri);
+            if (!file.canRead()) throw new IOException("Can't read input file " + file);
+            return () -> new FileImageInputStream(file);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = uri.toURL().openStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
             }
         }
-        return ImageIO.read(uri.toURL());
+        byte[] data = out.toByteArray();
+        return () -> new MemoryCacheImageInputStream(new ByteArrayInputStream(data));
     }
 
     private static boolean isSupportedMimeType(@NotNull String mimeType) {
         return SUPPORTED_MIME_TYPES.contains(mimeType.toLowerCase(Locale.ENGLISH));
     }
 
-    private static @Nullable BufferedImage readPossiblyCorruptedFile(@NotNull InputStream inputStream)
+    /**
+     * Reads the size of the first image in the stream without decoding it.
+     *
+     * @param input the image stream.
+     * @return the size or null if the format isn't supported.
+     * @throws IOException if the image header can't be read.
+     */
+    public static @Nullable Dimension readImageSize(@NotNull ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) return null;
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            return new Dimension(reader.getWidth(0), reader.getHeight(0));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Decodes the first image in the stream. Only every {@code subsampling}-th pixel in each direction is decoded.
+     * If an error occurs during decoding the partially decoded image is returned.
+     *
+     * @param input the image stream.
+     * @param subsampling the subsampling factor.
+     * @return the image or null if the format isn't supported.
+     * @throws IOException if the image header can't be read.
+     */
+    public static @Nullable BufferedImage readImage(@NotNull ImageInputStream input, int subsampling)
             throws IOException {
-        ImageInputStream input = ImageIO.createImageInputStream(inputStream);
         Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
         if (!readers.hasNext()) return null;
 
         ImageReader reader = readers.next();
-        reader.setInput(input);
+        try {
+            reader.setInput(input);
 
-        // Create destination image to hold possibly partially decoded result
-        ImageReadParam param = reader.getDefaultReadParam();
-        BufferedImage image = reader.getImageTypes(0).next()
-                .createBufferedImage(reader.getWidth(0), reader.getHeight(0));
-        param.setDestination(image);
+            // Create destination image to hold possibly partially decoded result
+            ImageReadParam param = reader.getDefaultReadParam();
+            if (subsampling > 1) param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            int width = (reader.getWidth(0) + subsampling - 1) / subsampling;
+            int height = (reader.getHeight(0) + subsampling - 1) / subsampling;
+            BufferedImage image = reader.getImageTypes(0).next().createBufferedImage(width, height);
+            param.setDestination(image);
 
-        try {
-            image = reader.read(0, param);
-            // Don't really need the return value here, as it will always be same value
-            // as "image"
-        } catch (Exception e) {
-            // Ignore this exception or display a warning or similar, for exceptions happening during decoding
-            LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            try {
+                image = reader.read(0, param);
+                // Don't really need the return value here, as it will always be same value
+                // as "image"
+            } catch (Exception e) {
+                // Ignore this exception or display a warning or similar, for exceptions happening during decoding
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            }
+            return image;
+        } finally {
+            reader.dispose();
         }
-        return image;
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+
+class CullingTest {
+
+    private static @NotNull SVGDocument load(@NotNull String content) {
+        return Objects.requireNonNull(new SVGLoader().load(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null,
+                LoaderContext.createDefault()));
+    }
+
+    private static @NotNull String grid(int count, @NotNull String childAttributes) {
+        StringBuilder builder = new StringBuilder(
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"200\" height=\"200\">");
+        builder.append("<g transform=\"rotate(10 100 100)\">");
+        for (int y = 0; y < count; y++) {
+            builder.append("<g>");
+            for (int x = 0; x < count; x++) {
+                builder.append("<rect x=\"").append(x * 200f / count).append("\" y=\"").append(y * 200f / count)
+                        .append("\" width=\"").append(150f / count).append("\" height=\"").append(150f / count)
+                        .append("\" fill=\"rgb(").append(x * 255 / count).append(",").append(y * 255 / count)
+                        .append(",128)\" ").append(childAttributes).append("/>");
+            }
+            builder.append("</g>");
+        }
+        return builder.append("</g></svg>").toString();
+    }
+
+    private static @NotNull BufferedImage render(@NotNull Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        painter.accept(g);
+        g.dispose();
+        return image;
+    }
+
+    private static void assertSamePixels(@NotNull BufferedImage expected, @NotNull BufferedImage actual,
+            @NotNull Rectangle area) {
+        assertArrayEquals(
+                expected.getRGB(area.x, area.y, area.width, area.height, null, 0, area.width),
+                actual.getRGB(area.x, area.y, area.width, area.height, null, 0, area.width));
+    }
+
+    @Test
+    void testClippedRenderingMatchesFullRendering() {
+        SVGDocument document = load(grid(40, ""));
+        ViewBox viewBox = new ViewBox(200, 200);
+        BufferedImage expected = render(g -> {
+            g.scale(3, 3);
+            document.render((Component) null, g, viewBox);
+        });
+        for (Rectangle area : new Rectangle[] {
+                new Rectangle(0, 0, 20, 20),
+                new Rectangle(37, 91, 13, 7),
+                new Rectangle(150, 10, 50, 120)
+        }) {
+            // Render twice to also use the cached index.
+            for (int i = 0; i < 2; i++) {
+                BufferedImage actual = render(g -> {
+                    g.clip(area);
+                    g.scale(3, 3);
+                    document.render((Component) null, g, viewBox);
+                });
+                assertSamePixels(expected, actual, area);
+            }
+        }
+    }
+
+    @Test
+    void testStrokeExtentIsRespected() {
+        // Miter joins of thin angles reach far beyond half the stroke width. Only the tip lies inside the clip.
+        String tip = "<path d=\"M 0 90 L 100 100 L 0 110\" fill=\"none\" stroke=\"black\" stroke-width=\"10\""
+                + " stroke-miterlimit=\"40\"/>";
+        StringBuilder builder = new StringBuilder(
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"200\" height=\"200\">");
+        for (int i = 0; i < 10; i++) {
+            builder.append("<rect x=\"0\" y=\"").append(i).append("\" width=\"1\" height=\"1\"/>");
+        }
+        builder.append(tip).append("</svg>");
+        SVGDocument document = load(builder.toString());
+        Rectangle area = new Rectangle(140, 90, 60, 20);
+        BufferedImage image = render(g -> {
+            g.clip(area);
+            document.render((Component) null, g, new ViewBox(200, 200));
+        });
+        int[] pixels = image.getRGB(area.x, area.y, area.width, area.height, null, 0, area.width);
+        assertTrue(Arrays.stream(pixels).anyMatch(p -> p != 0), "Miter tip should be painted");
+    }
+
+    @Test
+    void testComputeShapeOfScaledDocument() {
+        // The clip of the shape output lives in device space, whereas culling happens in user space.
+        StringBuilder builder = new StringBuilder("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"16\" height=\"16\""
+                + " viewBox=\"0 0 512 512\">");
+        for (int i = 0; i < 10; i++) {
+            builder.append("<rect x=\"").append(i * 50).append("\" y=\"").append(i * 50)
+                    .append("\" width=\"10\" height=\"10\"/>");
+        }
+        builder.append("</svg>");
+        Shape shape = load(builder.toString()).computeShape();
+        float scale = 16f / 512f;
+        assertEquals(new Rectangle2D.Float(0, 0, 460 * scale, 460 * scale), shape.getBounds2D());
+        for (int i = 0; i < 10; i++) {
+            float center = (i * 50 + 5) * scale;
+            assertTrue(shape.contains(center, center), "Rect " + i + " is missing");
+        }
+    }
+}
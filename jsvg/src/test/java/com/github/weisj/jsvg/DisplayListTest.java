@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.geometry.size.FloatSize;
+import com.github.weisj.jsvg.parser.SVGLoader;
+import com.github.weisj.jsvg.renderer.DisplayList;
+import com.github.weisj.jsvg.renderer.awt.PlatformSupport;
+
+class DisplayListTest {
+
+    private static final class TestPlatformSupport implements PlatformSupport {
+        private final float fontSize;
+
+        private TestPlatformSupport(float fontSize) {
+            this.fontSize = fontSize;
+        }
+
+        @Override
+        public @Nullable ImageObserver imageObserver() {
+            return null;
+        }
+
+        @Override
+        public @Nullable TargetSurface targetSurface() {
+            return null;
+        }
+
+        @Override
+        public float fontSize() {
+            return fontSize;
+        }
+    }
+
+    private static @NotNull SVGDocument load(@NotNull String path) {
+        return Objects.requireNonNull(new SVGLoader().load(
+                Objects.requireNonNull(DisplayListTest.class.getResource(path))));
+    }
+
+    private static @NotNull BufferedImage render(@NotNull FloatSize size, double dx, double dy,
+            @NotNull Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage((int) size.width, (int) size.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        // The font of the graphics determines the font size used by SVGDocument#render.
+        g.setFont(g.getFont().deriveFont(12f));
+        g.translate(dx, dy);
+        painter.accept(g);
+        g.dispose();
+        return image;
+    }
+
+    private static void assertSamePixels(@NotNull String name, @NotNull BufferedImage expected,
+            @NotNull BufferedImage actual) {
+        int w = expected.getWidth();
+        int h = expected.getHeight();
+        assertArrayEquals(expected.getRGB(0, 0, w, h, null, 0, w), actual.getRGB(0, 0, w, h, null, 0, w), name);
+    }
+
+    @Test
+    void testReplayMatchesRendering() {
+        String[] paths = {
+                "svg_logo.svg",
+                "text/text0.svg",
+                "image/imageBase64.svg",
+                "gradient/linearGradient.svg",
+                "pattern/pattern.svg",
+                "mask/mask1.svg",
+                "clipPath/clipPathUnits.svg",
+                "filter/blur.svg",
+                "mesh/mesh.svg"
+        };
+        for (String path : paths) {
+            SVGDocument document = load(path);
+            FloatSize size = document.size();
+            ViewBox viewBox = new ViewBox(size);
+            BufferedImage expected = render(size, 0, 0, g -> document.render((Component) null, g, viewBox));
+
+            DisplayList displayList = document.compile(new TestPlatformSupport(12), viewBox);
+            assertSamePixels(path, expected, render(size, 0, 0, displayList::render));
+            // Replaying doesn't consume the list.
+            assertSamePixels(path, expected, render(size, 0, 0, displayList::render));
+        }
+    }
+
+    @Test
+    void testReplayIsRelativeToTransform() {
+        SVGDocument document = load("svg_logo.svg");
+        FloatSize size = document.size();
+        ViewBox viewBox = new ViewBox(size);
+        BufferedImage expected = render(size, 10, 20, g -> document.render((Component) null, g, viewBox));
+        DisplayList displayList = document.compile(new TestPlatformSupport(12), viewBox);
+        assertSamePixels("translated", expected, render(size, 10, 20, displayList::render));
+    }
+
+    @Test
+    void testValidity() {
+        SVGDocument document = load("svg_logo.svg");
+        ViewBox viewBox = new ViewBox(document.size());
+        DisplayList displayList = document.compile(new TestPlatformSupport(12), viewBox);
+        assertTrue(displayList.size() > 0);
+        assertTrue(displayList.isValidFor(new TestPlatformSupport(12), new ViewBox(document.size())));
+        assertFalse(displayList.isValidFor(new TestPlatformSupport(16), viewBox));
+        assertFalse(displayList.isValidFor(new TestPlatformSupport(12), new ViewBox(10, 10)));
+        assertFalse(displayList.isValidFor(new TestPlatformSupport(12), null));
+    }
+}
@@ -22,10 +22,31 @@
 package com.github.weisj.jsvg;
 
 import static com.github.weisj.jsvg.ReferenceTest.renderJsvg;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 
 import org.junit.jupiter.api.Test;
 
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+import com.github.weisj.jsvg.parser.ValueUIFuture;
+import com.github.weisj.jsvg.parser.resources.LazyImageResource;
+import com.github.weisj.jsvg.parser.resources.RenderableResource;
+import com.github.weisj.jsvg.util.ResourceUtil;
+
 class ImageTest {
 
     @Test
@@ -39,4 +60,70 @@ class ImageTest {
         // Batik doesn't support data uris
         assertDoesNotThrow(() -> renderJsvg("image/imageBase64.svg"));
     }
+
+    @Test
+    void subsampledDecoding() throws IOException {
+        byte[] png = createQuadrantImage(1000);
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(png))) {
+            BufferedImage image = ResourceUtil.readImage(input, 8);
+            assertNotNull(image);
+            assertEquals(125, image.getWidth());
+            assertEquals(125, image.getHeight());
+            assertEquals(Color.RED.getRGB(), image.getRGB(10, 10));
+            assertEquals(Color.BLUE.getRGB(), image.getRGB(110, 110));
+        }
+    }
+
+    @Test
+    void largeImageRenderedAsThumbnail() throws IOException {
+        byte[] png = createQuadrantImage(2000);
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"64\" height=\"64\">"
+                + "<image width=\"64\" height=\"64\" href=\"data:image/png;base64,"
+                + Base64.getEncoder().encodeToString(png) + "\"/></svg>";
+        List<RenderableResource> resources = new ArrayList<>();
+        LoaderContext loaderContext = LoaderContext.builder()
+                .resourceLoader(uri -> {
+                    RenderableResource resource = ResourceUtil.loadImage(uri);
+                    resources.add(resource);
+                    return new ValueUIFuture<>(resource);
+                })
+                .build();
+        SVGDocument document = new SVGLoader().load(
+                new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)), null, loaderContext);
+        assertNotNull(document);
+
+        BufferedImage target = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        document.render(null, g);
+        g.dispose();
+
+        assertEquals(Color.RED.getRGB(), target.getRGB(16, 16));
+        assertEquals(Color.GREEN.getRGB(), target.getRGB(48, 16));
+        assertEquals(Color.YELLOW.getRGB(), target.getRGB(16, 48));
+        assertEquals(Color.BLUE.getRGB(), target.getRGB(48, 48));
+
+        // 2000 image pixels are drawn onto 64 device pixels, hence only every 16th pixel is decoded.
+        assertEquals(1, resources.size());
+        assertTrue(resources.get(0) instanceof LazyImageResource);
+        assertEquals(Collections.singletonList(new Dimension(125, 125)),
+                ((LazyImageResource) resources.get(0)).decodedSizes());
+    }
+
+    private static byte[] createQuadrantImage(int size) throws IOException {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        int half = size / 2;
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, half, half);
+        g.setColor(Color.GREEN);
+        g.fillRect(half, 0, half, half);
+        g.setColor(Color.YELLOW);
+        g.fillRect(0, half, half, half);
+        g.setColor(Color.BLUE);
+        g.fillRect(half, half, half, half);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
 }
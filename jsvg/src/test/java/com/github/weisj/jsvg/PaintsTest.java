@@ -49,6 +49,16 @@ class PaintsTest {
         assertEquals(new Color(255, 255, 0), new Color(img.getRGB(325, 25)));
     }
 
+    @Test
+    void testMeshFillDoesNotClipStroke() {
+        BufferedImage img = renderJsvg("mesh/meshStroke.svg");
+        // The outer half of the stroke lies outside the area filled by the mesh.
+        assertEquals(Color.BLUE, new Color(img.getRGB(17, 50), true));
+        assertEquals(Color.BLUE, new Color(img.getRGB(50, 17), true));
+        assertEquals(Color.BLUE, new Color(img.getRGB(83, 50), true));
+        assertEquals(Color.BLUE, new Color(img.getRGB(22, 50), true));
+    }
+
     @Test
     void testStringRepresentation() {
         assertEquals("AwtSVGPaint{paint=Color{r=0,g=0,b=0,a=255}}", new AwtSVGPaint(Color.BLACK).toString());
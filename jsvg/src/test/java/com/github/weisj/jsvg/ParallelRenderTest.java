@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.attributes.font.FontResolver;
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+import com.github.weisj.jsvg.renderer.awt.NullPlatformSupport;
+
+class ParallelRenderTest {
+
+    private static final int SIZE = 400;
+
+    private static @NotNull SVGDocument load(@NotNull String content) {
+        return Objects.requireNonNull(new SVGLoader().load(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null,
+                LoaderContext.createDefault()));
+    }
+
+    private static @NotNull String document() {
+        StringBuilder builder = new StringBuilder(
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + SIZE + "\" height=\"" + SIZE + "\">");
+        // Note: Radial gradients aren't used as the Java2D paint context accumulates rounding errors relative to
+        // the origin of the tile.
+        builder.append("<defs>")
+                .append("<linearGradient id=\"linear\"><stop offset=\"0\" stop-color=\"red\"/>")
+                .append("<stop offset=\"1\" stop-color=\"blue\"/></linearGradient>")
+                .append("<linearGradient id=\"diagonal\" x2=\"0.3\" y2=\"1\" spreadMethod=\"reflect\">")
+                .append("<stop offset=\"0\" stop-color=\"yellow\"/>")
+                .append("<stop offset=\"1\" stop-color=\"green\" stop-opacity=\"0.5\"/></linearGradient>")
+                .append("<filter id=\"blur\"><feGaussianBlur stdDeviation=\"3\"/></filter>")
+                .append("<filter id=\"shadow\"><feDropShadow dx=\"4\" dy=\"4\" stdDeviation=\"2\"/></filter>")
+                .append("</defs>");
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int px = x * SIZE / 8;
+                int py = y * SIZE / 8;
+                String fill = (x + y) % 2 == 0 ? "url(#linear)" : "url(#diagonal)";
+                builder.append("<rect x=\"").append(px + 5).append("\" y=\"").append(py + 5)
+                        .append("\" width=\"40\" height=\"20\" fill=\"").append(fill).append('"');
+                if ((x * y) % 3 == 0) builder.append(" filter=\"url(#blur)\"");
+                builder.append("/>");
+                builder.append("<text x=\"").append(px + 2).append("\" y=\"").append(py + 45)
+                        .append("\" font-size=\"").append(10 + (x + y) % 4).append("\" fill=\"url(#linear)\"");
+                if (x == y) builder.append(" filter=\"url(#shadow)\"");
+                builder.append(">Text ").append(x).append(y).append("</text>");
+            }
+        }
+        return builder.append("</svg>").toString();
+    }
+
+    @Test
+    void parallelRenderingMatchesSerialRendering() {
+        SVGDocument document = load(document());
+
+        BufferedImage expected = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = expected.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        document.render(null, g);
+        g.dispose();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 3; i++) {
+                // Fonts are resolved concurrently by the tiles.
+                FontResolver.clearFontCache();
+                BufferedImage actual = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+                document.renderParallel(new NullPlatformSupport(), actual, null, new AffineTransform(), pool);
+                assertArrayEquals(
+                        expected.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE),
+                        actual.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.parser.LoaderContext;
+import com.github.weisj.jsvg.parser.SVGLoader;
+
+class RasterCacheTest {
+
+    private static @NotNull SVGDocument document() {
+        String svg = "<svg xmlns='http://www.w3.org/2000/svg' width='10' height='10'>"
+                + "<rect width='5' height='10' fill='red'/></svg>";
+        return Objects.requireNonNull(new SVGLoader().load(
+                new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)), null, LoaderContext.createDefault()));
+    }
+
+    @Test
+    void rendersDocument() {
+        BufferedImage image = document().renderToImage(16, 16, 2, null);
+        assertEquals(32, image.getWidth());
+        assertEquals(32, image.getHeight());
+        assertEquals(0xFFFF0000, image.getRGB(4, 16));
+        assertEquals(0, image.getRGB(28, 16));
+    }
+
+    @Test
+    void cachesImages() {
+        SVGDocument document = document();
+        RasterCache cache = RasterCache.builder().build();
+        BufferedImage image = cache.renderToImage(document, 16, 16, 1.5, null);
+        assertEquals(24, image.getWidth());
+        assertSame(image, cache.renderToImage(document, 16, 16, 1.5, null));
+        assertEquals(24 * 24 * 4, cache.weight());
+
+        RasterCache.Statistics statistics = cache.statistics();
+        assertEquals(1, statistics.hitCount());
+        assertEquals(1, statistics.missCount());
+        assertEquals(1, statistics.renderCount());
+        assertEquals(1, statistics.size());
+    }
+
+    @Test
+    void imagesAreKeyedBySizeScaleAndHints() {
+        SVGDocument document = document();
+        RasterCache cache = RasterCache.builder().build();
+        BufferedImage image = cache.renderToImage(document, 16, 16, 1, null);
+        assertNotSame(image, cache.renderToImage(document(), 16, 16, 1, null));
+        assertNotSame(image, cache.renderToImage(document, 16, 8, 1, null));
+        assertNotSame(image, cache.renderToImage(document, 16, 16, 2, null));
+
+        RenderingHints hints = new RenderingHints(SVGRenderingHints.KEY_SOFT_CLIPPING,
+                SVGRenderingHints.VALUE_SOFT_CLIPPING_ON);
+        BufferedImage softClipped = cache.renderToImage(document, 16, 16, 1, hints);
+        assertNotSame(image, softClipped);
+        assertSame(softClipped, cache.renderToImage(document, 16, 16, 1, (RenderingHints) hints.clone()));
+        assertEquals(5, cache.statistics().renderCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        SVGDocument first = document();
+        SVGDocument second = document();
+        RasterCache cache = RasterCache.builder()
+                .maximumWeight(2 * 16 * 16 * 4)
+                .softReferences(false)
+                .build();
+        BufferedImage firstImage = cache.renderToImage(first, 16, 16, 1, null);
+        BufferedImage secondImage = cache.renderToImage(second, 16, 16, 1, null);
+        // Access the first image to make the second one the least recently used.
+        assertSame(firstImage, cache.renderToImage(first, 16, 16, 1, null));
+        cache.renderToImage(document(), 16, 16, 1, null);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.statistics().evictionCount());
+        assertSame(firstImage, cache.renderToImage(first, 16, 16, 1, null));
+        assertNotSame(secondImage, cache.renderToImage(second, 16, 16, 1, null));
+    }
+
+    @Test
+    void imagesExceedingTheBudgetAreNotCached() {
+        SVGDocument document = document();
+        RasterCache cache = RasterCache.builder().maximumWeight(1024).softReferences(false).build();
+        BufferedImage small = cache.renderToImage(document, 8, 8, 1, null);
+        BufferedImage large = cache.renderToImage(document, 32, 32, 1, null);
+        assertNotSame(large, cache.renderToImage(document, 32, 32, 1, null));
+        assertSame(small, cache.renderToImage(document, 8, 8, 1, null));
+    }
+
+    @Test
+    void evictedImagesAreKeptSoftly() {
+        SVGDocument document = document();
+        RasterCache cache = RasterCache.builder().maximumWeight(16 * 16 * 4).build();
+        BufferedImage first = cache.renderToImage(document, 16, 16, 1, null);
+        cache.renderToImage(document, 16, 16, 1, null);
+        cache.renderToImage(document, 8, 8, 2, null);
+        assertEquals(1, cache.size());
+        // The image is strongly reachable through the local variable and hence can't have been collected.
+        assertSame(first, cache.renderToImage(document, 16, 16, 1, null));
+        assertEquals(1, cache.statistics().softHitCount());
+    }
+
+    @Test
+    void invalidatesImagesOfDocument() {
+        SVGDocument document = document();
+        SVGDocument other = document();
+        RasterCache cache = RasterCache.builder().build();
+        BufferedImage image = cache.renderToImage(document, 16, 16, 1, null);
+        BufferedImage otherImage = cache.renderToImage(other, 16, 16, 1, null);
+        cache.invalidate(document);
+        assertEquals(1, cache.size());
+        assertEquals(16 * 16 * 4, cache.weight());
+        assertNotSame(image, cache.renderToImage(document, 16, 16, 1, null));
+        assertSame(otherImage, cache.renderToImage(other, 16, 16, 1, null));
+    }
+
+    @Test
+    void concurrentRequestsRenderOnce() throws Exception {
+        SVGDocument document = document();
+        RasterCache cache = RasterCache.builder().build();
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BufferedImage>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.renderToImage(document, 64, 64, 2, null);
+                }));
+            }
+            start.countDown();
+            BufferedImage image = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<BufferedImage> result : results) {
+                assertSame(image, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, cache.statistics().renderCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsInvalidSizes() {
+        SVGDocument document = document();
+        RasterCache cache = RasterCache.builder().build();
+        assertThrows(IllegalArgumentException.class, () -> cache.renderToImage(document, 0, 16, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.renderToImage(document, 16, 16, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.renderToImage(document, 16, 16, Double.NaN, null));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.geometry.size.MeasureContext;
+import com.github.weisj.jsvg.renderer.Output;
+import com.github.weisj.jsvg.renderer.RenderContext;
+import com.github.weisj.jsvg.renderer.ShapeOutput;
+import com.github.weisj.jsvg.renderer.awt.NullPlatformSupport;
+
+class RenderContextTest {
+
+    private static @NotNull RenderContext createContext() {
+        return RenderContext.createInitial(new NullPlatformSupport(), new MeasureContext(100, 100, 16, 8));
+    }
+
+    @Test
+    void derivedContextDoesNotChangeParentTransform() {
+        Output output = new ShapeOutput(new Area());
+        RenderContext parent = createContext();
+        parent.translate(output, 5, 5);
+
+        RenderContext child = parent.deriveForChildGraphics();
+        child.translate(output, 10, 0);
+        child.userSpaceTransform().scale(2, 2);
+
+        assertEquals(AffineTransform.getTranslateInstance(5, 5), parent.userSpaceTransform());
+        AffineTransform expected = AffineTransform.getTranslateInstance(15, 5);
+        expected.scale(2, 2);
+        assertEquals(expected, child.userSpaceTransform());
+    }
+
+    @Test
+    void parentDoesNotChangeDerivedContextTransform() {
+        Output output = new ShapeOutput(new Area());
+        RenderContext parent = createContext();
+        RenderContext child = parent.deriveForChildGraphics();
+        RenderContext sibling = parent.deriveForChildGraphics();
+
+        parent.rotate(output, Math.PI / 2);
+        sibling.transform(output, AffineTransform.getScaleInstance(3, 3));
+
+        assertEquals(new AffineTransform(), child.userSpaceTransform());
+        assertEquals(AffineTransform.getRotateInstance(Math.PI / 2), parent.userSpaceTransform());
+        assertEquals(AffineTransform.getScaleInstance(3, 3), sibling.userSpaceTransform());
+    }
+}
@@ -21,6 +21,9 @@
  */
 package com.github.weisj.jsvg.attribute;
 
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.Collections;
 import java.util.Random;
 
 import org.junit.jupiter.api.Assertions;
@@ -29,6 +32,10 @@ import org.junit.jupiter.api.Test;
 
 import com.github.weisj.jsvg.attributes.AttributeParser;
 import com.github.weisj.jsvg.attributes.paint.DefaultPaintParser;
+import com.github.weisj.jsvg.geometry.size.Length;
+import com.github.weisj.jsvg.geometry.size.Unit;
+import com.github.weisj.jsvg.parser.AttributeNode;
+import com.github.weisj.jsvg.parser.ParserTestUtil;
 import com.github.weisj.jsvg.parser.SeparatorMode;
 import com.github.weisj.jsvg.util.RandomData;
 
@@ -61,6 +68,51 @@ class AttributeParserTest {
         }
     }
 
+    @Test
+    void testLengthList() {
+        Assertions.assertArrayEquals(
+                new Length[] {Unit.PX.valueOf(1), Unit.PERCENTAGE.valueOf(2), Unit.EM.valueOf(3), Unit.Raw.valueOf(4)},
+                parser.parseLengthList("1px, 2%  3EM,4", null));
+        Assertions.assertArrayEquals(new Length[0], parser.parseLengthList("none", null));
+        Assertions.assertNull(parser.parseLengthList("1px,bad", null));
+        Assertions.assertNull(parser.parseLengthList("1px, ,2px", null));
+        Assertions.assertNull(parser.parseLength("Infinity", null));
+    }
+
+    @Test
+    void testTransform() {
+        AffineTransform expected = new AffineTransform();
+        expected.translate(1, 2);
+        expected.rotate(Math.toRadians(30), 5, 6);
+        expected.scale(3, 3);
+        Assertions.assertEquals(expected, parser.parseTransform("translate(1,2) ROTATE(30 5 6)scale(3)"));
+        Assertions.assertEquals(expected, parser.parseTransform("translate( 1, 2 ) rotate( 30, 5, 6 ) scale( 3 )"));
+
+        Assertions.assertEquals(new AffineTransform(1, 2, 3, 4, 0, 0), parser.parseTransform("matrix(1 2 3 4)"));
+        Assertions.assertEquals(new AffineTransform(1, 2, 3, 4, 5, 6), parser.parseTransform("matrix(1 2 3 4 5 6 7)"));
+        Assertions.assertEquals(new AffineTransform(), parser.parseTransform("(1) translate"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parseTransform("translate()"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parseTransform("matrix(1,2,3)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parseTransform("unknown(1)"));
+    }
+
+    @Test
+    void testColor() {
+        AttributeNode node = ParserTestUtil.createDummyAttributeNode(Collections.emptyMap());
+        DefaultPaintParser paintParser = new DefaultPaintParser();
+        Assertions.assertEquals(new Color(0xaabbcc), paintParser.parseColor("#abc", node));
+        Assertions.assertEquals(new Color(0x11223344, true), paintParser.parseColor("#2341", node));
+        Assertions.assertEquals(new Color(0xabcdef), paintParser.parseColor("#ABCDEF", node));
+        Assertions.assertEquals(new Color(0x80abcdef, true), paintParser.parseColor("#abcdef80", node));
+        Assertions.assertEquals(new Color(1, 2, 3), paintParser.parseColor("rgb(1, 2 3)", node));
+        Assertions.assertEquals(new Color(255, 0, 51, 127), paintParser.parseColor("RGBA(100%,-5,20%,0.5)", node));
+        Assertions.assertEquals(new Color(1, 2, 3), paintParser.parseColor("rgba(1,2,3)", node));
+        Assertions.assertNull(paintParser.parseColor("rgb(1,2)", node));
+        Assertions.assertNull(paintParser.parseColor("rgb(", node));
+        Assertions.assertEquals(new Color(0x6495ed), paintParser.parseColor("CornflowerBlue", node));
+        Assertions.assertNull(paintParser.parseColor("unknown", node));
+    }
+
     private Float[] box(float[] arr) {
         Float[] boxed = new Float[arr.length];
         for (int i = 0; i < arr.length; i++) {
@@ -21,6 +21,12 @@
  */
 package com.github.weisj.jsvg.geometry.path;
 
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -50,4 +56,41 @@ class PathParserTest {
         Assertions.assertEquals(4, cmds.length);
         Assertions.assertEquals(6, cmds[0].nodeCount());
     }
+
+    @Test
+    void testParsePathIntoMatchesCommands() {
+        String[] paths = {
+                "M10 10 L 20 20 h5 v-5 H 3 V 4 Z",
+                "m1.5-2.5.5.5l1e1,2E-1 c1 2 3 4 5 6 s1 2 3 4 S 1 2 3 4 C1 2 3 4 5 6 z m 2 2 3 3",
+                "M0 0 Q 10 10 20 0 T 40 0 t 10 0 q 1 1 2 2 z",
+                "M10 10 a5 5 0 0 1 10 10 A 3 4 30 1 0 0 0 a1 2 3 10 6 7 a0 0 0 0 0 5 5",
+                "M 0 0 L 10 10 L 20",
+                "M0-0.5.5.5 01",
+                "none",
+        };
+        for (String data : paths) {
+            Path2D expected = new Path2D.Float();
+            BuildHistory hist = new BuildHistory();
+            for (PathCommand command : new PathParser(data).parsePathCommand()) {
+                command.appendPath(expected, hist);
+            }
+            Path2D actual = new Path2D.Float();
+            new PathParser(data).parsePathInto(actual);
+            Assertions.assertEquals(segments(expected), segments(actual), data);
+        }
+    }
+
+    private static @NotNull List<String> segments(@NotNull Path2D path) {
+        List<String> segments = new ArrayList<>();
+        float[] coords = new float[6];
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(coords);
+            StringBuilder b = new StringBuilder().append(type);
+            for (float coord : coords) {
+                b.append(' ').append(Float.floatToIntBits(coord));
+            }
+            segments.add(b.toString());
+        }
+        return segments;
+    }
 }
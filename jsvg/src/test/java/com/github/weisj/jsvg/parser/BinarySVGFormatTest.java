@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.geometry.size.FloatSize;
+
+class BinarySVGFormatTest {
+
+    private static byte @NotNull [] write(@NotNull InputStream inputStream) throws IOException, XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinarySVGWriter().write(inputStream, null, LoaderContext.createDefault(), out);
+        return out.toByteArray();
+    }
+
+    private static int @NotNull [] render(@NotNull SVGDocument document) {
+        FloatSize size = document.size();
+        int width = Math.max(1, (int) size.width);
+        int height = Math.max(1, (int) size.height);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        document.render(null, g, new ViewBox(width, height));
+        g.dispose();
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    private static void assertRoundTripRendersEqual(@NotNull String path)
+            throws IOException, XMLStreamException, URISyntaxException {
+        URL url = Objects.requireNonNull(BinarySVGFormatTest.class.getResource("/com/github/weisj/jsvg/" + path));
+        SVGDocument expected = new SVGLoader().load(url);
+        assertNotNull(expected, path);
+
+        byte[] binary;
+        try (InputStream inputStream = url.openStream()) {
+            binary = write(inputStream);
+        }
+        SVGDocument actual = new BinarySVGLoader().load(new ByteArrayInputStream(binary), url.toURI(),
+                LoaderContext.createDefault());
+        assertNotNull(actual, path);
+        assertArrayEquals(render(expected), render(actual), path);
+    }
+
+    @Test
+    void roundTripMatchesXmlDocument() throws IOException, XMLStreamException, URISyntaxException {
+        assertRoundTripRendersEqual("svg_logo.svg");
+        assertRoundTripRendersEqual("test.svg");
+        assertRoundTripRendersEqual("css/precedence.svg");
+        assertRoundTripRendersEqual("css/multipleStyleSheets.svg");
+        assertRoundTripRendersEqual("text/text0.svg");
+        assertRoundTripRendersEqual("gradient/linearGradient.svg");
+        assertRoundTripRendersEqual("fillRule.svg");
+    }
+
+    @Test
+    void pathDataIsStoredParsed() throws IOException, XMLStreamException {
+        String content = "<svg xmlns='http://www.w3.org/2000/svg'><path d='M0 0 L10 10 L30 5 Z'/></svg>";
+        byte[] binary = write(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        // The path data is stored as floats instead of the original string.
+        assertFalse(new String(binary, StandardCharsets.ISO_8859_1).contains("L10 10"));
+
+        SVGDocument document = new BinarySVGLoader().load(new ByteArrayInputStream(binary), null,
+                LoaderContext.createDefault());
+        assertNotNull(document);
+        assertEquals(new Rectangle(0, 0, 30, 10), document.computeShape().getBounds());
+    }
+
+    @Test
+    void invalidDataIsRejected() {
+        byte[] data = "<svg xmlns='http://www.w3.org/2000/svg'/>".getBytes(StandardCharsets.UTF_8);
+        assertNull(new BinarySVGLoader().load(new ByteArrayInputStream(data), null, LoaderContext.createDefault()));
+    }
+
+    @Test
+    void oversizedCountsAreRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(BinarySVGFormat.MAGIC);
+        data.writeByte(BinarySVGFormat.VERSION);
+        // Claims far more strings than the document contains.
+        BinarySVGFormat.writeVarInt(data, Integer.MAX_VALUE);
+        data.flush();
+        assertNull(new BinarySVGLoader().load(new ByteArrayInputStream(out.toByteArray()), null,
+                LoaderContext.createDefault()));
+    }
+}
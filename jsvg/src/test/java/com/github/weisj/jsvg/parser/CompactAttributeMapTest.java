@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class CompactAttributeMapTest {
+
+    @Test
+    void behavesLikeMap() {
+        Map<String, String> map = new CompactAttributeMap(1);
+        Map<String, String> reference = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(reference.put("key" + i, "value" + i), map.put("key" + i, "value" + i));
+        }
+        assertEquals(reference.put("key3", "other"), map.put("key3", "other"));
+        assertEquals(reference.remove("key5"), map.remove("key5"));
+        assertNull(map.remove("key5"));
+        assertEquals(reference, map);
+        assertEquals(reference.size(), map.size());
+        assertEquals("other", map.get(new String("key3")));
+        assertFalse(map.containsKey("key5"));
+
+        Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, String> entry = it.next();
+            if (entry.getKey().equals("key7")) {
+                it.remove();
+            } else if (entry.getKey().equals("key8")) {
+                entry.setValue("changed");
+            }
+        }
+        reference.remove("key7");
+        reference.put("key8", "changed");
+        assertEquals(reference, map);
+    }
+
+    @Test
+    void internsNames() {
+        Map<String, String> first = new CompactAttributeMap();
+        Map<String, String> second = new CompactAttributeMap();
+        first.put(new String("stroke-width"), "1");
+        second.put(new String("stroke-width"), "2");
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+    }
+
+    @Test
+    void copyIsIndependent() {
+        CompactAttributeMap map = new CompactAttributeMap();
+        map.put("fill", "red");
+        Map<String, String> copy = new CompactAttributeMap(map);
+        copy.put("fill", "blue");
+        assertEquals("red", map.get("fill"));
+        assertEquals("blue", copy.get("fill"));
+    }
+}
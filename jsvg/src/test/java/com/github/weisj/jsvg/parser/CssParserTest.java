@@ -25,6 +25,11 @@ import static com.github.weisj.jsvg.ReferenceTest.ReferenceTestResult.SUCCESS;
 import static com.github.weisj.jsvg.ReferenceTest.compareImages;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -34,11 +39,14 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import com.github.weisj.jsvg.SVGDocument;
 import com.github.weisj.jsvg.parser.css.StyleProperty;
+import com.github.weisj.jsvg.parser.css.impl.ElementSignature;
 import com.github.weisj.jsvg.parser.css.impl.Lexer;
 import com.github.weisj.jsvg.parser.css.impl.SimpleCssParser;
 import com.github.weisj.jsvg.parser.css.impl.SimpleStyleSheet;
@@ -120,6 +128,97 @@ class CssParserTest {
         assertEquals(List.of(new StyleProperty("fill", "#6e6e6e")), s.classRules().get("cls"));
     }
 
+    @Test
+    void selectorsWithCombinators() {
+        SimpleCssParser cssParser = new SimpleCssParser();
+        var sheet = cssParser.parse(inputFromString("""
+                g .a, g>.b, svg > g rect.c {
+                    fill: green;
+                }
+                rect.d/* comment */.e { fill: red; }
+                .f { fill: orange; }
+                * { fill: blue; }
+                """));
+        assertEquals(List.of("g .a", "g > .b", "svg > g rect.c", "rect.d.e", "*"),
+                sheet.selectorRules().stream().map(r -> r.selector().toString()).toList());
+        assertEquals(List.of(new StyleProperty("fill", "green")), sheet.selectorRules().get(0).properties());
+        assertEquals(1, sheet.classRules().size());
+        assertTrue(sheet.classRules().containsKey("f"));
+
+        // The class selector is more specific than the universal selector declared after it.
+        List<SimpleStyleSheet.SelectorRule> matches = new ArrayList<>();
+        sheet.collectMatchingRules(new ElementSignature("rect", null, new String[] {"f"}), matches);
+        matches.sort(SimpleStyleSheet.PRECEDENCE);
+        assertEquals(List.of(".f", "*"), matches.stream().map(r -> r.selector().toString()).toList());
+    }
+
+    private static int @NotNull [] renderColumns(@NotNull String content, @NotNull LoaderContext loaderContext) {
+        SVGDocument document = new SVGLoader().load(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null, loaderContext);
+        assertNotNull(document);
+        int width = (int) document.size().width;
+        BufferedImage image = new BufferedImage(width, 10, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        document.render(null, g);
+        g.dispose();
+        int[] columns = new int[width / 10];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = image.getRGB(10 * i + 5, 5);
+        }
+        return columns;
+    }
+
+    @Test
+    void rulesAreOrderedBySpecificity() {
+        int[] colors = renderColumns("""
+                <svg xmlns="http://www.w3.org/2000/svg" width="50" height="10">
+                    <style>
+                        #i { fill: #0000ff; }
+                        .f { fill: #ff0000; }
+                        .k { fill: #ff0000; }
+                        g rect { fill: #00ff00; }
+                        * { fill: #000000; }
+                        .k { fill: #ffff00; }
+                    </style>
+                    <style>
+                        svg .l { fill: #ff0000; }
+                    </style>
+                    <style>
+                        g .l { fill: #00ffff; }
+                    </style>
+                    <rect x="0" width="10" height="10" class="f"/>
+                    <g>
+                        <rect x="10" width="10" height="10" id="i"/>
+                        <rect x="20" width="10" height="10" class="f"/>
+                        <rect x="30" width="10" height="10" class="k"/>
+                        <rect x="40" width="10" height="10" class="l"/>
+                    </g>
+                </svg>
+                """, LoaderContext.createDefault());
+        assertArrayEquals(new int[] {0xFFFF0000, 0xFF0000FF, 0xFFFF0000, 0xFFFFFF00, 0xFF00FFFF}, colors);
+    }
+
+    @Test
+    void selectorRulesSeePreProcessedDocument() {
+        ParserProvider parserProvider = new DefaultParserProvider() {
+            @Override
+            public @Nullable DomProcessor createPreProcessor(@Nullable URI documentUri) {
+                return root -> root.children().get(1).attributeNode().attributes().put("class", "a");
+            }
+        };
+        int[] colors = renderColumns("""
+                <svg xmlns="http://www.w3.org/2000/svg" width="10" height="10">
+                    <style>
+                        .a rect { fill: #00ff00; }
+                    </style>
+                    <g>
+                        <rect width="10" height="10" fill="#ff0000"/>
+                    </g>
+                </svg>
+                """, LoaderContext.builder().parserProvider(parserProvider).build());
+        assertArrayEquals(new int[] {0xFF00FF00}, colors);
+    }
+
     @Test
     @Timeout(value = 10)
     void randomInput() {
@@ -163,4 +262,9 @@ class CssParserTest {
     void selectorTypes() {
         assertEquals(SUCCESS, compareImages("css/selectorTypes.svg"));
     }
+
+    @Test
+    void combinators() {
+        assertEquals(SUCCESS, compareImages("css/combinators.svg"));
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.sun.net.httpserver.HttpServer;
+
+class DocumentCacheTest {
+
+    private static @NotNull String document(int width) {
+        return "<svg xmlns='http://www.w3.org/2000/svg' width='" + width + "' height='10'/>";
+    }
+
+    private static @NotNull Path createFile(int width) throws IOException {
+        Path file = Files.createTempFile("jsvg-cache", ".svg");
+        file.toFile().deleteOnExit();
+        Files.write(file, document(width).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void cachesDocuments() throws IOException {
+        URI uri = createFile(10).toUri();
+        DocumentCache cache = DocumentCache.builder().build();
+        SVGDocument document = cache.get(uri);
+        assertNotNull(document);
+        assertSame(document, cache.get(uri));
+
+        DocumentCache.Statistics statistics = cache.statistics();
+        assertEquals(1, statistics.hitCount());
+        assertEquals(1, statistics.missCount());
+        assertEquals(1, statistics.loadCount());
+
+        cache.invalidate(uri);
+        assertNotSame(document, cache.get(uri));
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        URI uri = URI.create("file:///does/not/exist.svg");
+        DocumentCache cache = DocumentCache.builder().build();
+        assertNull(cache.get(uri));
+        assertNull(cache.get(uri));
+        assertEquals(2, cache.statistics().missCount());
+        assertEquals(2, cache.statistics().loadFailureCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws IOException {
+        URI first = createFile(10).toUri();
+        URI second = createFile(20).toUri();
+        URI third = createFile(30).toUri();
+        DocumentCache cache = DocumentCache.builder().maximumSize(2).softReferences(false).build();
+        cache.get(first);
+        cache.get(second);
+        // Make the second document the least recently used one.
+        cache.get(first);
+        cache.get(third);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.statistics().evictionCount());
+        cache.get(first);
+        assertEquals(3, cache.statistics().loadCount());
+        cache.get(second);
+        assertEquals(4, cache.statistics().loadCount());
+    }
+
+    @Test
+    void evictedDocumentsAreKeptSoftly() throws IOException {
+        URI first = createFile(10).toUri();
+        URI second = createFile(20).toUri();
+        DocumentCache cache = DocumentCache.builder().maximumSize(1).build();
+        SVGDocument document = cache.get(first);
+        cache.get(second);
+        assertEquals(1, cache.size());
+
+        // We hold a strong reference to the document, hence it can't have been collected.
+        assertSame(document, cache.get(first));
+        assertEquals(1, cache.statistics().softHitCount());
+        assertEquals(2, cache.statistics().loadCount());
+    }
+
+    @Test
+    void reloadsModifiedDocuments() throws IOException {
+        Path file = createFile(10);
+        DocumentCache cache = DocumentCache.builder().validation(DocumentCache.Validation.MODIFICATION_STAMP).build();
+        SVGDocument document = cache.get(file.toUri());
+        assertNotNull(document);
+        assertEquals(10, document.size().width);
+
+        Files.write(file, document(20).getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+        SVGDocument reloaded = cache.get(file.toUri());
+        assertNotNull(reloaded);
+        assertEquals(20, reloaded.size().width);
+    }
+
+    @Test
+    void modificationStampOfHttpDocumentsDoesntDownloadContent() throws IOException {
+        byte[] content = document(10).getBytes(StandardCharsets.UTF_8);
+        ConcurrentMap<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/doc.svg", exchange -> {
+            requests.computeIfAbsent(exchange.getRequestMethod(), m -> new AtomicInteger()).incrementAndGet();
+            exchange.getResponseHeaders().add("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content);
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI uri = URI.create("http://" + server.getAddress().getHostString() + ":"
+                    + server.getAddress().getPort() + "/doc.svg");
+            DocumentCache cache =
+                    DocumentCache.builder().validation(DocumentCache.Validation.MODIFICATION_STAMP).build();
+            SVGDocument document = cache.get(uri);
+            assertNotNull(document);
+            assertSame(document, cache.get(uri));
+            assertSame(document, cache.get(uri));
+            // The document is downloaded once, later lookups only request the headers.
+            assertEquals(1, requests.get("GET").get());
+            assertEquals(3, requests.get("HEAD").get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void reloadsDocumentsWithChangedContent() throws IOException {
+        Path file = createFile(10);
+        FileTime modificationTime = Files.getLastModifiedTime(file);
+        DocumentCache cache = DocumentCache.builder().validation(DocumentCache.Validation.CONTENT_HASH).build();
+        SVGDocument document = cache.get(file.toUri());
+        assertNotNull(document);
+        assertSame(document, cache.get(file.toUri()));
+
+        Files.write(file, document(20).getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modificationTime);
+        SVGDocument reloaded = cache.get(file.toUri());
+        assertNotNull(reloaded);
+        assertEquals(20, reloaded.size().width);
+    }
+
+    @Test
+    void concurrentRequestsLoadOnce() throws Exception {
+        URI uri = createFile(10).toUri();
+        DocumentCache cache = DocumentCache.builder().build();
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SVGDocument>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(uri);
+                }));
+            }
+            start.countDown();
+            SVGDocument document = results.get(0).get(10, TimeUnit.SECONDS);
+            assertNotNull(document);
+            for (Future<SVGDocument> result : results) {
+                assertSame(document, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, cache.statistics().loadCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.parser.resources.ImageResource;
+import com.github.weisj.jsvg.parser.resources.RenderableResource;
+import com.github.weisj.jsvg.renderer.awt.NullPlatformSupport;
+
+class ExecutorResourceLoaderTest {
+    private static final URI IMAGE = URI.create("data:image/png;base64,"
+            + "iVBORw0KGgoAAAANSUhEUgAAAAUAAAAFCAYAAACNbyblAAAAHElEQVQI12P4//8/w38GIAXDIBKE0DHxgljNBAAO9TXL0Y4OHwAAAABJRU5ErkJggg==");
+
+    @Test
+    void testRequestsAreCoalesced() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Executor executor = tasks::add;
+        ExecutorResourceLoader loader = new ExecutorResourceLoader(executor);
+
+        CompletableUIFuture<RenderableResource> first =
+                (CompletableUIFuture<RenderableResource>) loader.loadImage(IMAGE);
+        CompletableUIFuture<RenderableResource> second =
+                (CompletableUIFuture<RenderableResource>) loader.loadImage(IMAGE);
+        assertEquals(1, tasks.size());
+        assertSame(first.future(), second.future());
+        assertFalse(first.checkIfReady(new NullPlatformSupport()));
+
+        tasks.remove().run();
+        assertTrue(first.checkIfReady(new NullPlatformSupport()));
+        assertNotNull(first.get());
+        assertSame(first.get(), second.get());
+
+        // Finished loads aren't cached.
+        loader.loadImage(IMAGE);
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void testDefaultExecutor() {
+        UIFuture<RenderableResource> future = new ExecutorResourceLoader().loadImage(IMAGE);
+        CompletableFuture<RenderableResource> completableFuture =
+                ((CompletableUIFuture<RenderableResource>) future).future();
+        assertNotNull(completableFuture.join());
+        assertTrue(future.checkIfReady(new NullPlatformSupport()));
+    }
+
+    @Test
+    void testFailedLoadCompletesWithNull() {
+        UIFuture<RenderableResource> future = new ExecutorResourceLoader(Runnable::run)
+                .loadImage(URI.create("data:text/plain,hello"));
+        assertTrue(future.checkIfReady(new NullPlatformSupport()));
+        assertNull(future.get());
+    }
+
+    @Test
+    void testImagesAreDecodedWhileLoading() throws IOException {
+        String data = IMAGE.getSchemeSpecificPart();
+        byte[] png = Base64.getDecoder().decode(data.substring(data.indexOf(',') + 1));
+        Path file = Files.createTempFile("jsvg-image", ".png");
+        try {
+            Files.write(file, png);
+            UIFuture<RenderableResource> future = new ExecutorResourceLoader(Runnable::run).loadImage(file.toUri());
+            assertTrue(future.checkIfReady(new NullPlatformSupport()));
+            // Rendering mustn't have to decode the image.
+            assertTrue(future.get() instanceof ImageResource);
+            assertEquals(5, ((ImageResource) future.get()).image().getWidth());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
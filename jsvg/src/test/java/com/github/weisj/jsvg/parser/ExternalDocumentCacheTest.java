@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+
+class ExternalDocumentCacheTest {
+
+    private static final String SPRITE = "<svg xmlns='http://www.w3.org/2000/svg'>"
+            + "<defs><rect id='rect' width='10' height='10' fill='green'/></defs></svg>";
+
+    private static @NotNull String referencingDocument(@NotNull String reference) {
+        return "<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink'"
+                + " width='10' height='10'><use xlink:href='" + reference + "'/></svg>";
+    }
+
+    private static @NotNull Path write(@NotNull Path directory, @NotNull String name, @NotNull String content)
+            throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    private static @NotNull Path createDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("jsvg-external");
+        directory.toFile().deleteOnExit();
+        return directory;
+    }
+
+    /*
+     * Counts how often each document has been parsed.
+     */
+    private static final class CountingParserProvider extends DefaultParserProvider {
+        private final @NotNull ConcurrentMap<URI, AtomicInteger> parseCounts = new ConcurrentHashMap<>();
+
+        @Override
+        public @Nullable DomProcessor createPreProcessor(@Nullable URI documentUri) {
+            if (documentUri != null) {
+                parseCounts.computeIfAbsent(documentUri, u -> new AtomicInteger()).incrementAndGet();
+            }
+            return null;
+        }
+
+        int parseCount(@NotNull Path file) {
+            AtomicInteger count = parseCounts.get(file.toUri());
+            return count != null ? count.get() : 0;
+        }
+    }
+
+    private static @NotNull LoaderContext loaderContext(@NotNull ExternalDocumentCache cache,
+            @NotNull ParserProvider parserProvider) {
+        return LoaderContext.builder()
+                .parserProvider(parserProvider)
+                .elementLoader(ElementLoader.create(ElementLoader.ExternalDocumentPolicy.ALLOW_RELATIVE, cache))
+                .build();
+    }
+
+    private static int centerPixel(@NotNull SVGDocument document) {
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        document.render(null, g, new ViewBox(10, 10));
+        g.dispose();
+        return image.getRGB(5, 5);
+    }
+
+    @Test
+    void externalDocumentIsSharedBetweenLoaders() throws IOException {
+        Path directory = createDirectory();
+        Path sprite = write(directory, "sprite.svg", SPRITE);
+        Path first = write(directory, "first.svg", referencingDocument("sprite.svg#rect"));
+        Path second = write(directory, "second.svg", referencingDocument("sprite.svg#rect"));
+
+        ExternalDocumentCache cache = new ExternalDocumentCache(16);
+        CountingParserProvider parserProvider = new CountingParserProvider();
+        SVGDocument firstDocument = new SVGLoader().load(first.toUri().toURL(), loaderContext(cache, parserProvider));
+        SVGDocument secondDocument =
+                new SVGLoader().load(second.toUri().toURL(), loaderContext(cache, parserProvider));
+        assertNotNull(firstDocument);
+        assertNotNull(secondDocument);
+        assertEquals(0x008000, centerPixel(firstDocument) & 0xFFFFFF);
+        assertEquals(centerPixel(firstDocument), centerPixel(secondDocument));
+        assertEquals(1, parserProvider.parseCount(sprite));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void concurrentLoadsParseExternalDocumentOnce() throws Exception {
+        Path directory = createDirectory();
+        Path sprite = write(directory, "sprite.svg", SPRITE);
+        List<URI> documents = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            documents.add(write(directory, "doc" + i + ".svg", referencingDocument("sprite.svg#rect")).toUri());
+        }
+
+        ExternalDocumentCache cache = new ExternalDocumentCache(16);
+        CountingParserProvider parserProvider = new CountingParserProvider();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (CompletableFuture<SVGDocument> document : new SVGLoader()
+                    .loadAll(documents, executor, loaderContext(cache, parserProvider), 8).values()) {
+                SVGDocument loaded = document.get(10, TimeUnit.SECONDS);
+                assertNotNull(loaded);
+                assertEquals(0x008000, centerPixel(loaded) & 0xFFFFFF);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, parserProvider.parseCount(sprite));
+    }
+
+    @Test
+    void cacheIsBounded() throws IOException {
+        Path directory = createDirectory();
+        write(directory, "sprite1.svg", SPRITE);
+        write(directory, "sprite2.svg", SPRITE);
+        Path first = write(directory, "first.svg", referencingDocument("sprite1.svg#rect"));
+        Path second = write(directory, "second.svg", referencingDocument("sprite2.svg#rect"));
+
+        ExternalDocumentCache cache = new ExternalDocumentCache(1);
+        LoaderContext loaderContext = loaderContext(cache, new DefaultParserProvider());
+        assertNotNull(new SVGLoader().load(first.toUri().toURL(), loaderContext));
+        assertNotNull(new SVGLoader().load(second.toUri().toURL(), loaderContext));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void referenceCyclesAreDetected() throws IOException {
+        Path directory = createDirectory();
+        Path first = write(directory, "first.svg",
+                "<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink'>"
+                        + "<g id='a'><use xlink:href='second.svg#b'/></g><use xlink:href='#a'/></svg>");
+        write(directory, "second.svg",
+                "<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink'>"
+                        + "<g id='b'><use xlink:href='first.svg#a'/></g></svg>");
+
+        ExternalDocumentCache cache = new ExternalDocumentCache(16);
+        assertNull(new SVGLoader().load(first.toUri().toURL(), loaderContext(cache, new DefaultParserProvider())));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.parser.css.StyleProperty;
+
+class InlineStyleCacheTest {
+
+    @Test
+    void parsesDeclarations() {
+        assertArrayEquals(new StyleProperty[] {
+                new StyleProperty("fill", "#ff0000"),
+                new StyleProperty("stroke-width", "2px"),
+                new StyleProperty("font-family", "a: b")
+        }, InlineStyleCache.parse(" fill : #ff0000;Stroke-Width:2px ;; font-family: a: b;"));
+    }
+
+    @Test
+    void ignoresMalformedDeclarations() {
+        assertEquals(0, InlineStyleCache.parse("").length);
+        assertEquals(0, InlineStyleCache.parse(" ; ;").length);
+        assertEquals(0, InlineStyleCache.parse(": red").length);
+        assertArrayEquals(new StyleProperty[] {new StyleProperty("fill", "")},
+                InlineStyleCache.parse("stroke; fill:"));
+    }
+
+    @Test
+    void repeatedStylesAreParsedOnce() {
+        InlineStyleCache cache = new InlineStyleCache();
+        String style = "fill:red;stroke:blue";
+        StyleProperty[] declarations = cache.declarations(style);
+        assertSame(declarations, cache.declarations(new String(style.toCharArray())));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+
+class LazyBuildTest {
+
+    private static final String SPRITE_SHEET = "<svg xmlns='http://www.w3.org/2000/svg'"
+            + " xmlns:xlink='http://www.w3.org/1999/xlink' width='100' height='100'>"
+            + "<defs>"
+            + "<linearGradient id='usedGradient'><stop offset='0' stop-color='red'/>"
+            + "<stop offset='1' stop-color='blue'/></linearGradient>"
+            + "<linearGradient id='unusedGradient'><stop offset='0' stop-color='green'/></linearGradient>"
+            + "</defs>"
+            + "<symbol id='used' viewBox='0 0 10 10'><rect width='10' height='10' fill='url(#usedGradient)'/></symbol>"
+            + "<symbol id='unused' viewBox='0 0 10 10'><circle r='5' fill='green'/></symbol>"
+            + "<clipPath id='clip'><circle cx='50' cy='50' r='40'/></clipPath>"
+            + "<g clip-path='url(#clip)'><use xlink:href='#used' width='100' height='100'/></g>"
+            + "</svg>";
+
+    private static final class CapturingParserProvider extends DefaultParserProvider {
+        private ParsedElement root;
+
+        @Override
+        public @Nullable DomProcessor createPostProcessor() {
+            return r -> root = (ParsedElement) r;
+        }
+    }
+
+    private static @NotNull SVGDocument load(boolean lazy, @NotNull CapturingParserProvider parserProvider)
+            throws IOException, XMLStreamException {
+        LoaderContext context = LoaderContext.builder()
+                .parserProvider(parserProvider)
+                .lazyNodeBuilding(lazy)
+                .build();
+        SVGDocument document = new StaxSVGLoader(new NodeSupplier()).load(
+                new ByteArrayInputStream(SPRITE_SHEET.getBytes(StandardCharsets.UTF_8)), null, context);
+        assertNotNull(document);
+        return document;
+    }
+
+    private static int @NotNull [] render(@NotNull SVGDocument document) {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        document.render(null, g, new ViewBox(100, 100));
+        g.dispose();
+        return image.getRGB(0, 0, 100, 100, null, 0, 100);
+    }
+
+    private static @NotNull ParsedElement element(@NotNull CapturingParserProvider parserProvider,
+            @NotNull String id) {
+        // Note: Looking the element up through the document would build it.
+        ParsedElement element = findElement(parserProvider.root, id);
+        assertNotNull(element, id);
+        return element;
+    }
+
+    private static @Nullable ParsedElement findElement(@NotNull ParsedElement element, @NotNull String id) {
+        if (id.equals(element.id())) return element;
+        for (ParsedElement child : element.children()) {
+            ParsedElement result = findElement(child, id);
+            if (result != null) return result;
+        }
+        return null;
+    }
+
+    @Test
+    void unreferencedDefinitionsStayUnbuilt() throws IOException, XMLStreamException {
+        CapturingParserProvider parserProvider = new CapturingParserProvider();
+        load(true, parserProvider);
+        assertFalse(element(parserProvider, "used").isNotBuilt());
+        assertFalse(element(parserProvider, "usedGradient").isNotBuilt());
+        assertFalse(element(parserProvider, "clip").isNotBuilt());
+        assertTrue(element(parserProvider, "unused").isNotBuilt());
+        assertTrue(element(parserProvider, "unusedGradient").isNotBuilt());
+    }
+
+    @Test
+    void eagerBuildBuildsEverything() throws IOException, XMLStreamException {
+        CapturingParserProvider parserProvider = new CapturingParserProvider();
+        load(false, parserProvider);
+        assertFalse(element(parserProvider, "unused").isNotBuilt());
+        assertFalse(element(parserProvider, "unusedGradient").isNotBuilt());
+    }
+
+    @Test
+    void lazyBuildMatchesEagerBuild() throws IOException, XMLStreamException {
+        assertArrayEquals(render(load(false, new CapturingParserProvider())),
+                render(load(true, new CapturingParserProvider())));
+    }
+}
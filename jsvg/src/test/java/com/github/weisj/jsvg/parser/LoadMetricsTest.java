@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+
+class LoadMetricsTest {
+
+    @Test
+    void testLoadPhasesAreReported() {
+        LoadMetrics metrics = new LoadMetrics();
+        LoaderContext loaderContext = LoaderContext.builder()
+                .resourceLoader(uri -> null)
+                .loadListener(metrics)
+                .build();
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"10\" height=\"10\">"
+                + "<style>rect { fill: red; }</style>"
+                + "<rect width=\"5\" height=\"5\"/><rect x=\"5\" width=\"5\" height=\"5\"/>"
+                + "<image href=\"file:/logo.png\" width=\"10\" height=\"10\"/>"
+                + "<unknown/></svg>";
+        byte[] content = svg.getBytes(StandardCharsets.UTF_8);
+        SVGDocument document = new SVGLoader().load(new ByteArrayInputStream(content), null, loaderContext);
+        assertNotNull(document);
+
+        assertEquals(1, metrics.phaseDurations(LoadListener.Phase.PARSE).count());
+        assertEquals(1, metrics.phaseDurations(LoadListener.Phase.STYLE_SHEETS).count());
+        assertEquals(1, metrics.phaseDurations(LoadListener.Phase.BUILD).count());
+        assertEquals(1, metrics.phaseDurations(LoadListener.Phase.IMAGE_LOAD).count());
+        assertEquals(0, metrics.phaseDurations(LoadListener.Phase.EXTERNAL_DOCUMENT).count());
+
+        assertEquals(content.length, metrics.documentSizes().sum());
+        assertEquals(Map.of("svg", 1L, "style", 1L, "rect", 2L, "image", 1L, "unknown", 1L),
+                metrics.elementCounts());
+        assertEquals(6, metrics.documentElementCounts().max());
+
+        metrics.reset();
+        assertEquals(0, metrics.phaseDurations(LoadListener.Phase.PARSE).count());
+        assertTrue(metrics.elementCounts().isEmpty());
+    }
+
+    @Test
+    void testHistogram() {
+        LoadMetrics metrics = new LoadMetrics();
+        for (long value : new long[] {0, 1, 3, 1000}) {
+            metrics.phaseCompleted(null, LoadListener.Phase.BUILD, value);
+        }
+        LoadMetrics.Histogram histogram = metrics.phaseDurations(LoadListener.Phase.BUILD);
+        assertEquals(4, histogram.count());
+        assertEquals(1004, histogram.sum());
+        assertEquals(0, histogram.min());
+        assertEquals(1000, histogram.max());
+        assertEquals(251, histogram.mean());
+        assertEquals(1, histogram.countInBucket(0));
+        assertEquals(1, histogram.countInBucket(1));
+        assertEquals(1, histogram.countInBucket(2));
+        assertEquals(1, histogram.countInBucket(10));
+        assertEquals(1024, histogram.bucketUpperBound(10));
+        assertEquals(1, histogram.valueAtPercentile(0.5));
+        assertEquals(1000, histogram.valueAtPercentile(1));
+
+        LoadMetrics.Histogram empty = metrics.phaseDurations(LoadListener.Phase.PARSE);
+        assertEquals(0, empty.count());
+        assertEquals(0, empty.valueAtPercentile(0.99));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.nodes.Group;
+import com.github.weisj.jsvg.nodes.Rect;
+import com.github.weisj.jsvg.nodes.SVGNode;
+
+class NodeSupplierTest {
+
+    @Test
+    void resolvesTagsCaseInsensitive() {
+        NodeSupplier supplier = new NodeSupplier();
+        assertTrue(supplier.create("rect") instanceof Rect);
+        assertTrue(supplier.create("RECT") instanceof Rect);
+        assertNull(supplier.create("unknown"));
+    }
+
+    @Test
+    void usesConstructorsRegisteredAfterCreation() {
+        Map<String, Supplier<SVGNode>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        NodeSupplier supplier = new NodeSupplier(map);
+
+        map.put("custom", Group::new);
+        map.put("rect", Group::new);
+
+        assertTrue(supplier.create("custom") instanceof Group);
+        assertTrue(supplier.create("rect") instanceof Group);
+    }
+}
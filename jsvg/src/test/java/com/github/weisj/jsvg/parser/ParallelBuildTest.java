@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+
+class ParallelBuildTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static @NotNull String createDocument(boolean withCycle) {
+        StringBuilder b = new StringBuilder();
+        b.append("<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink'")
+                .append(" width='400' height='400'>");
+        b.append("<defs><linearGradient id='grad'><stop offset='0' stop-color='red'/>")
+                .append("<stop offset='1' stop-color='blue'/></linearGradient></defs>");
+        for (int i = 0; i < 40; i++) {
+            b.append("<g id='group").append(i).append("' transform='translate(").append(i * 10).append(" 0)'>");
+            for (int j = 0; j < 40; j++) {
+                String fill = (i + j) % 7 == 0 ? "url(#grad)" : "#" + Integer.toHexString(0x100000 + i * j * 97);
+                b.append("<rect x='0' y='").append(j * 10).append("' width='8' height='8' fill='").append(fill)
+                        .append("'/>");
+                if (j % 13 == 0) {
+                    b.append("<path d='M0 ").append(j * 10).append(" l5 5 h3 v-3 z' stroke='black'/>");
+                }
+            }
+            b.append("</g>");
+        }
+        b.append("<use xlink:href='#group3' x='5' y='5'/>");
+        if (withCycle) {
+            b.append("<g id='cycle'><use xlink:href='#cycle'/></g>");
+        }
+        b.append("</svg>");
+        return b.toString();
+    }
+
+    private static @NotNull SVGDocument load(@NotNull String content, boolean parallel)
+            throws IOException, XMLStreamException {
+        LoaderContext context = LoaderContext.builder()
+                .parallelBuildPool(parallel ? POOL : null)
+                .build();
+        SVGDocument document = new StaxSVGLoader(new NodeSupplier()).load(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null, context);
+        assertNotNull(document);
+        return document;
+    }
+
+    private static int @NotNull [] render(@NotNull SVGDocument document) {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        document.render(null, g, new ViewBox(400, 400));
+        g.dispose();
+        return image.getRGB(0, 0, 400, 400, null, 0, 400);
+    }
+
+    @Test
+    void parallelBuildMatchesSequentialBuild() throws IOException, XMLStreamException {
+        String content = createDocument(false);
+        assertArrayEquals(render(load(content, false)), render(load(content, true)));
+    }
+
+    @Test
+    void parallelBuildDetectsCycles() {
+        String content = createDocument(true);
+        assertThrows(IllegalStateException.class, () -> load(content, true));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.parser.resources.ImageResource;
+import com.github.weisj.jsvg.parser.resources.RenderableResource;
+
+class ResourceCacheTest {
+
+    private static final class CountingLoader implements ResourceLoader {
+        private final List<URI> loaded = new ArrayList<>();
+        private final int imageSize;
+
+        private CountingLoader(int imageSize) {
+            this.imageSize = imageSize;
+        }
+
+        @Override
+        public UIFuture<RenderableResource> loadImage(URI uri) {
+            loaded.add(uri);
+            return new ValueUIFuture<>(
+                    new ImageResource(new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_INT_ARGB)));
+        }
+    }
+
+    @Test
+    void testImagesAreShared() throws Exception {
+        CountingLoader loader = new CountingLoader(10);
+        ResourceCache cache = new ResourceCache(1024 * 1024);
+        ResourceLoader cachingLoader = cache.resourceLoader(loader);
+
+        RenderableResource first = cachingLoader.loadImage(URI.create("file:/images/logo.png")).get();
+        RenderableResource second = cachingLoader.loadImage(URI.create("file:/images/./icons/../logo.png")).get();
+        assertSame(first, second);
+        assertEquals(1, loader.loaded.size());
+
+        ResourceCache.Statistics statistics = cache.statistics();
+        assertEquals(1, statistics.hitCount());
+        assertEquals(1, statistics.missCount());
+        assertEquals(1, statistics.size());
+        assertEquals(10 * 10 * 4, statistics.weight());
+    }
+
+    @Test
+    void testLeastRecentlyUsedImagesAreEvicted() throws Exception {
+        CountingLoader loader = new CountingLoader(10);
+        // Room for two images.
+        ResourceCache cache = new ResourceCache(2 * 10 * 10 * 4);
+        ResourceLoader cachingLoader = cache.resourceLoader(loader);
+        URI a = URI.create("file:/a.png");
+        URI b = URI.create("file:/b.png");
+        URI c = URI.create("file:/c.png");
+
+        cachingLoader.loadImage(a);
+        cachingLoader.loadImage(b);
+        cachingLoader.loadImage(a);
+        cachingLoader.loadImage(c);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.statistics().evictionCount());
+
+        // b was the least recently used image.
+        cachingLoader.loadImage(a);
+        cachingLoader.loadImage(b);
+        assertEquals(List.of(a, b, c, b), loader.loaded);
+        assertTrue(cache.weight() <= cache.maximumWeight());
+    }
+
+    @Test
+    void testOversizedImagesAreNotCached() throws Exception {
+        CountingLoader loader = new CountingLoader(100);
+        ResourceCache cache = new ResourceCache(1000);
+        ResourceLoader cachingLoader = cache.resourceLoader(loader);
+        URI uri = URI.create("file:/large.png");
+        assertNotNull(cachingLoader.loadImage(uri).get());
+        assertNotNull(cachingLoader.loadImage(uri).get());
+        assertEquals(2, loader.loaded.size());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    void testDataUrisAreNotCached() throws Exception {
+        CountingLoader loader = new CountingLoader(1);
+        ResourceCache cache = new ResourceCache(1024);
+        ResourceLoader cachingLoader = cache.resourceLoader(loader);
+        URI uri = URI.create("data:image/png;base64,AAAA");
+        cachingLoader.loadImage(uri);
+        cachingLoader.loadImage(uri);
+        assertEquals(2, loader.loaded.size());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testAsynchronousLoadsAreWeighedOnCompletion() throws Exception {
+        CompletableFuture<RenderableResource> future = new CompletableFuture<>();
+        ResourceCache cache = new ResourceCache(1024);
+        ResourceLoader cachingLoader = cache.resourceLoader(uri -> new CompletableUIFuture<>(future));
+        URI uri = URI.create("file:/async.png");
+
+        UIFuture<RenderableResource> first = cachingLoader.loadImage(uri);
+        assertSame(first, cachingLoader.loadImage(uri));
+        assertEquals(0, cache.weight());
+
+        future.complete(new ImageResource(new BufferedImage(4, 4, BufferedImage.TYPE_BYTE_GRAY)));
+        assertEquals(16, cache.weight());
+    }
+
+    @Test
+    void testFailedAsynchronousLoadsAreRemoved() throws Exception {
+        CompletableFuture<RenderableResource> future = new CompletableFuture<>();
+        ResourceCache cache = new ResourceCache(1024);
+        ResourceLoader cachingLoader = cache.resourceLoader(uri -> new CompletableUIFuture<>(future));
+        cachingLoader.loadImage(URI.create("file:/broken.png"));
+        assertEquals(1, cache.size());
+        future.completeExceptionally(new IllegalStateException());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.statistics().loadFailureCount());
+    }
+
+    @Test
+    void testDocumentsShareImages() {
+        CountingLoader loader = new CountingLoader(10);
+        LoaderContext loaderContext = LoaderContext.builder()
+                .resourceLoader(loader)
+                .resourceCache(new ResourceCache(1024 * 1024))
+                .build();
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"10\" height=\"10\">"
+                + "<image href=\"file:/logo.png\" width=\"10\" height=\"10\"/></svg>";
+        SVGLoader svgLoader = new SVGLoader();
+        for (int i = 0; i < 5; i++) {
+            SVGDocument document = svgLoader.load(
+                    new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)), null, loaderContext);
+            assertNotNull(document);
+        }
+        assertEquals(1, loader.loaded.size());
+        assertEquals(4, loaderContext.resourceCache().statistics().hitCount());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+
+class SVGBundleTest {
+
+    private static final String RECT =
+            "<svg xmlns='http://www.w3.org/2000/svg' width='20' height='10'><rect width='5' height='5'/></svg>";
+    private static final String CIRCLE =
+            "<svg xmlns='http://www.w3.org/2000/svg' width='30' height='30'><circle r='5'/></svg>";
+
+    private static void deleteRecursively(@NotNull Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                delete(p);
+            }
+        }
+    }
+
+    private static void delete(@NotNull Path p) {
+        try {
+            Files.delete(p);
+        } catch (IOException e) {
+            // Mapped files can't be deleted on Windows until the mapping has been garbage collected.
+            p.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    void bundleFromDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("jsvg-bundle");
+        try {
+            Path icons = Files.createDirectory(directory.resolve("icons"));
+            Files.write(icons.resolve("rect.svg"), RECT.getBytes(StandardCharsets.UTF_8));
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve("circle.svgz")))) {
+                out.write(CIRCLE.getBytes(StandardCharsets.UTF_8));
+            }
+            Files.write(directory.resolve("notes.txt"), "ignored".getBytes(StandardCharsets.UTF_8));
+
+            Path bundleFile = directory.resolve("icons.bundle");
+            new SVGBundleBuilder().addDirectory(directory).write(bundleFile);
+
+            SVGBundle bundle = SVGBundle.open(bundleFile);
+            assertEquals(new HashSet<>(Arrays.asList("icons/rect.svg", "circle.svgz")), bundle.names());
+            assertFalse(bundle.contains("notes.txt"));
+
+            // Compressed documents are stored uncompressed.
+            ByteBuffer circleData = bundle.entry("circle.svgz");
+            assertNotNull(circleData);
+            assertTrue(circleData.isReadOnly());
+            byte[] circleBytes = new byte[circleData.remaining()];
+            circleData.get(circleBytes);
+            assertEquals(CIRCLE, new String(circleBytes, StandardCharsets.UTF_8));
+
+            SVGDocument rect = bundle.load("icons/rect.svg");
+            assertNotNull(rect);
+            assertEquals(20, rect.size().width);
+            SVGDocument circle = bundle.load("circle.svgz");
+            assertNotNull(circle);
+            assertEquals(30, circle.size().width);
+            // Entries can be loaded repeatedly.
+            assertNotNull(bundle.load("icons/rect.svg"));
+
+            assertNull(bundle.entry("missing.svg"));
+            assertNull(bundle.load("missing.svg"));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void invalidBundleIsRejected() throws IOException {
+        Path file = Files.createTempFile("jsvg-bundle", ".bundle");
+        try {
+            Files.write(file, RECT.getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> SVGBundle.open(file));
+
+            // Entry counts which can't possibly fit into the file.
+            for (int count : new int[] {-1, Integer.MAX_VALUE, 1}) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeInt(SVGBundle.MAGIC);
+                data.writeByte(SVGBundle.VERSION);
+                data.writeInt(count);
+                data.flush();
+                Files.write(file, out.toByteArray());
+                assertThrows(IOException.class, () -> SVGBundle.open(file));
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    void closedBundleRejectsAccess() throws IOException {
+        Path file = Files.createTempFile("jsvg-bundle", ".bundle");
+        try {
+            new SVGBundleBuilder()
+                    .addEntry("rect.svg", new ByteArrayInputStream(RECT.getBytes(StandardCharsets.UTF_8)))
+                    .write(file);
+            try (SVGBundle bundle = SVGBundle.open(file)) {
+                assertNotNull(bundle.load("rect.svg"));
+                bundle.close();
+                assertTrue(bundle.contains("rect.svg"));
+                assertThrows(IllegalStateException.class, () -> bundle.entry("rect.svg"));
+                assertThrows(IllegalStateException.class, () -> bundle.load("rect.svg"));
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    void entryNameLengthUsesModifiedUtf8() {
+        // NUL takes up one byte in UTF-8 but two bytes in the modified UTF-8 used by the index.
+        char[] chars = new char[0x8000];
+        String name = new String(chars);
+        SVGBundleBuilder builder = new SVGBundleBuilder();
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.addEntry(name, new ByteArrayInputStream(RECT.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+
+class SVGLoaderTest {
+
+    private static final List<String> DOCUMENTS = Arrays.asList(
+            "svg_logo.svg", "test.svg", "fillRule.svg", "use.svg", "css/precedence.svg",
+            "gradient/linearGradient.svg", "text/text0.svg", "mask/classIcon.svg");
+
+    private static @NotNull URI resource(@NotNull String path) throws URISyntaxException {
+        return Objects.requireNonNull(SVGLoaderTest.class.getResource("/com/github/weisj/jsvg/" + path)).toURI();
+    }
+
+    @Test
+    void loadAllLoadsEveryDocument() throws Exception {
+        List<URI> uris = new ArrayList<>();
+        for (String path : DOCUMENTS) {
+            uris.add(resource(path));
+        }
+        // Duplicates are only loaded once.
+        uris.add(uris.get(0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            SVGLoader loader = new SVGLoader();
+            Map<URI, CompletableFuture<SVGDocument>> documents =
+                    loader.loadAll(uris, executor, LoaderContext.createDefault(), 2);
+            assertEquals(DOCUMENTS.size(), documents.size());
+            for (Map.Entry<URI, CompletableFuture<SVGDocument>> entry : documents.entrySet()) {
+                SVGDocument document = entry.getValue().get(10, TimeUnit.SECONDS);
+                assertNotNull(document, entry.getKey().toString());
+                SVGDocument expected = new SVGLoader().load(entry.getKey().toURL());
+                assertNotNull(expected);
+                assertEquals(expected.size(), document.size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void loadAllBlocksWhenLimitIsReached() throws Exception {
+        List<URI> uris = new ArrayList<>();
+        for (String path : DOCUMENTS) {
+            uris.add(resource(path));
+        }
+        // Tasks are only run once we decide to.
+        BlockingQueue<Runnable> pendingTasks = new LinkedBlockingQueue<>();
+        AtomicReference<Map<URI, CompletableFuture<SVGDocument>>> result = new AtomicReference<>();
+        Thread loadingThread = new Thread(
+                () -> result.set(new SVGLoader().loadAll(uris, pendingTasks::add, LoaderContext.createDefault(), 3)));
+        loadingThread.start();
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(Objects.requireNonNull(pendingTasks.poll(10, TimeUnit.SECONDS)));
+        }
+        loadingThread.join(100);
+        assertTrue(loadingThread.isAlive(), "Loading should block until a document has been loaded");
+        assertTrue(pendingTasks.isEmpty());
+
+        for (int i = 0; i < uris.size(); i++) {
+            Runnable task = i < tasks.size() ? tasks.get(i) : pendingTasks.poll(10, TimeUnit.SECONDS);
+            Objects.requireNonNull(task).run();
+        }
+        loadingThread.join(10000);
+        assertEquals(uris.size(), result.get().size());
+        for (CompletableFuture<SVGDocument> document : result.get().values()) {
+            assertNotNull(document.getNow(null));
+        }
+    }
+
+    @Test
+    void loadAllCompletesWithNullForMissingDocuments() throws Exception {
+        URI missing = new URI("file:///does/not/exist.svg");
+        Map<URI, CompletableFuture<SVGDocument>> documents =
+                new SVGLoader().loadAll(Arrays.asList(missing, resource("test.svg")), Runnable::run);
+        assertNull(documents.get(missing).get());
+        assertNotNull(documents.get(resource("test.svg")).get());
+    }
+
+    @Test
+    void loadAllRejectsInvalidConcurrency() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SVGLoader().loadAll(Arrays.asList(), Runnable::run, LoaderContext.createDefault(), 0));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Objects;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+import com.github.weisj.jsvg.geometry.size.FloatSize;
+
+class StaxSVGLoaderTest {
+
+    private static final NodeSupplier NODE_SUPPLIER = new NodeSupplier();
+
+    private static int @NotNull [] render(@NotNull String path, @NotNull StaxSVGLoader.ReaderMode mode)
+            throws IOException, XMLStreamException {
+        SVGDocument document = new StaxSVGLoader(NODE_SUPPLIER, mode).load(
+                Objects.requireNonNull(StaxSVGLoaderTest.class.getResourceAsStream(path)),
+                null, LoaderContext.createDefault());
+        assertNotNull(document);
+        FloatSize size = document.size();
+        int width = (int) size.width;
+        int height = (int) size.height;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        document.render(null, g, new ViewBox(size));
+        g.dispose();
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    private static void assertSameResult(@NotNull String path) throws IOException, XMLStreamException {
+        assertArrayEquals(
+                render(path, StaxSVGLoader.ReaderMode.EVENT),
+                render(path, StaxSVGLoader.ReaderMode.CURSOR),
+                "Cursor reader differs from event reader for " + path);
+    }
+
+    @Test
+    void cursorReaderMatchesEventReader() throws IOException, XMLStreamException {
+        assertSameResult("../text/text0.svg");
+        assertSameResult("../text/text4.svg");
+        assertSameResult("../css/brokenUpCharContent.svg");
+        assertSameResult("../icons/folder.svg");
+    }
+}
@@ -24,7 +24,9 @@ package com.github.weisj.jsvg.parser;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.awt.image.ImageObserver;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -74,4 +76,39 @@ class UIFutureTest {
         assertTrue(future.checkIfReady(platformSupport));
         assertEquals(o, future.get());
     }
+
+    @Test
+    void testCompletableUIFuture() {
+        Object o = new Object();
+        AtomicInteger repaintCount = new AtomicInteger();
+        PlatformSupport platformSupport = new PlatformSupport() {
+            private final TargetSurface surface = repaintCount::incrementAndGet;
+
+            @Override
+            public @Nullable ImageObserver imageObserver() {
+                return null;
+            }
+
+            @Override
+            public @NotNull TargetSurface targetSurface() {
+                return surface;
+            }
+        };
+
+        CompletableFuture<Object> completableFuture = new CompletableFuture<>();
+        UIFuture<Object> future = new CompletableUIFuture<>(completableFuture);
+        assertFalse(future.checkIfReady(platformSupport));
+        assertFalse(future.checkIfReady(platformSupport));
+        assertNull(future.get());
+        completableFuture.complete(o);
+        assertEquals(1, repaintCount.get());
+        assertTrue(future.checkIfReady(platformSupport));
+        assertEquals(o, future.get());
+
+        CompletableFuture<Object> failingFuture = new CompletableFuture<>();
+        failingFuture.completeExceptionally(new IllegalStateException());
+        UIFuture<Object> failedFuture = new CompletableUIFuture<>(failingFuture);
+        assertTrue(failedFuture.checkIfReady(platformSupport));
+        assertNull(failedFuture.get());
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.lang.ref.Reference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.ehcache.sizeof.SizeOf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ValueInterner;
+import com.github.weisj.jsvg.geometry.size.Length;
+import com.github.weisj.jsvg.geometry.size.Unit;
+
+class ValueInternerTest {
+
+    @Test
+    void equalValuesAreShared() {
+        ValueInterner interner = new ValueInterner();
+        Length length = interner.intern(new Length(Unit.PX, 5));
+        assertSame(length, interner.intern(new Length(Unit.PX, 5)));
+        assertNotSame(length, interner.intern(new Length(Unit.PERCENTAGE, 5)));
+
+        float[] floats = interner.intern(new float[] {1, 2, 3});
+        assertSame(floats, interner.intern(new float[] {1, 2, 3}));
+
+        AffineTransform transform = interner.intern(AffineTransform.getTranslateInstance(1, 2));
+        assertSame(transform, interner.intern(AffineTransform.getTranslateInstance(1, 2)));
+
+        Color color = interner.intern(new Color(0x123456));
+        assertSame(color, interner.intern(new Color(0x123456)));
+    }
+
+    @Test
+    void tableIsBounded() {
+        ValueInterner interner = new ValueInterner(2);
+        // Values are held weakly by the interner. Keep them reachable, so they can't be collected in between.
+        float[] first = interner.intern(new float[] {1});
+        float[] second = interner.intern(new float[] {2});
+        float[] value = new float[] {3};
+        assertSame(value, interner.intern(value));
+        assertNotSame(value, interner.intern(new float[] {3}));
+        assertEquals(2, interner.size());
+        Reference.reachabilityFence(first);
+        Reference.reachabilityFence(second);
+    }
+
+    @Test
+    void internedDocumentsRetainLessMemory() {
+        URL url = Objects.requireNonNull(ValueInternerTest.class.getResource("/com/github/weisj/jsvg/svg_logo.svg"));
+        int documentCount = 10;
+
+        long plainSize = retainedSize(url, documentCount, null);
+        long internedSize = retainedSize(url, documentCount, new ValueInterner());
+
+        assertTrue(internedSize < plainSize, () -> internedSize + " >= " + plainSize);
+    }
+
+    private static long retainedSize(@NotNull URL url, int count, @Nullable ValueInterner interner) {
+        LoaderContext loaderContext = LoaderContext.builder()
+                .valueInterner(interner)
+                .build();
+        SVGLoader loader = new SVGLoader();
+        List<SVGDocument> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            documents.add(Objects.requireNonNull(loader.load(url, loaderContext)));
+        }
+        return SizeOf.newInstance().deepSizeOf(documents);
+    }
+}
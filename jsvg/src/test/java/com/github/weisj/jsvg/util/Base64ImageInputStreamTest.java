@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class Base64ImageInputStreamTest {
+
+    @Test
+    void testDecodesLikeDataUri() throws IOException {
+        Random r = new Random(0);
+        for (int i = 0; i < 50; i++) {
+            byte[] bytes = new byte[r.nextInt(40_000)];
+            r.nextBytes(bytes);
+            String encoded = "data:image/png;base64," + scramble(Base64.getMimeEncoder().encodeToString(bytes), r);
+            int start = encoded.indexOf(',') + 1;
+            assertArrayEquals(bytes, DataUri.parse(encoded, StandardCharsets.UTF_8).data());
+
+            try (Base64ImageInputStream in = new Base64ImageInputStream(encoded, start, encoded.length())) {
+                byte[] decoded = new byte[bytes.length];
+                in.readFully(decoded);
+                assertArrayEquals(bytes, decoded);
+                assertEquals(-1, in.read());
+            }
+        }
+    }
+
+    @Test
+    void testSeek() throws IOException {
+        Random r = new Random(1);
+        byte[] bytes = new byte[100_000];
+        r.nextBytes(bytes);
+        String encoded = scramble(Base64.getEncoder().encodeToString(bytes), r);
+        try (Base64ImageInputStream in = new Base64ImageInputStream(encoded, 0, encoded.length())) {
+            for (int i = 0; i < 200; i++) {
+                int position = r.nextInt(bytes.length);
+                in.seek(position);
+                assertEquals(bytes[position] & 0xFF, in.read(), "Position " + position);
+            }
+            in.seek(bytes.length);
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void testPadding() throws IOException {
+        String encoded = Base64.getEncoder().encodeToString("ab".getBytes(StandardCharsets.UTF_8)) + "ignored";
+        try (Base64ImageInputStream in = new Base64ImageInputStream(encoded, 0, encoded.length())) {
+            assertEquals('a', in.read());
+            assertEquals('b', in.read());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    // Inserts whitespace and percent escapes, which may occur in data uris inside an svg.
+    private static String scramble(String encoded, Random r) {
+        StringBuilder builder = new StringBuilder(encoded.length());
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            // Keep the padding intact.
+            int choice = c == '=' ? -1 : r.nextInt(20);
+            if (choice == 0) builder.append(' ');
+            if (choice == 1) builder.append('\n');
+            if (choice == 2 || c == '+') {
+                builder.append('%').append(String.format("%02X", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg.util;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParserBaseTest {
+
+    @Test
+    void testFloatParsingMatchesJdk() {
+        Random r = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            String number = randomNumber(r);
+            Assertions.assertEquals(Float.floatToIntBits(Float.parseFloat(number)),
+                    Float.floatToIntBits(new ParserBase(number, 0).nextFloat()), number);
+            Assertions.assertEquals(Double.doubleToLongBits(Double.parseDouble(number)),
+                    Double.doubleToLongBits(new ParserBase(number, 0).nextDouble()), number);
+        }
+    }
+
+    @Test
+    void testInvalidNumbers() {
+        for (String number : new String[] {"", "-", ".", "e5", "1e", "1e+", "+."}) {
+            Assertions.assertThrows(IllegalStateException.class, () -> new ParserBase(number, 0).nextFloat(),
+                    number);
+            Assertions.assertThrows(IllegalStateException.class, () -> new ParserBase(number, 0).nextDouble(),
+                    number);
+        }
+    }
+
+    private static String randomNumber(Random r) {
+        StringBuilder b = new StringBuilder();
+        int sign = r.nextInt(3);
+        if (sign == 1) b.append('-');
+        if (sign == 2) b.append('+');
+        int integerDigits = r.nextInt(12);
+        int fractionDigits = r.nextInt(12);
+        if (integerDigits == 0 && fractionDigits == 0) integerDigits = 1;
+        for (int i = 0; i < integerDigits; i++) {
+            b.append(i == 0 && integerDigits > 1 ? (char) ('1' + r.nextInt(9)) : (char) ('0' + r.nextInt(10)));
+        }
+        if (fractionDigits > 0) {
+            b.append('.');
+            for (int i = 0; i < fractionDigits; i++) {
+                b.append((char) ('0' + r.nextInt(10)));
+            }
+        }
+        if (r.nextInt(4) == 0) {
+            b.append(r.nextBoolean() ? 'e' : 'E');
+            if (r.nextBoolean()) b.append(r.nextBoolean() ? '-' : '+');
+            b.append(r.nextInt(40));
+        }
+        return b.toString();
+    }
+}